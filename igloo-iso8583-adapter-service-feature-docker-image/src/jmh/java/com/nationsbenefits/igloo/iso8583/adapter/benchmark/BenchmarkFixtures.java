@@ -0,0 +1,156 @@
+package com.nationsbenefits.igloo.iso8583.adapter.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nationsbenefits.igloo.authengine.grpc.AuthRequest;
+import com.nationsbenefits.igloo.authengine.grpc.AuthResponse;
+import com.nationsbenefits.igloo.domain.event.EventHeader;
+import com.nationsbenefits.igloo.domain.event.EventPayload;
+import com.nationsbenefits.igloo.event.publisher.service.EventPublisherService;
+import com.nationsbenefits.igloo.iso8583.adapter.config.DE48Properties;
+import com.nationsbenefits.igloo.iso8583.adapter.config.DuplicateCacheProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.config.EventCollectorProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.config.HashingProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.config.LoggingProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.config.OutboxProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.config.PackagerProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.dispatch.ISOMessageDispatcher;
+import com.nationsbenefits.igloo.iso8583.adapter.dispatch.NetworkManagementHandler;
+import com.nationsbenefits.igloo.iso8583.adapter.event.EventOutbox;
+import com.nationsbenefits.igloo.iso8583.adapter.event.TransactionEventCollector;
+import com.nationsbenefits.igloo.iso8583.adapter.cache.DuplicateTransmissionCache;
+import com.nationsbenefits.igloo.iso8583.adapter.hash.CardDataHasher;
+import com.nationsbenefits.igloo.iso8583.adapter.logging.TransactionLogSampler;
+import com.nationsbenefits.igloo.iso8583.adapter.metrics.AuthorizationMetrics;
+import com.nationsbenefits.igloo.iso8583.adapter.packager.ISOPackagerRegistry;
+import com.nationsbenefits.igloo.iso8583.adapter.parser.DE48Parser;
+import com.nationsbenefits.igloo.iso8583.adapter.service.ISO8583AdapterService;
+import com.nationsbenefits.igloo.iso8583.adapter.service.impl.ISOMessageProcessorServiceImpl;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Shared inputs of the benchmarks: the 0100 sample of ISOMessageProcessorServiceTest and a processor wired with a
+ * stubbed auth engine and event publisher, so a benchmark measures the adapter alone.
+ */
+public final class BenchmarkFixtures {
+
+    /**
+     * The 0100 authorization request used by ISOMessageProcessorServiceTest.
+     */
+    public static final String AUTH_REQUEST = "01007238400108C1800116531445985901234400000000000000010001107221801234561234560007225912153003452177470003576d1a7a8f1ae806c79455a4ca9a322ba4bce9cb3b4e69f35f59649c3e8bcf41234567812345678901234500624=123USD";
+
+    public static final byte[] AUTH_REQUEST_BYTES = AUTH_REQUEST.getBytes(StandardCharsets.ISO_8859_1);
+
+    private static final AuthResponse AUTH_ALLOW = AuthResponse.newBuilder().setStatusCode("AUTH_ALLOW").build();
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Builds the canonical data model of the 0100 sample through the processor.
+     *
+     * @return the canonical AuthRequest of the sample.
+     */
+    public static AuthRequest canonicalAuthRequest() {
+        AuthRequest[] captured = new AuthRequest[1];
+        ISOMessageProcessorServiceImpl processor = newProcessor(authorizationRequest -> {
+            captured[0] = authorizationRequest;
+            return AUTH_ALLOW;
+        });
+        processor.processISOMessage(AUTH_REQUEST_BYTES);
+        return captured[0];
+    }
+
+    /**
+     * Creates a packager registry loading the default fields.xml definition.
+     *
+     * @return the initialized registry.
+     */
+    public static ISOPackagerRegistry newPackagerRegistry() {
+        ISOPackagerRegistry isoPackagerRegistry = new ISOPackagerRegistry(new PackagerProperties(), new DefaultResourceLoader(), new SimpleMeterRegistry());
+        isoPackagerRegistry.init();
+        return isoPackagerRegistry;
+    }
+
+    /**
+     * Creates a processor whose stubbed auth engine approves every request and whose events are discarded.
+     *
+     * @return the processor.
+     */
+    public static ISOMessageProcessorServiceImpl newProcessor() {
+        return newProcessor(new LoggingProperties());
+    }
+
+    /**
+     * Creates a processor whose stubbed auth engine approves every request, logging with the given configuration.
+     *
+     * @param loggingProperties the logging configuration holding the success sample rate.
+     * @return the processor.
+     */
+    public static ISOMessageProcessorServiceImpl newProcessor(LoggingProperties loggingProperties) {
+        return newProcessor(authorizationRequest -> AUTH_ALLOW, loggingProperties);
+    }
+
+    private static ISOMessageProcessorServiceImpl newProcessor(Function<AuthRequest, AuthResponse> authEngine) {
+        return newProcessor(authEngine, new LoggingProperties());
+    }
+
+    private static ISOMessageProcessorServiceImpl newProcessor(Function<AuthRequest, AuthResponse> authEngine, LoggingProperties loggingProperties) {
+        EventPublisherService eventPublisherService = new EventPublisherService() {
+            @Override
+            public void publishEventAsync(EventHeader eventHeader, List<EventPayload> eventPayloads) {
+                // events are discarded
+            }
+        };
+        ISO8583AdapterService iso8583AdapterService = new ISO8583AdapterService() {
+            @Override
+            public AuthResponse performAuthorization(AuthRequest authorizationRequest) {
+                return authEngine.apply(authorizationRequest);
+            }
+
+            @Override
+            public CompletableFuture<AuthResponse> performAuthorizationAsync(AuthRequest authorizationRequest) {
+                return CompletableFuture.completedFuture(authEngine.apply(authorizationRequest));
+            }
+        };
+        ISOMessageProcessorServiceImpl processor = new ISOMessageProcessorServiceImpl();
+        setField(processor, "iso8583AdapterService", iso8583AdapterService);
+        setField(processor, "isoPackagerRegistry", newPackagerRegistry());
+        setField(processor, "cardDataHasher", new CardDataHasher(new HashingProperties()));
+        setField(processor, "de48Parser", new DE48Parser(new DE48Properties()));
+        AuthorizationMetrics authorizationMetrics = new AuthorizationMetrics(new SimpleMeterRegistry(), CircuitBreakerRegistry.ofDefaults(), Retry.ofDefaults("benchmark"));
+        setField(processor, "authorizationMetrics", authorizationMetrics);
+        setField(processor, "transactionEventCollector", new TransactionEventCollector(new EventOutbox(new OutboxProperties(), eventPublisherService, new ObjectMapper(), new SimpleMeterRegistry()), new EventCollectorProperties(), authorizationMetrics));
+        DuplicateCacheProperties duplicateCacheProperties = new DuplicateCacheProperties();
+        duplicateCacheProperties.setEnabled(false);
+        setField(processor, "duplicateTransmissionCache", new DuplicateTransmissionCache(duplicateCacheProperties, new SimpleMeterRegistry()));
+        setField(processor, "transactionLogSampler", new TransactionLogSampler(loggingProperties));
+        setField(processor, "isoMessageDispatcher", new ISOMessageDispatcher(List.of(new NetworkManagementHandler())));
+        setField(processor, "currencyCodeMap", Map.of("USD", 840));
+        setField(processor, "appName", "igloo-iso8583-adapter-service");
+        setField(processor, "version", "benchmark");
+        return processor;
+    }
+
+    private static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to set " + name, e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.nationsbenefits.igloo.iso8583.adapter.benchmark;
+
+import com.nationsbenefits.igloo.iso8583.adapter.config.HashingProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.hash.CardDataHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Throughput of PAN hashing with the {@link CardDataHasher} in MD5 and HMAC_SHA256 mode, compared with the former
+ * per-call {@code MessageDigest.getInstance} implementation. Run with {@code -prof gc} (the default of the
+ * benchmark profile) to see the allocation per hash.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CardDataHasherBenchmark {
+
+    private static final String PAN = "5314459859012344";
+
+    private CardDataHasher md5Hasher;
+
+    private CardDataHasher hmacHasher;
+
+    @Setup
+    public void setUp() {
+        md5Hasher = new CardDataHasher(new HashingProperties());
+        HashingProperties hmacProperties = new HashingProperties();
+        hmacProperties.setAlgorithm(HashingProperties.HashAlgorithm.HMAC_SHA256);
+        hmacProperties.setHmacKey("benchmark-key");
+        hmacHasher = new CardDataHasher(hmacProperties);
+    }
+
+    @Benchmark
+    public String legacyMd5() throws NoSuchAlgorithmException {
+        MessageDigest md = MessageDigest.getInstance("MD5");
+        md.update(PAN.getBytes());
+        byte[] digest = md.digest();
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest) {
+            sb.append(Integer.toString((b & 0xff) + 0x100, 16).substring(1));
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    public String pooledMd5() {
+        return md5Hasher.hash(PAN);
+    }
+
+    @Benchmark
+    public String pooledHmacSha256() {
+        return hmacHasher.hash(PAN);
+    }
+}
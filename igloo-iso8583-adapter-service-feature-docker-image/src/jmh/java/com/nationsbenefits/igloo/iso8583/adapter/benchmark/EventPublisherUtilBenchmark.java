@@ -0,0 +1,53 @@
+package com.nationsbenefits.igloo.iso8583.adapter.benchmark;
+
+import com.nationsbenefits.igloo.authengine.grpc.AuthRequest;
+import com.nationsbenefits.igloo.domain.event.EventHeader;
+import com.nationsbenefits.igloo.domain.event.EventPayload;
+import com.nationsbenefits.igloo.iso8583.adapter.constant.EventConstant;
+import com.nationsbenefits.igloo.iso8583.adapter.util.EventPublisherUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.nationsbenefits.igloo.iso8583.adapter.constant.ISOAdapterConstant.MESSAGE_TYPE_AUTHORIZATION;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Cost of building the event header and payload of a lifecycle event of the 0100 sample.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventPublisherUtilBenchmark {
+
+    private AuthRequest authRequest;
+
+    @Setup
+    public void setUp() {
+        authRequest = BenchmarkFixtures.canonicalAuthRequest();
+    }
+
+    @Benchmark
+    public EventHeader buildEventHeader() {
+        return EventPublisherUtil.buildEventHeader(authRequest, MESSAGE_TYPE_AUTHORIZATION, "igloo-iso8583-adapter-service", "benchmark");
+    }
+
+    @Benchmark
+    public EventPayload buildEventPayload() {
+        return EventPublisherUtil.buildEventPayload(EventConstant.ISO8583_MESSAGE_RECEIVED, BenchmarkFixtures.AUTH_REQUEST);
+    }
+}
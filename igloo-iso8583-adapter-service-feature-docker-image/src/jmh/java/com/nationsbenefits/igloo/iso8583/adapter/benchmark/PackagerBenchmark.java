@@ -0,0 +1,67 @@
+package com.nationsbenefits.igloo.iso8583.adapter.benchmark;
+
+import org.jpos.iso.ISOException;
+import org.jpos.iso.ISOMsg;
+import org.jpos.iso.ISOPackager;
+import org.jpos.iso.packager.GenericPackager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Cost of building a GenericPackager from fields.xml, and of unpacking and packing the 0100 sample with it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PackagerBenchmark {
+
+    private ISOPackager packager;
+
+    private ISOMsg unpacked;
+
+    @Setup
+    public void setUp() throws ISOException {
+        packager = BenchmarkFixtures.newPackagerRegistry().getPackager();
+        unpacked = new ISOMsg();
+        unpacked.setPackager(packager);
+        unpacked.unpack(BenchmarkFixtures.AUTH_REQUEST_BYTES);
+    }
+
+    @Benchmark
+    public ISOPackager genericPackagerConstruction() throws ISOException, IOException {
+        try (InputStream fields = PackagerBenchmark.class.getClassLoader().getResourceAsStream("fields.xml")) {
+            return new GenericPackager(fields);
+        }
+    }
+
+    @Benchmark
+    public ISOMsg unpack() throws ISOException {
+        ISOMsg isoMsg = new ISOMsg();
+        isoMsg.setPackager(packager);
+        isoMsg.unpack(BenchmarkFixtures.AUTH_REQUEST_BYTES);
+        return isoMsg;
+    }
+
+    @Benchmark
+    public byte[] pack() throws ISOException {
+        return unpacked.pack();
+    }
+}
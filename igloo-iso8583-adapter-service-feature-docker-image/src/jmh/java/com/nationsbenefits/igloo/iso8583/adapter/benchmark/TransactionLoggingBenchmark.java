@@ -0,0 +1,106 @@
+package com.nationsbenefits.igloo.iso8583.adapter.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.nationsbenefits.igloo.iso8583.adapter.config.LoggingProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.service.impl.ISOMessageProcessorServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Throughput of the full message processing under the logging modes of the adapter, with the appender writing the
+ * pattern of logback-spring.xml to a discarding stream so formatting is measured but not the console:
+ * OFF as the baseline without logging, SYNC_EVERY_TRANSACTION writing the summary of every transaction on the
+ * calling thread, and ASYNC_SAMPLED, the default, sampling 1% of the successful transactions behind the async
+ * appender. Runs with 4 threads to include the contention on the appender.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class TransactionLoggingBenchmark {
+
+    public enum LoggingMode { OFF, SYNC_EVERY_TRANSACTION, ASYNC_SAMPLED }
+
+    private static final String LOG_PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%t] %-40.40logger{39} : %m %kvp%n";
+
+    @Param
+    private LoggingMode mode;
+
+    private ISOMessageProcessorServiceImpl processor;
+
+    private LoggerContext loggerContext;
+
+    @Setup
+    public void setUp() {
+        loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.reset();
+        Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(mode == LoggingMode.OFF ? Level.OFF : Level.INFO);
+        root.addAppender(mode == LoggingMode.ASYNC_SAMPLED ? asyncAppender(discardingAppender()) : discardingAppender());
+
+        LoggingProperties loggingProperties = new LoggingProperties();
+        loggingProperties.setSuccessSampleRate(mode == LoggingMode.ASYNC_SAMPLED ? 0.01 : 1);
+        processor = BenchmarkFixtures.newProcessor(loggingProperties);
+    }
+
+    @TearDown
+    public void tearDown() {
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public byte[] processISOMessageBytes() {
+        return processor.processISOMessage(BenchmarkFixtures.AUTH_REQUEST_BYTES);
+    }
+
+    private Appender<ILoggingEvent> discardingAppender() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern(LOG_PATTERN);
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(loggerContext);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+
+    private Appender<ILoggingEvent> asyncAppender(Appender<ILoggingEvent> delegate) {
+        AsyncAppender appender = new AsyncAppender();
+        appender.setContext(loggerContext);
+        appender.setQueueSize(new LoggingProperties().getAsyncQueueSize());
+        appender.setIncludeCallerData(false);
+        appender.addAppender(delegate);
+        appender.start();
+        return appender;
+    }
+}
@@ -0,0 +1,79 @@
+package com.nationsbenefits.igloo.iso8583.adapter.service.impl;
+
+import com.nationsbenefits.igloo.authengine.grpc.AuthRequest;
+import com.nationsbenefits.igloo.iso8583.adapter.benchmark.BenchmarkFixtures;
+import com.nationsbenefits.igloo.iso8583.adapter.parser.DE48Format;
+import com.nationsbenefits.igloo.iso8583.adapter.parser.DE48Subelements;
+import org.jpos.iso.ISOException;
+import org.jpos.iso.ISOMsg;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Cost of the processor steps on the 0100 sample: canonical data model construction, DE48 parsing and lookup and
+ * the full message processing with a stubbed auth engine and event publisher. Lives in the processor package to
+ * reach its package-private steps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ISOMessageProcessorBenchmark {
+
+    private static final String DE48_TLV = "R2003abc2403123330512345";
+
+    private ISOMessageProcessorServiceImpl processor;
+
+    private ISOMsg isoMsg;
+
+    private String de48;
+
+    @Setup
+    public void setUp() throws ISOException {
+        processor = BenchmarkFixtures.newProcessor();
+        isoMsg = new ISOMsg();
+        isoMsg.setPackager(BenchmarkFixtures.newPackagerRegistry().getPackager());
+        isoMsg.unpack(BenchmarkFixtures.AUTH_REQUEST_BYTES);
+        de48 = isoMsg.getString(48);
+    }
+
+    @Benchmark
+    public AuthRequest buildCanonicalDataModel() {
+        return processor.buildCanonicalDataModel(isoMsg, "benchmark-transaction");
+    }
+
+    @Benchmark
+    public String de48DelimitedLookup() {
+        return DE48Subelements.parse(de48, DE48Format.DELIMITED, 0).get("24");
+    }
+
+    @Benchmark
+    public String de48TlvLookup() {
+        return DE48Subelements.parse(DE48_TLV, DE48Format.TLV, 1).get("24");
+    }
+
+    @Benchmark
+    public String processISOMessage() {
+        return processor.processISOMessage(BenchmarkFixtures.AUTH_REQUEST);
+    }
+
+    @Benchmark
+    public byte[] processISOMessageBytes() {
+        return processor.processISOMessage(BenchmarkFixtures.AUTH_REQUEST_BYTES);
+    }
+}
@@ -0,0 +1,140 @@
+package com.nationsbenefits.igloo.iso8583.adapter.loadgen;
+
+import org.jpos.iso.ISOException;
+import org.jpos.iso.ISOMsg;
+import org.jpos.iso.ISOPackager;
+import org.jpos.iso.packager.GenericPackager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Synthesizes 0100 authorization requests with the fields of the sample in ISOMessageProcessorServiceTest, packed
+ * with the adapter's fields.xml. PAN (Luhn valid), amount, MCC, terminal, merchant and DE48 subelements are
+ * randomized; STAN and RRN are unique per message so the duplicate transmission cache never answers a request.
+ */
+public final class AuthorizationMessageFactory {
+
+    private static final String[] BINS = {"531445", "545454", "411111", "476173", "601100"};
+
+    private static final String[] MCCS = {"5411", "5912", "5812", "5541", "5999", "4111", "5311", "7011"};
+
+    private static final String ACQUIRER_ID = "300345217747000";
+
+    private static final DateTimeFormatter TRANSMISSION_TIME = DateTimeFormatter.ofPattern("MMddHHmmss");
+
+    private static final DateTimeFormatter LOCAL_TIME = DateTimeFormatter.ofPattern("HHmmss");
+
+    private static final DateTimeFormatter LOCAL_DATE = DateTimeFormatter.ofPattern("00MMdd");
+
+    private final ISOPackager packager;
+
+    private final long maxAmount;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Constructor for AuthorizationMessageFactory.
+     *
+     * @param packager  the packager of the adapter's field layout.
+     * @param maxAmount the largest amount in minor units, amounts are spread up to it.
+     */
+    public AuthorizationMessageFactory(ISOPackager packager, long maxAmount) {
+        this.packager = packager;
+        this.maxAmount = maxAmount;
+    }
+
+    /**
+     * Creates a factory packing with the fields.xml on the classpath, the default definition of the adapter.
+     *
+     * @param maxAmount the largest amount in minor units.
+     * @return the factory.
+     * @throws ISOException if fields.xml cannot be read.
+     */
+    public static AuthorizationMessageFactory fromFieldsXml(long maxAmount) throws ISOException {
+        try (InputStream fields = AuthorizationMessageFactory.class.getResourceAsStream("/fields.xml")) {
+            if (fields == null) {
+                throw new ISOException("fields.xml not found on the classpath");
+            }
+            return new AuthorizationMessageFactory(new GenericPackager(fields), maxAmount);
+        } catch (IOException e) {
+            throw new ISOException("Unable to read fields.xml", e);
+        }
+    }
+
+    public ISOPackager getPackager() {
+        return packager;
+    }
+
+    /**
+     * Packs the next authorization request.
+     *
+     * @return the packed message, without length header.
+     * @throws ISOException if the message does not fit the field layout.
+     */
+    public byte[] next() throws ISOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long stan = sequence.incrementAndGet() % 1_000_000;
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        ISOMsg isoMsg = new ISOMsg("0100");
+        isoMsg.setPackager(packager);
+        isoMsg.set(2, pan(random));
+        isoMsg.set(3, "000000");
+        isoMsg.set(4, String.format("%012d", 1 + random.nextLong(maxAmount)));
+        isoMsg.set(7, TRANSMISSION_TIME.format(now));
+        isoMsg.set(11, String.format("%06d", stan));
+        isoMsg.set(12, LOCAL_TIME.format(now));
+        isoMsg.set(13, LOCAL_DATE.format(now));
+        isoMsg.set(18, MCCS[random.nextInt(MCCS.length)]);
+        isoMsg.set(32, ACQUIRER_ID);
+        isoMsg.set(37, UUID.randomUUID().toString().replace("-", ""));
+        isoMsg.set(41, String.format("T%07d", random.nextInt(10_000_000)));
+        isoMsg.set(42, String.format("M%014d", random.nextLong(100_000_000_000_000L)));
+        isoMsg.set(48, de48(random));
+        isoMsg.set(49, "USD");
+        return isoMsg.pack();
+    }
+
+    /**
+     * Returns a 16 digit PAN with one of the BINs and a valid Luhn check digit.
+     */
+    private static String pan(ThreadLocalRandom random) {
+        StringBuilder pan = new StringBuilder(16).append(BINS[random.nextInt(BINS.length)]);
+        while (pan.length() < 15) {
+            pan.append(random.nextInt(10));
+        }
+        int sum = 0;
+        for (int i = 0; i < 15; i++) {
+            int digit = pan.charAt(14 - i) - '0';
+            if (i % 2 == 0) {
+                digit *= 2;
+                digit = digit > 9 ? digit - 9 : digit;
+            }
+            sum += digit;
+        }
+        return pan.append((10 - sum % 10) % 10).toString();
+    }
+
+    /**
+     * Returns DE48 in the delimited layout with the CVV subelement and up to two more of varying length.
+     */
+    private static String de48(ThreadLocalRandom random) {
+        StringBuilder de48 = new StringBuilder("24=").append(String.format("%03d", random.nextInt(1000)));
+        if (random.nextBoolean()) {
+            de48.append("|25=").append(random.nextInt(100_000));
+        }
+        if (random.nextInt(4) == 0) {
+            de48.append("|61=").append(Long.toString(random.nextLong(Long.MAX_VALUE), 36));
+        }
+        return de48.toString();
+    }
+}
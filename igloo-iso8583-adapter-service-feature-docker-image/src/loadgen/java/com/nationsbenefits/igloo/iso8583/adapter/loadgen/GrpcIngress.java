@@ -0,0 +1,102 @@
+package com.nationsbenefits.igloo.iso8583.adapter.loadgen;
+
+import com.google.protobuf.ByteString;
+import com.nationsbenefits.igloo.iso8583.adapter.grpc.ISO8583IngressServiceGrpc;
+import com.nationsbenefits.igloo.iso8583.adapter.grpc.ISO8583Request;
+import com.nationsbenefits.igloo.iso8583.adapter.grpc.ISO8583Response;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.stub.StreamObserver;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Sends the messages over one bidirectional stream of the gRPC ingress and matches the responses through their
+ * correlation id. If the stream fails, the messages in flight fail with it and the next message opens a new one.
+ */
+public final class GrpcIngress implements Ingress {
+
+    private final ManagedChannel channel;
+
+    private final Map<Long, CompletableFuture<byte[]>> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong correlationIds = new AtomicLong();
+
+    private StreamObserver<ISO8583Request> requestObserver;
+
+    /**
+     * Constructor for GrpcIngress.
+     *
+     * @param host the host of the gRPC ingress.
+     * @param port the port of the gRPC ingress.
+     */
+    public GrpcIngress(String host, int port) {
+        this.channel = ManagedChannelBuilder.forAddress(host, port).usePlaintext().build();
+    }
+
+    @Override
+    public CompletableFuture<byte[]> send(byte[] message) {
+        long correlationId = correlationIds.incrementAndGet();
+        CompletableFuture<byte[]> response = new CompletableFuture<>();
+        pending.put(correlationId, response);
+        ISO8583Request request = ISO8583Request.newBuilder().setCorrelationId(correlationId).setMessage(ByteString.copyFrom(message)).build();
+        synchronized (this) {
+            if (requestObserver == null) {
+                requestObserver = ISO8583IngressServiceGrpc.newStub(channel).exchange(new ResponseObserver());
+            }
+            requestObserver.onNext(request);
+        }
+        return response;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (requestObserver != null) {
+                requestObserver.onCompleted();
+            }
+        }
+        channel.shutdown();
+        try {
+            channel.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final class ResponseObserver implements StreamObserver<ISO8583Response> {
+
+        @Override
+        public void onNext(ISO8583Response response) {
+            CompletableFuture<byte[]> future = pending.remove(response.getCorrelationId());
+            if (future != null) {
+                future.complete(response.getMessage().toByteArray());
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            synchronized (GrpcIngress.this) {
+                requestObserver = null;
+            }
+            for (Long correlationId : pending.keySet()) {
+                CompletableFuture<byte[]> future = pending.remove(correlationId);
+                if (future != null) {
+                    future.completeExceptionally(throwable);
+                }
+            }
+        }
+
+        @Override
+        public void onCompleted() {
+            onError(new IngressException("gRPC stream completed by the adapter"));
+        }
+    }
+}
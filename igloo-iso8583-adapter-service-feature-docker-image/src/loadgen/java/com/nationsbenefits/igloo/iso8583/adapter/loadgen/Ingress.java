@@ -0,0 +1,23 @@
+package com.nationsbenefits.igloo.iso8583.adapter.loadgen;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * An ingress of the adapter the load is sent to.
+ */
+public interface Ingress extends AutoCloseable {
+
+    /**
+     * Sends a message without blocking the caller.
+     *
+     * @param message the packed ISO8583 message, without length header.
+     * @return future completed with the packed response, empty if the adapter sent none.
+     */
+    CompletableFuture<byte[]> send(byte[] message);
+
+    @Override
+    void close();
+}
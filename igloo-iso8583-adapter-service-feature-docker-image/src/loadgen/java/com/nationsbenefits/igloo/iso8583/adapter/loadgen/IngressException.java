@@ -0,0 +1,14 @@
+package com.nationsbenefits.igloo.iso8583.adapter.loadgen;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * An error answer of an ingress, e.g. an HTTP status other than 200. The report counts errors by its message.
+ */
+final class IngressException extends RuntimeException {
+
+    IngressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,216 @@
+package com.nationsbenefits.igloo.iso8583.adapter.loadgen;
+
+import org.jpos.iso.ISOException;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Drives the adapter with synthesized 0100 authorizations and reports latency percentiles and response codes.
+ * <p>
+ * Open loop ({@code --tps}): messages are sent on a fixed schedule whatever the response times, and latency is
+ * measured from the time a message was due, so a stalled adapter shows up in the percentiles instead of slowing
+ * the load down. Closed loop ({@code --concurrency}): that many senders each wait for the response before sending
+ * the next message. A warm-up phase runs first and is not reported.
+ * <p>
+ * {@code mvn -Ploadgen -DskipTests verify -Dloadgen.args="--ingress=tcp --port=8583 --tps=2000 --duration=120"}
+ * <pre>
+ *   --ingress=rest|tcp|grpc  the ingress the load is sent to (rest)
+ *   --url=URI                the REST end point (http://localhost:8080/iso8583/message)
+ *   --host=HOST --port=PORT  the socket listener (8583) or gRPC ingress (9090) address (localhost)
+ *   --tps=N                  open loop at N messages per second
+ *   --concurrency=N          closed loop with N messages in flight (1 if neither is given)
+ *   --duration=SECONDS       length of the measured phase (60)
+ *   --warmup=SECONDS         length of the warm-up phase (10)
+ *   --connections=N          TCP connections (64)
+ *   --timeout=MILLIS         response timeout (5000)
+ *   --maxAmount=MINOR_UNITS  largest synthesized amount (20000)
+ *   --histogram=FILE         write the percentile distribution in .hgrm format
+ * </pre>
+ */
+public final class LoadGenerator {
+
+    private final Map<String, String> options;
+
+    private final AuthorizationMessageFactory messageFactory;
+
+    private final LoadReport report;
+
+    private final long timeoutMillis;
+
+    private LoadGenerator(Map<String, String> options) throws ISOException {
+        this.options = options;
+        this.messageFactory = AuthorizationMessageFactory.fromFieldsXml(longOption("maxAmount", 20000));
+        this.report = new LoadReport(messageFactory.getPackager());
+        this.timeoutMillis = longOption("timeout", 5000);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --option=value but got " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        if (options.containsKey("tps") && options.containsKey("concurrency")) {
+            throw new IllegalArgumentException("--tps and --concurrency are exclusive");
+        }
+        new LoadGenerator(options).run();
+    }
+
+    private void run() throws IOException, InterruptedException {
+        try (Ingress ingress = openIngress()) {
+            System.out.printf("Load on %s ingress, %s%n", options.getOrDefault("ingress", "rest"),
+                    options.containsKey("tps") ? "open loop at " + options.get("tps") + " tps"
+                            : "closed loop with concurrency " + options.getOrDefault("concurrency", "1"));
+            long warmup = TimeUnit.SECONDS.toNanos(longOption("warmup", 10));
+            if (warmup > 0) {
+                System.out.println("Warm-up");
+                runPhase(ingress, warmup);
+                report.reset();
+            }
+            System.out.println("Measurement");
+            long elapsed = runPhase(ingress, TimeUnit.SECONDS.toNanos(longOption("duration", 60)));
+            report.print(System.out, elapsed);
+            if (options.containsKey("histogram")) {
+                writeDistribution(Path.of(options.get("histogram")));
+            }
+        }
+    }
+
+    /**
+     * Runs the load for a duration, printing a progress line every second, and waits for the last responses.
+     *
+     * @return the time from the start of the phase to the last response.
+     */
+    private long runPhase(Ingress ingress, long durationNanos) throws InterruptedException {
+        long start = System.nanoTime();
+        long[] previous = {start};
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor();
+        progress.scheduleAtFixedRate(() -> {
+            long now = System.nanoTime();
+            report.printInterval(System.out, now - start, now - previous[0]);
+            previous[0] = now;
+        }, 1, 1, TimeUnit.SECONDS);
+        try {
+            if (options.containsKey("tps")) {
+                runOpenLoop(ingress, start, durationNanos, Double.parseDouble(options.get("tps")));
+            } else {
+                runClosedLoop(ingress, start, durationNanos, (int) longOption("concurrency", 1));
+            }
+        } finally {
+            progress.shutdownNow();
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Sends the messages on a fixed schedule and waits for the responses of the messages in flight.
+     */
+    private void runOpenLoop(Ingress ingress, long start, long durationNanos, double tps) throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / tps);
+        AtomicInteger inFlight = new AtomicInteger();
+        for (long i = 0; i * intervalNanos < durationNanos; i++) {
+            long intended = start + i * intervalNanos;
+            byte[] message = nextMessage();
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.incrementAndGet();
+            report.sent();
+            ingress.send(message).orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).whenComplete((response, throwable) -> {
+                if (throwable == null) {
+                    report.recordResponse(System.nanoTime() - intended, response);
+                } else {
+                    report.recordError(System.nanoTime() - intended, throwable);
+                }
+                inFlight.decrementAndGet();
+            });
+        }
+        // every message completes within the timeout
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis * 2);
+        while (inFlight.get() > 0 && System.nanoTime() - deadline < 0) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Runs the senders, each sending its next message once the previous one is answered.
+     */
+    private void runClosedLoop(Ingress ingress, long start, long durationNanos, int concurrency) {
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                senders.execute(() -> {
+                    while (System.nanoTime() - start < durationNanos) {
+                        byte[] message = nextMessage();
+                        long sendStart = System.nanoTime();
+                        report.sent();
+                        try {
+                            byte[] response = ingress.send(message).get(timeoutMillis, TimeUnit.MILLISECONDS);
+                            report.recordResponse(System.nanoTime() - sendStart, response);
+                        } catch (ExecutionException | TimeoutException e) {
+                            report.recordError(System.nanoTime() - sendStart, e);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    private byte[] nextMessage() {
+        try {
+            return messageFactory.next();
+        } catch (ISOException e) {
+            throw new IllegalStateException("Unable to synthesize an authorization request", e);
+        }
+    }
+
+    private Ingress openIngress() throws IOException {
+        String ingress = options.getOrDefault("ingress", "rest");
+        String host = options.getOrDefault("host", "localhost");
+        return switch (ingress) {
+            case "rest" -> new RestIngress(URI.create(options.getOrDefault("url", "http://localhost:8080/iso8583/message")),
+                    Duration.ofMillis(timeoutMillis));
+            case "tcp" -> new TcpIngress(new InetSocketAddress(host, (int) longOption("port", 8583)),
+                    (int) longOption("connections", 64), (int) timeoutMillis);
+            case "grpc" -> new GrpcIngress(host, (int) longOption("port", 9090));
+            default -> throw new IllegalArgumentException("Unknown ingress " + ingress + ", expected rest, tcp or grpc");
+        };
+    }
+
+    private void writeDistribution(Path file) {
+        try {
+            report.writeDistribution(file);
+            System.out.println("Percentile distribution written to " + file.toAbsolutePath());
+        } catch (FileNotFoundException e) {
+            System.err.println("Unable to write " + file + ": " + e.getMessage());
+        }
+    }
+
+    private long longOption(String name, long defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Long.parseLong(value);
+    }
+}
@@ -0,0 +1,185 @@
+package com.nationsbenefits.igloo.iso8583.adapter.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.jpos.iso.ISOException;
+import org.jpos.iso.ISOMsg;
+import org.jpos.iso.ISOPackager;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Latency percentiles and outcome breakdown of a load run. Latencies are recorded in microseconds into an
+ * HdrHistogram {@link Recorder}, for errors as well as responses, so timeouts show up in the tail instead of
+ * disappearing. Responses are counted by their DE39 response code, errors by their type.
+ */
+public final class LoadReport {
+
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private static final String NO_RESPONSE = "NO_RESPONSE";
+
+    private static final String UNREADABLE = "UNREADABLE";
+
+    private final ISOPackager packager;
+
+    private final Recorder recorder = new Recorder(HIGHEST_LATENCY_MICROS, 3);
+
+    private final Histogram total = new Histogram(HIGHEST_LATENCY_MICROS, 3);
+
+    private final Map<String, LongAdder> responseCodes = new ConcurrentHashMap<>();
+
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    private final LongAdder sent = new LongAdder();
+
+    private Histogram interval;
+
+    /**
+     * Constructor for LoadReport.
+     *
+     * @param packager the packager the responses are read with.
+     */
+    public LoadReport(ISOPackager packager) {
+        this.packager = packager;
+    }
+
+    /**
+     * Counts a message handed to the ingress.
+     */
+    public void sent() {
+        sent.increment();
+    }
+
+    /**
+     * Records a response.
+     *
+     * @param latencyNanos the time from the intended send time to the response.
+     * @param response     the packed response, empty if the adapter sent none.
+     */
+    public void recordResponse(long latencyNanos, byte[] response) {
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_LATENCY_MICROS));
+        responseCodes.computeIfAbsent(responseCode(response), code -> new LongAdder()).increment();
+    }
+
+    /**
+     * Records a failed message.
+     *
+     * @param latencyNanos the time from the intended send time to the failure.
+     * @param throwable    the failure.
+     */
+    public void recordError(long latencyNanos, Throwable throwable) {
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_LATENCY_MICROS));
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        String error = cause instanceof IngressException ? cause.getMessage() : cause.getClass().getSimpleName();
+        errors.computeIfAbsent(error, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Discards everything recorded so far, at the end of the warm-up.
+     */
+    public synchronized void reset() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.reset();
+        responseCodes.clear();
+        errors.clear();
+        sent.reset();
+    }
+
+    /**
+     * Prints one progress line with the throughput and latencies since the previous line.
+     *
+     * @param out          the stream the line is printed to.
+     * @param elapsedNanos the time since the start of the phase.
+     * @param intervalNanos the time since the previous line.
+     */
+    public synchronized void printInterval(PrintStream out, long elapsedNanos, long intervalNanos) {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        out.printf("%6.1fs %9.1f tps  p50 %8.3f ms  p99 %8.3f ms  max %8.3f ms%n", elapsedNanos / 1e9,
+                interval.getTotalCount() * 1e9 / intervalNanos, millis(interval.getValueAtPercentile(50)),
+                millis(interval.getValueAtPercentile(99)), millis(interval.getMaxValue()));
+    }
+
+    /**
+     * Prints the summary of the measured phase.
+     *
+     * @param out          the stream the summary is printed to.
+     * @param elapsedNanos the duration of the measured phase.
+     */
+    public synchronized void print(PrintStream out, long elapsedNanos) {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        long completed = total.getTotalCount();
+        out.println();
+        out.printf("Sent %d, completed %d in %.1f s, %.1f tps%n", sent.sum(), completed, elapsedNanos / 1e9, completed * 1e9 / elapsedNanos);
+        out.println("Latency (ms, from the intended send time)");
+        out.printf("  min     %10.3f%n", millis(total.getMinValue()));
+        for (double percentile : PERCENTILES) {
+            out.printf("  p%-6s %10.3f%n", percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile),
+                    millis(total.getValueAtPercentile(percentile)));
+        }
+        out.printf("  max     %10.3f%n", millis(total.getMaxValue()));
+        out.printf("  mean    %10.3f%n", total.getMean() / 1000);
+        printCounts(out, "Response codes (DE39)", responseCodes, completed);
+        printCounts(out, "Errors", errors, completed);
+    }
+
+    /**
+     * Writes the full percentile distribution of the measured phase in the .hgrm format, which can be plotted with
+     * the HdrHistogram plotter. Call after {@link #print(PrintStream, long)}.
+     *
+     * @param file the file written.
+     * @throws FileNotFoundException if the file cannot be created.
+     */
+    public synchronized void writeDistribution(Path file) throws FileNotFoundException {
+        try (PrintStream out = new PrintStream(file.toFile())) {
+            total.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private String responseCode(byte[] response) {
+        if (response.length == 0) {
+            return NO_RESPONSE;
+        }
+        try {
+            ISOMsg isoMsg = new ISOMsg();
+            isoMsg.setPackager(packager);
+            isoMsg.unpack(response);
+            String responseCode = isoMsg.getString(39);
+            return responseCode == null ? UNREADABLE : responseCode;
+        } catch (ISOException e) {
+            return UNREADABLE;
+        }
+    }
+
+    private static void printCounts(PrintStream out, String title, Map<String, LongAdder> counts, long completed) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        out.println(title);
+        new TreeMap<>(counts).forEach((key, count) ->
+                out.printf("  %-24s %10d %6.2f%%%n", key, count.sum(), completed == 0 ? 0 : count.sum() * 100.0 / completed));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
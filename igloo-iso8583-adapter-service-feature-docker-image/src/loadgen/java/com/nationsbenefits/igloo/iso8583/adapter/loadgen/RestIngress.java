@@ -0,0 +1,58 @@
+package com.nationsbenefits.igloo.iso8583.adapter.loadgen;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Sends every message as the octet-stream body of a POST to the /iso8583/message REST end point.
+ */
+public final class RestIngress implements Ingress {
+
+    private final URI uri;
+
+    private final Duration timeout;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final HttpClient httpClient;
+
+    /**
+     * Constructor for RestIngress.
+     *
+     * @param uri     the URI of the end point, e.g. http://localhost:8080/iso8583/message.
+     * @param timeout the response timeout of a request.
+     */
+    public RestIngress(URI uri, Duration timeout) {
+        this.uri = uri;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).connectTimeout(timeout).executor(executor).build();
+    }
+
+    @Override
+    public CompletableFuture<byte[]> send(byte[] message) {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(timeout)
+                .header("Content-Type", "application/octet-stream")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(message)).build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).thenApply(response -> {
+            if (response.statusCode() != 200) {
+                throw new IngressException("HTTP " + response.statusCode());
+            }
+            return response.body();
+        });
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+        executor.close();
+    }
+}
@@ -0,0 +1,122 @@
+package com.nationsbenefits.igloo.iso8583.adapter.loadgen;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Sends the messages over a pool of TCP connections to the ISO8583 socket listener, each preceded by a 2-byte
+ * big-endian length header. A connection carries one message at a time, so responses never need to be matched;
+ * the pool size bounds the messages in flight. A connection that failed, e.g. because the listener sent no
+ * response within the timeout, is replaced by a new one.
+ */
+public final class TcpIngress implements Ingress {
+
+    private final InetSocketAddress address;
+
+    private final int timeoutMillis;
+
+    private final BlockingQueue<Connection> connections;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Constructor for TcpIngress. Opens all connections.
+     *
+     * @param address       the address of the socket listener.
+     * @param connections   the number of connections.
+     * @param timeoutMillis the connect and read timeout.
+     * @throws IOException if a connection cannot be opened.
+     */
+    public TcpIngress(InetSocketAddress address, int connections, int timeoutMillis) throws IOException {
+        this.address = address;
+        this.timeoutMillis = timeoutMillis;
+        this.connections = new ArrayBlockingQueue<>(connections);
+        for (int i = 0; i < connections; i++) {
+            this.connections.add(connect());
+        }
+    }
+
+    @Override
+    public CompletableFuture<byte[]> send(byte[] message) {
+        return CompletableFuture.supplyAsync(() -> {
+            Connection connection;
+            try {
+                connection = connections.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for a connection", e);
+            }
+            if (connection == null) {
+                throw new IngressException("No TCP connection available");
+            }
+            try {
+                connection.output.writeShort(message.length);
+                connection.output.write(message);
+                connection.output.flush();
+                byte[] response = new byte[connection.input.readUnsignedShort()];
+                connection.input.readFully(response);
+                connections.add(connection);
+                return response;
+            } catch (IOException e) {
+                replace(connection);
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        Connection connection;
+        while ((connection = connections.poll()) != null) {
+            connection.close();
+        }
+    }
+
+    /**
+     * Closes a connection that is out of step with the listener and puts a new one into the pool.
+     */
+    private void replace(Connection connection) {
+        connection.close();
+        try {
+            connections.add(connect());
+        } catch (IOException e) {
+            // the pool shrinks; the load is reported as errors until the listener is back
+            System.err.println("Unable to reconnect to " + address + ": " + e.getMessage());
+        }
+    }
+
+    private Connection connect() throws IOException {
+        Socket socket = new Socket();
+        socket.setTcpNoDelay(true);
+        socket.setSoTimeout(timeoutMillis);
+        socket.connect(address, timeoutMillis);
+        return new Connection(socket, new DataInputStream(new BufferedInputStream(socket.getInputStream())), new DataOutputStream(new BufferedOutputStream(socket.getOutputStream())));
+    }
+
+    private record Connection(Socket socket, DataInputStream input, DataOutputStream output) {
+
+        private void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // closing anyway
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.nationsbenefits.igloo.iso8583.adapter.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nationsbenefits.igloo.iso8583.adapter.config.DuplicateCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.jpos.iso.ISOException;
+import org.jpos.iso.ISOMsg;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static com.nationsbenefits.igloo.iso8583.adapter.constant.ISOAdapterConstant.MTI_AUTH_REQUEST;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Response cache detecting retransmitted authorization requests.
+ * An 0100 is identified by its transmission date and time (DE7), STAN (DE11), acquiring institution (DE32) and
+ * retrieval reference number (DE37). The first request with a key is processed and its packed response kept for
+ * the configured window; a retransmission arriving while the first request is still in flight waits for the same
+ * future, and one arriving later gets the stored response right away. Requests that produced no response are not
+ * kept, so their retransmission is processed again. The cache is bounded in size and entries expire after the
+ * window.
+ */
+@Slf4j
+@Component
+public class DuplicateTransmissionCache {
+
+    private static final byte[] NO_RESPONSE = new byte[0];
+
+    private static final char KEY_SEPARATOR = '|';
+
+    private final DuplicateCacheProperties duplicateCacheProperties;
+
+    private final Cache<String, CompletableFuture<byte[]>> responses;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter coalesced;
+
+    /**
+     * Constructor for DuplicateTransmissionCache.
+     *
+     * @param duplicateCacheProperties the cache configuration.
+     * @param meterRegistry            the registry the cache metrics are published to.
+     */
+    public DuplicateTransmissionCache(DuplicateCacheProperties duplicateCacheProperties, MeterRegistry meterRegistry) {
+        this.duplicateCacheProperties = duplicateCacheProperties;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(duplicateCacheProperties.getMaximumSize())
+                .expireAfterWrite(Duration.ofMillis(duplicateCacheProperties.getWindow()))
+                .build();
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+        this.coalesced = counter(meterRegistry, "coalesced");
+        Gauge.builder("iso8583.duplicates.size", responses, Cache::estimatedSize)
+                .description("Responses kept for retransmitted requests").register(meterRegistry);
+    }
+
+    /**
+     * Builds the duplicate detection key of a message.
+     *
+     * @param isoMsg the unpacked message.
+     * @return the key, or null if the cache is disabled, the message is not an 0100 or a key field is missing.
+     */
+    public String key(ISOMsg isoMsg) {
+        if (!duplicateCacheProperties.isEnabled() || !isoMsg.hasFields(new int[]{7, 11, 32, 37})) {
+            return null;
+        }
+        try {
+            if (!MTI_AUTH_REQUEST.equals(isoMsg.getMTI())) {
+                return null;
+            }
+        } catch (ISOException e) {
+            return null;
+        }
+        return isoMsg.getString(7) + KEY_SEPARATOR + isoMsg.getString(11) + KEY_SEPARATOR
+                + isoMsg.getString(32) + KEY_SEPARATOR + isoMsg.getString(37);
+    }
+
+    /**
+     * Returns the response of the first request with the key, processing the request only if there is none.
+     *
+     * @param key       the duplicate detection key.
+     * @param processor processes the request, called only for the first request with the key.
+     * @return the response of the first request with the key.
+     */
+    public CompletableFuture<byte[]> getOrProcess(String key, Supplier<CompletableFuture<byte[]>> processor) {
+        CompletableFuture<byte[]> pending = new CompletableFuture<>();
+        CompletableFuture<byte[]> existing = responses.asMap().putIfAbsent(key, pending);
+        if (existing != null) {
+            if (existing.isDone()) {
+                hits.increment();
+            } else {
+                coalesced.increment();
+            }
+            log.info("Duplicate transmission {} answered with the response of the original request", key);
+            return existing;
+        }
+        misses.increment();
+        try {
+            processor.get().whenComplete((response, throwable) -> {
+                if (throwable != null || response == null || response.length == 0) {
+                    responses.asMap().remove(key, pending);
+                }
+                if (throwable != null) {
+                    pending.completeExceptionally(throwable);
+                } else {
+                    pending.complete(response == null ? NO_RESPONSE : response);
+                }
+            });
+        } catch (RuntimeException e) {
+            responses.asMap().remove(key, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+        return pending;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("iso8583.duplicates")
+                .description("Authorization requests checked for retransmission")
+                .tag("result", result).register(meterRegistry);
+    }
+}
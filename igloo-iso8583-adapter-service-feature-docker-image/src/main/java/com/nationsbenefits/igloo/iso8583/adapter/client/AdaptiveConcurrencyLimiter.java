@@ -0,0 +1,119 @@
+package com.nationsbenefits.igloo.iso8583.adapter.client;
+
+import com.nationsbenefits.igloo.iso8583.adapter.config.AuthEngineLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Gradient style adaptive concurrency limit for Auth Engine calls.
+ * Every completed call reports its round trip time. While the round trip time stays within the tolerance of its
+ * long term average the limit grows by roughly its square root; once the Auth Engine slows down the limit shrinks
+ * in proportion to the slowdown, and a timed out or overloaded call cuts it by the backoff ratio. A call arriving
+ * while the limit is reached is rejected right away, without waiting for a slot, so it can be answered by the
+ * fallback while the Auth Engine recovers. The limit, the in-flight calls and the rejections are published as
+ * metrics.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final AuthEngineLimitProperties properties;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Counter rejected;
+
+    private volatile double limit;
+
+    private double longRttNanos;
+
+    private long samples;
+
+    /**
+     * Constructor for AdaptiveConcurrencyLimiter.
+     *
+     * @param properties    the limit configuration.
+     * @param meterRegistry the registry the limit metrics are published to.
+     */
+    public AdaptiveConcurrencyLimiter(AuthEngineLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limit = properties.getInitialLimit();
+        Gauge.builder("iso8583.authengine.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current concurrency limit of Auth Engine calls").register(meterRegistry);
+        Gauge.builder("iso8583.authengine.concurrency.inflight", inFlight, AtomicInteger::get)
+                .description("Auth Engine calls in flight").register(meterRegistry);
+        this.rejected = Counter.builder("iso8583.authengine.concurrency.rejected")
+                .description("Auth Engine calls rejected because the concurrency limit was reached").register(meterRegistry);
+    }
+
+    /**
+     * Takes an in-flight slot if the limit allows it. Every successful call must be followed by {@link #release()}.
+     *
+     * @return true if the call may be sent, false if the limit is reached.
+     */
+    public boolean tryAcquire() {
+        if (!properties.isEnabled()) {
+            inFlight.incrementAndGet();
+            return true;
+        }
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= getLimit()) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Gives back the in-flight slot taken by {@link #tryAcquire()}.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Adjusts the limit to the round trip time of a completed Auth Engine call.
+     *
+     * @param rttNanos the round trip time of the call in nanoseconds.
+     * @param dropped  whether the call timed out or was refused because the Auth Engine is overloaded.
+     */
+    public synchronized void onSample(long rttNanos, boolean dropped) {
+        double current = limit;
+        double estimate;
+        if (dropped) {
+            estimate = current * properties.getBackoffRatio();
+        } else {
+            samples++;
+            longRttNanos += (rttNanos - longRttNanos) / Math.min(samples, properties.getLongWindow());
+            // after a long slowdown the average lags far behind, let it catch up with the recovered latency
+            if (longRttNanos > 2.0 * rttNanos) {
+                longRttNanos *= 0.95;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, properties.getRttTolerance() * longRttNanos / Math.max(rttNanos, 1)));
+            estimate = current * gradient + Math.sqrt(current);
+            // only grow a limit that is actually used
+            if (estimate > current && inFlight.get() < current / 2) {
+                return;
+            }
+            estimate = current * (1 - properties.getSmoothing()) + estimate * properties.getSmoothing();
+        }
+        limit = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), estimate));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
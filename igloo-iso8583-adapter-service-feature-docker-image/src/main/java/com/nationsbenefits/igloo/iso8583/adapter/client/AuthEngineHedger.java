@@ -0,0 +1,169 @@
+package com.nationsbenefits.igloo.iso8583.adapter.client;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.nationsbenefits.igloo.iso8583.adapter.config.HedgingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Hedges Auth Engine calls to cut their tail latency.
+ * A call that has not answered within the configured percentile of the recent round trip times is sent a second
+ * time; the channel load balancing routes the copy to another Auth Engine pod. The first answer completes the
+ * call and the other attempt is cancelled. The call fails only when every attempt sent has failed. The percentile
+ * is recomputed from a ring buffer of recent round trip times every {@value #RECOMPUTE_INTERVAL} samples, so the
+ * request path never sorts.
+ */
+@Component
+public class AuthEngineHedger {
+
+    static final int RECOMPUTE_INTERVAL = 64;
+
+    private final HedgingProperties hedgingProperties;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final long[] samples;
+
+    private final AtomicLong sampleCount = new AtomicLong();
+
+    private final Counter hedgesSent;
+
+    private final Counter hedgesWon;
+
+    private volatile long hedgeDelayNanos = -1;
+
+    /**
+     * Constructor for AuthEngineHedger.
+     *
+     * @param hedgingProperties the hedging configuration.
+     * @param scheduler         the scheduler sending the second copy of a slow call.
+     * @param meterRegistry     the registry the hedging metrics are published to.
+     */
+    public AuthEngineHedger(HedgingProperties hedgingProperties, @Qualifier("authEngineRetryScheduler") ScheduledExecutorService scheduler,
+                            MeterRegistry meterRegistry) {
+        this.hedgingProperties = hedgingProperties;
+        this.scheduler = scheduler;
+        this.samples = new long[Math.max(1, hedgingProperties.getSampleWindow())];
+        this.hedgesSent = Counter.builder("iso8583.authengine.hedge").description("Auth Engine calls sent a second time")
+                .tag("result", "sent").register(meterRegistry);
+        this.hedgesWon = Counter.builder("iso8583.authengine.hedge").description("Auth Engine calls answered first by the second copy")
+                .tag("result", "won").register(meterRegistry);
+        Gauge.builder("iso8583.authengine.hedge.delay", this, hedger -> hedger.getHedgeDelay(TimeUnit.MILLISECONDS))
+                .description("Delay in milliseconds before a slow Auth Engine call is sent a second time").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return hedgingProperties.isEnabled();
+    }
+
+    /**
+     * Sends the call, and a second copy of it if the first has not answered within the hedge delay.
+     *
+     * @param attempt sends one copy of the call.
+     * @param <T>     the response type.
+     * @return a future completed with the first answer, or failed once every copy sent has failed.
+     */
+    public <T> ListenableFuture<T> call(Supplier<ListenableFuture<T>> attempt) {
+        if (!hedgingProperties.isEnabled()) {
+            return attempt.get();
+        }
+        SettableFuture<T> result = SettableFuture.create();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        ListenableFuture<T> primary = attempt.get();
+        listen(primary, result, outstanding, System.nanoTime(), false);
+        long delay = hedgeDelayNanos;
+        if (delay < 0) {
+            return result;
+        }
+        AtomicReference<ListenableFuture<T>> hedge = new AtomicReference<>();
+        ScheduledFuture<?> hedgeTimer = scheduler.schedule(() -> {
+            outstanding.incrementAndGet();
+            if (result.isDone()) {
+                return;
+            }
+            hedgesSent.increment();
+            ListenableFuture<T> copy = attempt.get();
+            hedge.set(copy);
+            listen(copy, result, outstanding, System.nanoTime(), true);
+            if (result.isDone()) {
+                copy.cancel(true);
+            }
+        }, delay, TimeUnit.NANOSECONDS);
+        result.addListener(() -> {
+            hedgeTimer.cancel(false);
+            primary.cancel(true);
+            ListenableFuture<T> copy = hedge.get();
+            if (copy != null) {
+                copy.cancel(true);
+            }
+        }, MoreExecutors.directExecutor());
+        return result;
+    }
+
+    private <T> void listen(ListenableFuture<T> attempt, SettableFuture<T> result, AtomicInteger outstanding, long start, boolean isHedge) {
+        Futures.addCallback(attempt, new FutureCallback<>() {
+            @Override
+            public void onSuccess(T response) {
+                if (result.set(response)) {
+                    recordSample(System.nanoTime() - start);
+                    if (isHedge) {
+                        hedgesWon.increment();
+                    }
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                if (outstanding.decrementAndGet() == 0) {
+                    result.setException(throwable);
+                }
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Stores a round trip time and recomputes the hedge delay every {@value #RECOMPUTE_INTERVAL} samples once the
+     * window is full.
+     */
+    void recordSample(long rttNanos) {
+        long count = sampleCount.getAndIncrement();
+        samples[(int) (count % samples.length)] = rttNanos;
+        if (count + 1 >= samples.length && (count + 1) % RECOMPUTE_INTERVAL == 0) {
+            long[] window = samples.clone();
+            Arrays.sort(window);
+            int index = (int) Math.ceil(hedgingProperties.getPercentile() / 100.0 * window.length) - 1;
+            long percentile = window[Math.max(0, Math.min(window.length - 1, index))];
+            hedgeDelayNanos = Math.max(percentile, TimeUnit.MILLISECONDS.toNanos(hedgingProperties.getMinDelay()));
+        }
+    }
+
+    /**
+     * Returns the current hedge delay.
+     *
+     * @param unit the unit of the returned delay.
+     * @return the delay before a second copy is sent, or -1 while too few round trip times are known.
+     */
+    public long getHedgeDelay(TimeUnit unit) {
+        long delay = hedgeDelayNanos;
+        return delay < 0 ? -1 : unit.convert(delay, TimeUnit.NANOSECONDS);
+    }
+}
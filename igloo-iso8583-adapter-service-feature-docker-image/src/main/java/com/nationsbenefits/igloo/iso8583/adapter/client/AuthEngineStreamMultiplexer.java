@@ -0,0 +1,305 @@
+package com.nationsbenefits.igloo.iso8583.adapter.client;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.nationsbenefits.igloo.authengine.grpc.AuthRequest;
+import com.nationsbenefits.igloo.authengine.grpc.AuthResponse;
+import com.nationsbenefits.igloo.authengine.grpc.AuthStreamRequest;
+import com.nationsbenefits.igloo.authengine.grpc.AuthStreamResponse;
+import com.nationsbenefits.igloo.authengine.grpc.AuthorizationServiceGrpc;
+import com.nationsbenefits.igloo.iso8583.adapter.config.AuthEngineStreamProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.config.ManagedChannelPool;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Multiplexes authorizations over a few long-lived processAuthorizationStream calls per channel instead of one unary
+ * call each, which saves the per-call headers, metadata and deadline context. Every request is tagged with a request
+ * id unique to this client and its transaction id; the response carrying the same request id completes the waiting
+ * future, whatever order the Auth Engine answers in. The deadline of every request is enforced here, as a stream has
+ * no per-message deadline.
+ * Streams are opened lazily, spread round-robin over the channels and replaced after {@code maxStreamAge} so they
+ * follow Auth Engine pods added later. A request is only written while HTTP/2 flow control reports the stream ready;
+ * otherwise it waits on the stream, up to {@code maxQueuedPerStream}, and is written from the ready callback. A
+ * broken stream fails its pending requests with UNAVAILABLE and is reopened by the next request. If the Auth Engine
+ * does not implement the stream, the requests in flight on it are sent again as unary calls, the multiplexer reports
+ * itself unavailable and callers keep using the unary call.
+ */
+@Slf4j
+@Component
+public class AuthEngineStreamMultiplexer {
+
+    private final AuthEngineStreamProperties authEngineStreamProperties;
+
+    private final List<ManagedChannel> channels;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicReferenceArray<AuthStream> streams;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final AtomicLong requestIds = new AtomicLong();
+
+    private final AtomicInteger pendingRequests = new AtomicInteger();
+
+    private final Counter streamsOpened;
+
+    private volatile boolean unimplemented;
+
+    /**
+     * Constructor for AuthEngineStreamMultiplexer.
+     *
+     * @param authEngineStreamProperties the stream configuration.
+     * @param managedChannel             the channel to the Auth Engine; the streams are spread over all channels of a pool.
+     * @param scheduler                  the scheduler enforcing the request deadlines.
+     * @param meterRegistry              the registry the stream metrics are published to.
+     */
+    public AuthEngineStreamMultiplexer(AuthEngineStreamProperties authEngineStreamProperties, ManagedChannel managedChannel,
+                                       @Qualifier("authEngineRetryScheduler") ScheduledExecutorService scheduler, MeterRegistry meterRegistry) {
+        this.authEngineStreamProperties = authEngineStreamProperties;
+        this.channels = managedChannel instanceof ManagedChannelPool pool ? pool.getChannels() : List.of(managedChannel);
+        this.scheduler = scheduler;
+        this.streams = new AtomicReferenceArray<>(channels.size() * Math.max(1, authEngineStreamProperties.getStreamsPerChannel()));
+        Gauge.builder("iso8583.authengine.stream.pending", pendingRequests, AtomicInteger::get)
+                .description("Authorizations waiting for their response on an Auth Engine stream").register(meterRegistry);
+        this.streamsOpened = Counter.builder("iso8583.authengine.stream.opened")
+                .description("Auth Engine streams opened").register(meterRegistry);
+    }
+
+    /**
+     * Whether authorizations are sent over the streams. False if streaming is disabled or the Auth Engine does not
+     * implement it.
+     *
+     * @return true if {@link #send(AuthRequest, long)} should be used instead of the unary call.
+     */
+    public boolean isAvailable() {
+        return authEngineStreamProperties.isEnabled() && !unimplemented;
+    }
+
+    /**
+     * Sends the authorization over the next stream.
+     *
+     * @param authorizationRequest the authorization request.
+     * @param timeoutMillis        the time in milliseconds after which the request fails with DEADLINE_EXCEEDED.
+     * @return a future completed with the Auth Engine response, or failed with a StatusRuntimeException.
+     */
+    public ListenableFuture<AuthResponse> send(AuthRequest authorizationRequest, long timeoutMillis) {
+        int slot = Math.floorMod(next.getAndIncrement(), streams.length());
+        return stream(slot).send(authorizationRequest, timeoutMillis);
+    }
+
+    private AuthStream stream(int slot) {
+        AuthStream stream = streams.get(slot);
+        if (stream != null && stream.isUsable()) {
+            return stream;
+        }
+        synchronized (streams) {
+            stream = streams.get(slot);
+            if (stream != null && stream.isUsable()) {
+                return stream;
+            }
+            if (stream != null) {
+                stream.retire();
+            }
+            AuthStream opened = new AuthStream(channels.get(slot % channels.size()));
+            streams.set(slot, opened);
+            streamsOpened.increment();
+            return opened;
+        }
+    }
+
+    /**
+     * Half-closes all streams, so the Auth Engine answers the requests already sent before it ends them.
+     */
+    @PreDestroy
+    public void close() {
+        for (int i = 0; i < streams.length(); i++) {
+            AuthStream stream = streams.getAndSet(i, null);
+            if (stream != null) {
+                stream.retire();
+            }
+        }
+    }
+
+    /**
+     * One processAuthorizationStream call and the requests waiting for their response on it.
+     */
+    private final class AuthStream implements ClientResponseObserver<AuthStreamRequest, AuthStreamResponse> {
+
+        private final long openedAt = System.nanoTime();
+
+        private final ManagedChannel channel;
+
+        private final Map<Long, PendingRequest> pending = new ConcurrentHashMap<>();
+
+        private final Deque<AuthStreamRequest> waiting = new ArrayDeque<>();
+
+        private ClientCallStreamObserver<AuthStreamRequest> requestStream;
+
+        private volatile boolean broken;
+
+        private boolean retired;
+
+        private boolean halfClosed;
+
+        private AuthStream(ManagedChannel channel) {
+            this.channel = channel;
+            AuthorizationServiceGrpc.newStub(channel).processAuthorizationStream(this);
+        }
+
+        @Override
+        public void beforeStart(ClientCallStreamObserver<AuthStreamRequest> requestStream) {
+            this.requestStream = requestStream;
+            requestStream.setOnReadyHandler(this::drain);
+        }
+
+        private boolean isUsable() {
+            return !broken && System.nanoTime() - openedAt < TimeUnit.MILLISECONDS.toNanos(authEngineStreamProperties.getMaxStreamAge());
+        }
+
+        private ListenableFuture<AuthResponse> send(AuthRequest authorizationRequest, long timeoutMillis) {
+            long requestId = requestIds.incrementAndGet();
+            SettableFuture<AuthResponse> response = SettableFuture.create();
+            pending.put(requestId, new PendingRequest(authorizationRequest, response, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis)));
+            pendingRequests.incrementAndGet();
+            ScheduledFuture<?> timeout = scheduler.schedule(() -> response.setException(Status.DEADLINE_EXCEEDED
+                    .withDescription("Auth Engine stream response not received within " + timeoutMillis + " ms").asRuntimeException()),
+                    timeoutMillis, TimeUnit.MILLISECONDS);
+            // also runs when the caller cancels the future, e.g. a hedged copy that lost
+            response.addListener(() -> {
+                timeout.cancel(false);
+                pending.remove(requestId);
+                pendingRequests.decrementAndGet();
+            }, MoreExecutors.directExecutor());
+            AuthStreamRequest streamRequest = AuthStreamRequest.newBuilder().setRequestId(requestId)
+                    .setTransactionId(authorizationRequest.getIsoMessage().getTransaction().getID())
+                    .setAuthRequest(authorizationRequest).build();
+            synchronized (this) {
+                if (broken || retired) {
+                    response.setException(Status.UNAVAILABLE.withDescription("Auth Engine stream closed").asRuntimeException());
+                } else if (waiting.isEmpty() && requestStream.isReady()) {
+                    requestStream.onNext(streamRequest);
+                } else if (waiting.size() < authEngineStreamProperties.getMaxQueuedPerStream()) {
+                    waiting.addLast(streamRequest);
+                } else {
+                    response.setException(Status.RESOURCE_EXHAUSTED
+                            .withDescription("Auth Engine stream not ready, " + waiting.size() + " requests waiting").asRuntimeException());
+                }
+            }
+            return response;
+        }
+
+        /**
+         * Writes the waiting requests while the stream is ready, skipping those already answered or timed out, and
+         * half-closes a retired stream once nothing is left to write.
+         */
+        private synchronized void drain() {
+            while (!broken && !waiting.isEmpty() && requestStream.isReady()) {
+                AuthStreamRequest streamRequest = waiting.pollFirst();
+                if (pending.containsKey(streamRequest.getRequestId())) {
+                    requestStream.onNext(streamRequest);
+                }
+            }
+            if (retired && !broken && !halfClosed && waiting.isEmpty()) {
+                halfClosed = true;
+                requestStream.onCompleted();
+            }
+        }
+
+        @Override
+        public void onNext(AuthStreamResponse streamResponse) {
+            PendingRequest request = pending.get(streamResponse.getRequestId());
+            if (request == null) {
+                return;
+            }
+            if (streamResponse.getError().isEmpty()) {
+                request.response().set(streamResponse.getAuthResponse());
+            } else {
+                request.response().setException(Status.INTERNAL.withDescription(streamResponse.getError()).asRuntimeException());
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            Status status = Status.fromThrowable(t);
+            if (status.getCode() == Status.Code.UNIMPLEMENTED) {
+                unimplemented = true;
+                log.warn("Auth Engine does not implement processAuthorizationStream, using unary calls");
+                synchronized (this) {
+                    broken = true;
+                    waiting.clear();
+                }
+                pending.values().forEach(this::sendUnary);
+                return;
+            }
+            log.warn("Auth Engine stream failed : {} : {}", status.getCode(), status.getDescription());
+            close(Status.UNAVAILABLE.withDescription("Auth Engine stream failed").withCause(t));
+        }
+
+        @Override
+        public void onCompleted() {
+            close(Status.UNAVAILABLE.withDescription("Auth Engine stream completed"));
+        }
+
+        /**
+         * Sends a request of this stream again as a unary call with the rest of its deadline.
+         */
+        private void sendUnary(PendingRequest request) {
+            long remainingNanos = request.deadlineNanos() - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return;
+            }
+            request.response().setFuture(AuthorizationServiceGrpc.newFutureStub(channel)
+                    .withDeadlineAfter(remainingNanos, TimeUnit.NANOSECONDS).processAuthorizationRequest(request.request()));
+        }
+
+        private void close(Status status) {
+            synchronized (this) {
+                broken = true;
+                waiting.clear();
+            }
+            pending.values().forEach(request -> request.response().setException(status.asRuntimeException()));
+        }
+
+        /**
+         * Stops sending new requests on this stream. The waiting requests are still written and the Auth Engine
+         * still answers the pending ones.
+         */
+        private synchronized void retire() {
+            retired = true;
+            drain();
+        }
+    }
+
+    /**
+     * A request waiting for its response on a stream.
+     */
+    private record PendingRequest(AuthRequest request, SettableFuture<AuthResponse> response, long deadlineNanos) {
+    }
+}
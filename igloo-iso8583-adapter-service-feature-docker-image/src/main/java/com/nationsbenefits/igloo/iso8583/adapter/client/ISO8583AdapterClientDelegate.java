@@ -1,24 +1,36 @@
 package com.nationsbenefits.igloo.iso8583.adapter.client;
 
 import com.nationsbenefits.igloo.authengine.grpc.*;
-import com.nationsbenefits.igloo.event.publisher.service.EventPublisherService;
 import com.nationsbenefits.igloo.iso8583.adapter.constant.EventConstant;
+import com.nationsbenefits.igloo.iso8583.adapter.event.TransactionEventCollector;
+import com.nationsbenefits.igloo.iso8583.adapter.exception.AuthEngineConcurrencyLimitException;
 import com.nationsbenefits.igloo.iso8583.adapter.exception.ISOAdapterCircuitBreakerFallbackException;
 import com.nationsbenefits.igloo.iso8583.adapter.exception.ISOAdapterExceptionHandler;
 import com.nationsbenefits.igloo.iso8583.adapter.fallback.ISO8583AdapterFallbackHandler;
+import com.nationsbenefits.igloo.iso8583.adapter.metrics.AuthorizationMetrics;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import io.github.resilience4j.decorators.Decorators;
 import io.github.resilience4j.retry.Retry;
 import io.grpc.ManagedChannel;
+import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
+import static com.nationsbenefits.igloo.iso8583.adapter.constant.ISOAdapterConstant.AUTH_ENGINE_CIRCUIT_BREAKER;
 import static com.nationsbenefits.igloo.iso8583.adapter.constant.ISOAdapterConstant.MESSAGE_TYPE_AUTHORIZATION;
 import static com.nationsbenefits.igloo.iso8583.adapter.util.EventPublisherUtil.buildEventHeader;
 import static com.nationsbenefits.igloo.iso8583.adapter.util.EventPublisherUtil.buildEventPayload;
@@ -38,14 +50,22 @@ public class ISO8583AdapterClientDelegate {
 
     private final com.nationsbenefits.igloo.authengine.grpc.AuthorizationServiceGrpc.AuthorizationServiceBlockingStub transactionServiceStub;
 
+    private final AuthorizationServiceGrpc.AuthorizationServiceFutureStub transactionServiceFutureStub;
+
     private final Retry retry;
 
+    private final ScheduledExecutorService retryScheduler;
+
     @Autowired
-    public ISO8583AdapterClientDelegate(ManagedChannel managedChannel,Retry retry) {
+    public ISO8583AdapterClientDelegate(ManagedChannel managedChannel, Retry retry,
+                                        @Qualifier("authEngineRetryScheduler") ScheduledExecutorService retryScheduler) {
         this.managedChannel = managedChannel;
         this.retry = retry;
+        this.retryScheduler = retryScheduler;
         transactionServiceStub =
                 AuthorizationServiceGrpc.newBlockingStub(this.managedChannel);
+        transactionServiceFutureStub =
+                AuthorizationServiceGrpc.newFutureStub(this.managedChannel);
     }
 
 
@@ -91,11 +111,24 @@ public class ISO8583AdapterClientDelegate {
     private ISOAdapterExceptionHandler isoAdapterExceptionHandler;
 
     @Autowired
-    private EventPublisherService eventPublisherService;
+    private TransactionEventCollector transactionEventCollector;
+
+    @Autowired
+    private AuthorizationMetrics authorizationMetrics;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Autowired
+    private AuthEngineHedger authEngineHedger;
+
+    @Autowired
+    private AuthEngineStreamMultiplexer authEngineStreamMultiplexer;
 
     /**
      * Processes an authorization transaction by sending a gRPC request to the Auth Engine.
      * The method integrates Circuit Breaker and Retry mechanisms to handle potential failures gracefully.
+     * When the adaptive concurrency limit is reached the request is answered by the fallback without calling the Auth Engine.
      *
      * @param authorizationRequest the authorization request object containing the necessary data for authorization.
      * @return the authorization response object received from the Auth Engine.
@@ -103,27 +136,143 @@ public class ISO8583AdapterClientDelegate {
      */
 
     public AuthResponse processAuthTransaction(AuthRequest authorizationRequest) {
-        log.info("gRPC Request Sent to Auth Engine accepting canonical data model for authorization") ;
-        this.circuitBreaker = registry.circuitBreaker("ISO8583Adapter");
+        log.debug("gRPC Request Sent to Auth Engine accepting canonical data model for authorization") ;
+        this.circuitBreaker = registry.circuitBreaker(AUTH_ENGINE_CIRCUIT_BREAKER);
+
 
+        if (!concurrencyLimiter.tryAcquire()) {
+            return fallback(authorizationRequest, new AuthEngineConcurrencyLimitException(concurrencyLimiter.getLimit()));
+        }
 
         Decorators.DecorateSupplier<AuthResponse> decoratedSupplier = Decorators.ofSupplier(() -> {
                     AuthResponse authResponse = null;
+                    long callStart = System.nanoTime();
+                    boolean dropped = false;
                     try {
-                        authResponse = transactionServiceStub.withDeadlineAfter(deadlineTimeout, TimeUnit.MILLISECONDS).processAuthorizationRequest(authorizationRequest);
+                        authResponse = authEngineHedger.isEnabled() || authEngineStreamMultiplexer.isAvailable() ? awaitAuthEngine(authorizationRequest)
+                                : transactionServiceStub.withDeadlineAfter(deadlineTimeout, TimeUnit.MILLISECONDS).processAuthorizationRequest(authorizationRequest);
                     } catch (StatusRuntimeException e) {
-                        eventPublisherService.publishEventAsync(buildEventHeader(authorizationRequest,MESSAGE_TYPE_AUTHORIZATION, appName, version), List.of(buildEventPayload(EventConstant.AUTHORIZATION_FAILED,e.getMessage())));
+                        dropped = isOverloaded(e);
+                        transactionEventCollector.record(authorizationRequest.getIsoMessage().getTransaction().getID(), buildEventHeader(authorizationRequest,MESSAGE_TYPE_AUTHORIZATION, appName, version), List.of(buildEventPayload(EventConstant.AUTHORIZATION_FAILED,e.getMessage())));
 
                         log.error("Exception thrown from Auth Engine server : {} : {}",
                                 e.getStatus().getCode(), e.getStatus().getDescription());
                         isoAdapterExceptionHandler.handleRuntimeException(e);
-                        throw new ISOAdapterCircuitBreakerFallbackException("Exception processing Authorization Engine Response");
+                        throw new ISOAdapterCircuitBreakerFallbackException("Exception processing Authorization Engine Response", e);
+                    } finally {
+                        concurrencyLimiter.onSample(System.nanoTime() - callStart, dropped);
+                        authorizationMetrics.recordStage(AuthorizationMetrics.Stage.AUTH_ENGINE_CALL, callStart);
                     }
                     return authResponse;
                 }).withCircuitBreaker(circuitBreaker).withRetry(retry)
-                .withFallback(throwable -> iso8583AdapterFallbackHandler.fallbackProcessAuthEngineResponse(authorizationRequest));
+                .withFallback(throwable -> fallback(authorizationRequest, throwable));
+
+        try {
+            return decoratedSupplier.get();
+        } finally {
+            concurrencyLimiter.release();
+        }
+    }
+
+    /**
+     * Processes an authorization transaction asynchronously through the future stub of the Auth Engine.
+     * Circuit Breaker, Retry and the fallback are composed on the returned stage, so no thread waits for the
+     * Auth Engine while the call is in flight; retries are delayed on the retry scheduler. When the adaptive
+     * concurrency limit is reached the returned future is already completed with the fallback response.
+     *
+     * @param authorizationRequest the authorization request object containing the necessary data for authorization.
+     * @return a future completed with the Auth Engine response, or with the fallback response if the call fails after all retries.
+     */
+    public CompletableFuture<AuthResponse> processAuthTransactionAsync(AuthRequest authorizationRequest) {
+        log.debug("Async gRPC Request Sent to Auth Engine accepting canonical data model for authorization") ;
+        this.circuitBreaker = registry.circuitBreaker(AUTH_ENGINE_CIRCUIT_BREAKER);
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            return CompletableFuture.completedFuture(
+                    fallback(authorizationRequest, new AuthEngineConcurrencyLimitException(concurrencyLimiter.getLimit())));
+        }
+
+        return Decorators.ofCompletionStage(() -> callAuthEngineAsync(authorizationRequest))
+                .withCircuitBreaker(circuitBreaker).withRetry(retry, retryScheduler)
+                .withFallback(throwable -> fallback(authorizationRequest, throwable))
+                .get().toCompletableFuture()
+                .whenComplete((authResponse, throwable) -> concurrencyLimiter.release());
+    }
 
-        return decoratedSupplier.get();
+    /**
+     * Sends one authorization request through the future stub and adapts the gRPC future to a CompletableFuture.
+     * A failed call is reported the same way as in the blocking path.
+     */
+    private CompletableFuture<AuthResponse> callAuthEngineAsync(AuthRequest authorizationRequest) {
+        CompletableFuture<AuthResponse> authResponseFuture = new CompletableFuture<>();
+        long callStart = System.nanoTime();
+        ListenableFuture<AuthResponse> grpcFuture = authEngineHedger.call(() -> sendToAuthEngine(authorizationRequest));
+        Futures.addCallback(grpcFuture, new FutureCallback<>() {
+            @Override
+            public void onSuccess(AuthResponse authResponse) {
+                concurrencyLimiter.onSample(System.nanoTime() - callStart, false);
+                authorizationMetrics.recordStage(AuthorizationMetrics.Stage.AUTH_ENGINE_CALL, callStart);
+                authResponseFuture.complete(authResponse);
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                concurrencyLimiter.onSample(System.nanoTime() - callStart, throwable instanceof StatusRuntimeException e && isOverloaded(e));
+                authorizationMetrics.recordStage(AuthorizationMetrics.Stage.AUTH_ENGINE_CALL, callStart);
+                if (throwable instanceof StatusRuntimeException e) {
+                    transactionEventCollector.record(authorizationRequest.getIsoMessage().getTransaction().getID(), buildEventHeader(authorizationRequest, MESSAGE_TYPE_AUTHORIZATION, appName, version), List.of(buildEventPayload(EventConstant.AUTHORIZATION_FAILED, e.getMessage())));
+
+                    log.error("Exception thrown from Auth Engine server : {} : {}",
+                            e.getStatus().getCode(), e.getStatus().getDescription());
+                    isoAdapterExceptionHandler.handleRuntimeException(e);
+                }
+                authResponseFuture.completeExceptionally(new ISOAdapterCircuitBreakerFallbackException("Exception processing Authorization Engine Response", throwable));
+            }
+        }, MoreExecutors.directExecutor());
+        return authResponseFuture;
+    }
+
+    /**
+     * Sends one authorization request over an Auth Engine stream when streaming is available, and through a unary
+     * call of the future stub otherwise.
+     */
+    private ListenableFuture<AuthResponse> sendToAuthEngine(AuthRequest authorizationRequest) {
+        if (authEngineStreamMultiplexer.isAvailable()) {
+            return authEngineStreamMultiplexer.send(authorizationRequest, deadlineTimeout);
+        }
+        return transactionServiceFutureStub.withDeadlineAfter(deadlineTimeout, TimeUnit.MILLISECONDS).processAuthorizationRequest(authorizationRequest);
+    }
+
+    /**
+     * Sends one authorization request, hedged and over a stream where enabled, and waits for the first answer.
+     * Failures are rethrown as the StatusRuntimeException the blocking stub would have thrown.
+     */
+    private AuthResponse awaitAuthEngine(AuthRequest authorizationRequest) {
+        try {
+            return authEngineHedger.call(() -> sendToAuthEngine(authorizationRequest)).get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof StatusRuntimeException statusException ? statusException : Status.fromThrowable(e.getCause()).asRuntimeException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw Status.CANCELLED.withDescription("Interrupted while waiting for Auth Engine").withCause(e).asRuntimeException();
+        }
+    }
+
+    /**
+     * Whether the Auth Engine call failed because the Auth Engine is too slow or refuses load, which lowers the
+     * concurrency limit.
+     */
+    private static boolean isOverloaded(StatusRuntimeException e) {
+        Status.Code code = e.getStatus().getCode();
+        return code == Status.Code.DEADLINE_EXCEEDED || code == Status.Code.UNAVAILABLE || code == Status.Code.RESOURCE_EXHAUSTED;
+    }
+
+    /**
+     * Counts the fallback and builds the fallback response.
+     */
+    private AuthResponse fallback(AuthRequest authorizationRequest, Throwable throwable) {
+        authorizationMetrics.countFallback(throwable);
+        return iso8583AdapterFallbackHandler.fallbackProcessAuthEngineResponse(authorizationRequest, throwable);
     }
 
 
@@ -0,0 +1,60 @@
+package com.nationsbenefits.igloo.iso8583.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Configuration properties class for the adaptive concurrency limit of Auth Engine calls.
+ * This class maps properties from the application configuration file with the prefix "authengine.limit".
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "authengine.limit")
+public class AuthEngineLimitProperties {
+
+    /**
+     * Whether calls over the limit are rejected. When disabled the limit is still computed and published.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The number of concurrent calls allowed before any round trip time was measured.
+     */
+    private int initialLimit = 20;
+
+    /**
+     * The lower bound of the limit.
+     */
+    private int minLimit = 4;
+
+    /**
+     * The upper bound of the limit.
+     */
+    private int maxLimit = 500;
+
+    /**
+     * How many times the long term round trip time a call may take before the limit starts shrinking.
+     */
+    private double rttTolerance = 2.0;
+
+    /**
+     * The weight of a new limit estimate against the current limit, between 0 and 1.
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * The number of samples the long term round trip time is averaged over.
+     */
+    private int longWindow = 600;
+
+    /**
+     * The factor the limit is multiplied by when a call times out or the Auth Engine reports it is overloaded.
+     */
+    private double backoffRatio = 0.9;
+}
@@ -0,0 +1,44 @@
+package com.nationsbenefits.igloo.iso8583.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Configuration properties class for the streaming authorization calls to the Auth Engine.
+ * This class maps properties from the application configuration file with the prefix "authengine.stream".
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "authengine.stream")
+public class AuthEngineStreamProperties {
+
+    /**
+     * Whether authorizations are multiplexed over long-lived streams instead of one unary call each. Requires an
+     * Auth Engine implementing processAuthorizationStream; the unary call is used while no stream is available.
+     */
+    private boolean enabled;
+
+    /**
+     * The number of streams opened on every channel. A stream is served by one Auth Engine pod, so this should be
+     * at least the number of pods a channel resolves to.
+     */
+    private int streamsPerChannel = 2;
+
+    /**
+     * The age in milliseconds after which a stream is replaced by a new one, so streams spread over Auth Engine
+     * pods added since they were opened.
+     */
+    private long maxStreamAge = 300000;
+
+    /**
+     * The maximum number of requests waiting on a stream that HTTP/2 flow control does not let send yet. Requests
+     * beyond this fail with RESOURCE_EXHAUSTED instead of being buffered without bound.
+     */
+    private int maxQueuedPerStream = 1000;
+}
@@ -0,0 +1,156 @@
+package com.nationsbenefits.igloo.iso8583.adapter.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Executor running every task on its own virtual thread, bounded by an in-flight semaphore.
+ * At most {@code maxInFlight} tasks run at the same time and at most {@code maxQueued} further tasks wait for a
+ * slot; a task submitted beyond that is rejected right away, so the service sheds load under a spike instead of
+ * letting latency grow without bound. In-flight, queued and rejected work is published as metrics tagged with
+ * the executor name.
+ */
+@Slf4j
+public class BoundedVirtualThreadExecutor extends AbstractExecutorService {
+
+    private final String name;
+
+    private final int maxInFlight;
+
+    private final int maxQueued;
+
+    private final Semaphore inFlightPermits;
+
+    private final ThreadFactory threadFactory;
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Counter rejected;
+
+    private volatile boolean shutdown;
+
+    /**
+     * Constructor for BoundedVirtualThreadExecutor.
+     *
+     * @param name          the executor name, used for thread names and metric tags.
+     * @param maxInFlight   the maximum number of tasks running at the same time.
+     * @param maxQueued     the maximum number of tasks waiting for a running slot.
+     * @param meterRegistry the registry the executor gauges are published to.
+     */
+    public BoundedVirtualThreadExecutor(String name, int maxInFlight, int maxQueued, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxInFlight = maxInFlight;
+        this.maxQueued = maxQueued;
+        this.inFlightPermits = new Semaphore(maxInFlight);
+        this.threadFactory = Thread.ofVirtual().name(name + "-", 0).factory();
+        Gauge.builder("iso8583.executor.inflight", inFlight, AtomicInteger::get)
+                .description("Tasks currently running").tag("executor", name).register(meterRegistry);
+        Gauge.builder("iso8583.executor.queued", queued, AtomicInteger::get)
+                .description("Tasks waiting for an in-flight slot").tag("executor", name).register(meterRegistry);
+        this.rejected = Counter.builder("iso8583.executor.rejected")
+                .description("Tasks rejected because the executor was saturated").tag("executor", name).register(meterRegistry);
+    }
+
+    /**
+     * Starts the task on a new virtual thread, which waits for an in-flight slot before running it.
+     *
+     * @param task the task to run.
+     * @throws RejectedExecutionException if the executor is shut down or the in-flight and queue limits are reached.
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Executor " + name + " is shut down");
+        }
+        if (pending.incrementAndGet() > maxInFlight + maxQueued) {
+            pending.decrementAndGet();
+            rejected.increment();
+            throw new RejectedExecutionException("Executor " + name + " saturated");
+        }
+        queued.incrementAndGet();
+        try {
+            threadFactory.newThread(() -> run(task)).start();
+        } catch (RuntimeException | Error e) {
+            queued.decrementAndGet();
+            pending.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void run(Runnable task) {
+        inFlightPermits.acquireUninterruptibly();
+        queued.decrementAndGet();
+        inFlight.incrementAndGet();
+        try {
+            task.run();
+        } finally {
+            inFlight.decrementAndGet();
+            inFlightPermits.release();
+            pending.decrementAndGet();
+        }
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    @Override
+    public void shutdown() {
+        log.info("Shutting down BoundedVirtualThreadExecutor {}...", name);
+        shutdown = true;
+    }
+
+    /**
+     * Stops accepting tasks. Virtual threads that were already started are not interrupted.
+     *
+     * @return always an empty list, as tasks are never held in a queue.
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        return List.of();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && pending.get() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!isTerminated()) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        return true;
+    }
+}
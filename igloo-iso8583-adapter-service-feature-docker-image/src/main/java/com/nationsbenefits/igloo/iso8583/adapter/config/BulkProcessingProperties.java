@@ -0,0 +1,30 @@
+package com.nationsbenefits.igloo.iso8583.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Configuration properties class for the bulk processing endpoint.
+ * This class maps properties from the application configuration file with the prefix "iso8583.bulk".
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "iso8583.bulk")
+public class BulkProcessingProperties {
+
+    /**
+     * The maximum number of messages of one bulk request being processed at the same time.
+     */
+    private int parallelism = 32;
+
+    /**
+     * The maximum length of a single message, excluding the 2-byte length header or the line separator.
+     */
+    private int maxMessageLength = 8192;
+}
@@ -10,6 +10,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * Copyright Â© 2024, NationsBenefits. All Rights reserved
@@ -77,4 +79,19 @@ public class CircuitBreakerConfiguration {
         // Create a Retry instance
         return Retry.of("ISO8583AdapterRetry", retryConfig);
     }
+
+    /**
+     * Creates the scheduler used by the asynchronous Retry to delay the next attempt
+     * without holding a thread while waiting.
+     *
+     * @return a ScheduledExecutorService for retry attempts of asynchronous Auth Engine calls.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ScheduledExecutorService authEngineRetryScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "AuthEngineRetry-Scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 }
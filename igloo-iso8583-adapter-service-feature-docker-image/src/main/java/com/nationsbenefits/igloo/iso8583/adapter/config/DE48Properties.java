@@ -0,0 +1,32 @@
+package com.nationsbenefits.igloo.iso8583.adapter.config;
+
+import com.nationsbenefits.igloo.iso8583.adapter.parser.DE48Format;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Configuration properties class for the layout of data element 48 (additional data).
+ * This class maps properties from the application configuration file with the prefix "iso8583.de48".
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "iso8583.de48")
+public class DE48Properties {
+
+    /**
+     * The layout of the subelements.
+     */
+    private DE48Format format = DE48Format.DELIMITED;
+
+    /**
+     * The number of characters preceding the first subelement, e.g. 1 for the transaction category code
+     * that leads the Mastercard DE48.
+     */
+    private int prefixLength;
+}
@@ -0,0 +1,46 @@
+package com.nationsbenefits.igloo.iso8583.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Configuration properties class for the dispatch of ISO8583 messages by MTI.
+ * This class maps properties from the application configuration file with the prefix "iso8583.dispatch".
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "iso8583.dispatch")
+public class DispatchProperties {
+
+    /**
+     * The directory of the advice queue holding the advices until the Auth Engine accepted them.
+     */
+    private String adviceDirectory = "advice";
+
+    /**
+     * Whether every advice is forced to disk before it is acknowledged or the stand-in response is returned.
+     */
+    private boolean adviceSyncOnWrite = true;
+
+    /**
+     * The maximum number of advices waiting to be forwarded to the Auth Engine.
+     * Advices received from the network while the queue is full are not acknowledged, so the acquirer sends them again.
+     */
+    private int adviceQueueCapacity = 10000;
+
+    /**
+     * The maximum number of advices forwarded to the Auth Engine at the same time.
+     */
+    private int adviceBatchSize = 20;
+
+    /**
+     * The delay in milliseconds between two forwarding runs.
+     */
+    private long adviceFlushInterval = 100;
+}
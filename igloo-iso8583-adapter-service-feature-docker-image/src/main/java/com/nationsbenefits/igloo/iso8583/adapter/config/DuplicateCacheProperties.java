@@ -0,0 +1,35 @@
+package com.nationsbenefits.igloo.iso8583.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Configuration properties class for the detection of duplicate transmissions.
+ * This class maps properties from the application configuration file with the prefix "iso8583.duplicates".
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "iso8583.duplicates")
+public class DuplicateCacheProperties {
+
+    /**
+     * Whether retransmitted authorization requests are answered from the response cache.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long in milliseconds a response is kept for retransmissions of its request.
+     */
+    private long window = 120000;
+
+    /**
+     * The maximum number of cached responses.
+     */
+    private long maximumSize = 100000;
+}
@@ -0,0 +1,48 @@
+package com.nationsbenefits.igloo.iso8583.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Configuration properties class for the per-transaction event collector.
+ * This class maps properties from the application configuration file with the prefix "iso8583.events".
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "iso8583.events")
+public class EventCollectorProperties {
+
+    /**
+     * Whether the lifecycle events of a transaction are published together as one record.
+     * When disabled every event is published as soon as it is recorded.
+     */
+    private boolean coalesce = true;
+
+    /**
+     * The time in milliseconds after which the events of a transaction that never completed are published.
+     */
+    private long timeout = 30000;
+
+    /**
+     * The interval in milliseconds between two checks for timed out transactions.
+     */
+    private long sweepInterval = 5000;
+
+    /**
+     * The share of plain approvals, between 0 and 1, published with their full lifecycle. The other plain approvals
+     * are published as one summary event. Declines, fallbacks, failures and slow transactions are always published
+     * with their full lifecycle. Only applies when coalescing.
+     */
+    private double approvalDetailSampleRate = 1.0;
+
+    /**
+     * The processing time in milliseconds from which a transaction is published with its full lifecycle.
+     */
+    private long slowThreshold = 1000;
+}
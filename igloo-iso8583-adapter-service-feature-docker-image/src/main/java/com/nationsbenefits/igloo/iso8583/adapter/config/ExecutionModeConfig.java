@@ -0,0 +1,43 @@
+package com.nationsbenefits.igloo.iso8583.adapter.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Configuration class for the VIRTUAL execution mode of request handling.
+ * Tomcat request processing is moved from its platform thread pool onto virtual threads bounded by the
+ * request in-flight limits, so requests blocked on the Auth Engine no longer pin platform threads and
+ * requests beyond the limits are rejected instead of queued without bound.
+ * The mode is checked when the customizer is created rather than with a bean condition, so it can still be
+ * switched at runtime in an image built with Spring AOT, where bean conditions are evaluated at build time. The
+ * ingress listeners follow the same rule for their enabled switches.
+ */
+@Slf4j
+@Configuration
+public class ExecutionModeConfig {
+
+    /**
+     * Customizes the Tomcat protocol handler to run requests on a bounded virtual thread executor.
+     * The executor is deliberately not exposed as a bean, so it does not replace the application task executor.
+     *
+     * @param executionProperties the request in-flight limits.
+     * @param meterRegistry       the registry the executor metrics are published to.
+     * @return the protocol handler customizer, which leaves the Tomcat thread pool in place in PLATFORM mode.
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutionProperties executionProperties, MeterRegistry meterRegistry) {
+        if (executionProperties.getMode() != ExecutionProperties.ExecutionMode.VIRTUAL) {
+            return protocolHandler -> { };
+        }
+        log.info("Tomcat request handling running on virtual threads");
+        BoundedVirtualThreadExecutor requestExecutor = new BoundedVirtualThreadExecutor("http-request",
+                executionProperties.getRequestMaxInFlight(), executionProperties.getRequestMaxQueued(), meterRegistry);
+        return protocolHandler -> protocolHandler.setExecutor(requestExecutor);
+    }
+}
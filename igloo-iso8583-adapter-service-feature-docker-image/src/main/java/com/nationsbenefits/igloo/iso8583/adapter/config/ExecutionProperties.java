@@ -0,0 +1,44 @@
+package com.nationsbenefits.igloo.iso8583.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Configuration properties class for the execution mode of request handling and the gRPC channel executor.
+ * This class maps properties from the application configuration file with the prefix "iso8583.execution".
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "iso8583.execution")
+public class ExecutionProperties {
+
+    /**
+     * The execution mode. VIRTUAL runs requests on virtual threads bounded by the in-flight limits below and the
+     * gRPC channel callbacks on unbounded virtual threads, PLATFORM keeps the fixed platform thread pools.
+     */
+    private ExecutionMode mode = ExecutionMode.VIRTUAL;
+
+    /**
+     * The maximum number of requests handled at the same time in VIRTUAL mode.
+     */
+    private int requestMaxInFlight = 500;
+
+    /**
+     * The maximum number of requests waiting for an in-flight slot in VIRTUAL mode. Requests beyond this are rejected.
+     */
+    private int requestMaxQueued = 500;
+
+    /**
+     * The supported execution modes.
+     */
+    public enum ExecutionMode {
+        VIRTUAL,
+        PLATFORM
+    }
+}
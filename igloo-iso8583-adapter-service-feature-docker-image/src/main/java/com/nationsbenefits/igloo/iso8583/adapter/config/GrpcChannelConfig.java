@@ -2,11 +2,16 @@ package com.nationsbenefits.igloo.iso8583.adapter.config;
 
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -23,44 +28,63 @@ public class GrpcChannelConfig {
 
     private final GrpcServerProperties grpcServerProperties;
 
+    private final ExecutionProperties executionProperties;
+
+    private final MeterRegistry meterRegistry;
+
     /**
      * Constructor for GrpcChannelConfig.
      * Initializes the GrpcServerProperties.
      *
      * @param grpcServerProperties the properties for the gRPC server.
+     * @param executionProperties  the execution mode of the channel executor.
+     * @param meterRegistry        the registry the channel pool metrics are published to.
      */
-    public GrpcChannelConfig(GrpcServerProperties grpcServerProperties) {
+    public GrpcChannelConfig(GrpcServerProperties grpcServerProperties, ExecutionProperties executionProperties, MeterRegistry meterRegistry) {
         this.grpcServerProperties = grpcServerProperties;
+        this.executionProperties = executionProperties;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
      * Bean creation method for ManagedChannel.
      * This method creates and returns a ManagedChannel for communication with the gRPC server.
+     * When more than one channel is configured, a pool of channels sharing one executor is returned.
      *
      * @return ManagedChannel for gRPC communication.
      */
 
     @Bean
     public ManagedChannel managedChannel() {
-        log.info("Creating Managed Channel");
-        return createManagedChannel(grpcServerProperties.getHost(), Integer.parseInt(grpcServerProperties.getPort()), grpcServerProperties.getInitialThreadPoolCount(),grpcServerProperties.getMaxThreadPoolCount());
+        int channelCount = Math.max(1, grpcServerProperties.getChannelCount());
+        log.info("Creating {} Managed Channel(s) to {}:{} with {} load balancing", channelCount,
+                grpcServerProperties.getHost(), grpcServerProperties.getPort(), grpcServerProperties.getLoadBalancingPolicy());
+        Executor channelExecutor = createChannelExecutor(grpcServerProperties.getInitialThreadPoolCount(), grpcServerProperties.getMaxThreadPoolCount());
+        if (channelCount == 1) {
+            return createManagedChannel(grpcServerProperties.getHost(), Integer.parseInt(grpcServerProperties.getPort()), channelExecutor);
+        }
+        List<ManagedChannel> channels = new ArrayList<>(channelCount);
+        for (int i = 0; i < channelCount; i++) {
+            channels.add(createManagedChannel(grpcServerProperties.getHost(), Integer.parseInt(grpcServerProperties.getPort()), channelExecutor));
+        }
+        return new ManagedChannelPool(channels, grpcServerProperties.getChannelPicking(), meterRegistry);
     }
 
     /**
      * Creates a ManagedChannel with the specified parameters.
-     * This method configures the channel with keep-alive settings and executor service.
+     * This method configures the channel with keep-alive settings and executor service. The address is resolved
+     * through DNS, so a headless service yields one subchannel per Auth Engine pod for the load balancing policy.
      *
      * TODO: The below configuration to be moved to a common module so it can be accessed from all services
      *
      * @param address            the address of the gRPC server.
      * @param port               the port of the gRPC server.
-     * @param initialThreadPoolCount the initial number of threads in pool.
-     * @param maxThreadPoolCount     the maximum number of threads in pool.
+     * @param channelExecutor    the executor running the channel callbacks.
      * @return the configured ManagedChannel.
      */
-    private ManagedChannel createManagedChannel(String address, int port, int initialThreadPoolCount, int maxThreadPoolCount) {
-        ChannelExecutorService channelExecutor = new ChannelExecutorService(initialThreadPoolCount, maxThreadPoolCount);
-        return ManagedChannelBuilder.forAddress(address, port)
+    private ManagedChannel createManagedChannel(String address, int port, Executor channelExecutor) {
+        return ManagedChannelBuilder.forTarget("dns:///" + address + ":" + port)
+                .defaultLoadBalancingPolicy(grpcServerProperties.getLoadBalancingPolicy())
                 .keepAliveTime(grpcServerProperties.getKeepAliveTime(), TimeUnit.SECONDS)// Set keep-alive time to configured value in properties
                 .keepAliveTimeout(grpcServerProperties.getKeepAliveTimeout(), TimeUnit.SECONDS) // Set keep-alive timeout to configured value in properties
                 .keepAliveWithoutCalls(true) // Enable keep-alive without ongoing calls
@@ -69,8 +93,26 @@ public class GrpcChannelConfig {
                  * TODO: Work in Progress for TLS based communication instead of plain text.
                  * Working on acquiring the certificates that will be used for TLS based communication
                  */
-                .executor(channelExecutor.getExecutorService()) // Set the executor service
+                .executor(channelExecutor) // Set the executor service
                 .build();
     }
 
+    /**
+     * Creates the executor of the channel according to the configured execution mode: a virtual thread per task,
+     * or the fixed platform thread pool. The virtual thread executor is unbounded and never rejects, since a
+     * rejected callback would lose the response of a call and leak its concurrency limiter permit; the number of
+     * calls is bounded where they are issued, by the request executors and the Auth Engine concurrency limiter.
+     *
+     * @param initialThreadPoolCount the initial number of threads in pool, used in PLATFORM mode.
+     * @param maxThreadPoolCount     the maximum number of threads in pool, used in PLATFORM mode.
+     * @return the executor running the channel callbacks.
+     */
+    private Executor createChannelExecutor(int initialThreadPoolCount, int maxThreadPoolCount) {
+        if (executionProperties.getMode() == ExecutionProperties.ExecutionMode.VIRTUAL) {
+            log.info("Managed Channel executor running on virtual threads");
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("grpc-channel-", 0).factory());
+        }
+        return new ChannelExecutorService(initialThreadPoolCount, maxThreadPoolCount).getExecutorService();
+    }
+
 }
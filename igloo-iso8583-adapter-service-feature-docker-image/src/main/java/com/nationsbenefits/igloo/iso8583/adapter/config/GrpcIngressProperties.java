@@ -0,0 +1,61 @@
+package com.nationsbenefits.igloo.iso8583.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Configuration properties class for the gRPC ingress server upstream gateways send ISO8583 messages to.
+ * This class maps properties from the application configuration file with the prefix "grpc.server".
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "grpc.server")
+public class GrpcIngressProperties {
+
+    /**
+     * Whether the gRPC ingress server is started.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The port the gRPC ingress server listens on.
+     */
+    private int port = 9090;
+
+    /**
+     * The maximum number of messages of one stream being processed at the same time. Further messages are not
+     * requested from the stream, so the gateway is held back by the HTTP/2 flow control window.
+     */
+    private int maxInFlightPerStream = 1024;
+
+    /**
+     * The maximum number of concurrent streams per gateway connection.
+     */
+    private int maxConcurrentCallsPerConnection = 16;
+
+    /**
+     * The HTTP/2 flow control window in bytes of every stream.
+     */
+    private int flowControlWindow = 1048576;
+
+    /**
+     * The maximum size in bytes of a single request.
+     */
+    private int maxInboundMessageSize = 16384;
+
+    /**
+     * The minimum interval in seconds between keep-alive pings the gateways are allowed to send.
+     */
+    private int permitKeepAliveTime = 5;
+
+    /**
+     * The number of platform threads running the stream callbacks in PLATFORM execution mode.
+     */
+    private int workerThreads = 16;
+}
@@ -48,4 +48,27 @@ public class GrpcServerProperties {
      */
     private int keepAliveTimeout;
 
+
+    /**
+     * The number of channels opened to the Auth Engine. Each channel resolves all Auth Engine pods through DNS.
+     */
+    private int channelCount = 1;
+
+    /**
+     * The load balancing policy spreading the calls of a channel over the resolved pods, e.g. round_robin or pick_first.
+     */
+    private String loadBalancingPolicy = "round_robin";
+
+    /**
+     * How a call picks one of the channels when more than one is opened.
+     */
+    private ChannelPicking channelPicking = ChannelPicking.ROUND_ROBIN;
+
+    /**
+     * The ways of picking a channel of the pool.
+     */
+    public enum ChannelPicking {
+        ROUND_ROBIN,
+        LEAST_OUTSTANDING
+    }
 }
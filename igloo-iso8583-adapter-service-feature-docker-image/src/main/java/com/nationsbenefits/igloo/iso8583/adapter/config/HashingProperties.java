@@ -0,0 +1,39 @@
+package com.nationsbenefits.igloo.iso8583.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Configuration properties class for hashing of card data (PAN and CVV) in the canonical data model.
+ * This class maps properties from the application configuration file with the prefix "iso8583.hashing".
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "iso8583.hashing")
+public class HashingProperties {
+
+    /**
+     * The hash algorithm applied to card data.
+     */
+    private HashAlgorithm algorithm = HashAlgorithm.MD5;
+
+    /**
+     * The secret key of the HMAC_SHA256 algorithm. Required when HMAC_SHA256 is selected.
+     */
+    private String hmacKey;
+
+    /**
+     * The supported hash algorithms. MD5 keeps the hashes compatible with existing consumers, HMAC_SHA256 is keyed,
+     * so a PAN hash cannot be reversed by hashing every possible PAN.
+     */
+    public enum HashAlgorithm {
+        MD5,
+        HMAC_SHA256
+    }
+}
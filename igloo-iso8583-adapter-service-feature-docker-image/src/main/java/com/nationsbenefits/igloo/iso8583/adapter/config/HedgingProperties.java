@@ -0,0 +1,42 @@
+package com.nationsbenefits.igloo.iso8583.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Configuration properties class for hedged Auth Engine calls.
+ * This class maps properties from the application configuration file with the prefix "authengine.hedging".
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "authengine.hedging")
+public class HedgingProperties {
+
+    /**
+     * Whether a second copy of a slow Auth Engine call is sent. The Auth Engine must treat copies carrying the
+     * same transaction id as one authorization.
+     */
+    private boolean enabled;
+
+    /**
+     * The percentile of the recent round trip times after which the second copy is sent.
+     */
+    private double percentile = 95.0;
+
+    /**
+     * The lowest delay in milliseconds before the second copy is sent.
+     */
+    private long minDelay = 5;
+
+    /**
+     * The number of recent round trip times the percentile is computed over. No copy is sent before this many
+     * calls completed.
+     */
+    private int sampleWindow = 1000;
+}
@@ -0,0 +1,33 @@
+package com.nationsbenefits.igloo.iso8583.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Configuration properties class for the transaction logs.
+ * This class maps properties from the application configuration file with the prefix "iso8583.logging".
+ * The appender settings are read by logback-spring.xml.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "iso8583.logging")
+public class LoggingProperties {
+
+    /**
+     * The share of successful transactions, between 0 and 1, whose summary line is logged.
+     * Failures are always logged.
+     */
+    private double successSampleRate = 0.01;
+
+    /**
+     * The number of log events buffered by the async appender. Once 80% of the queue is used, INFO and lower events
+     * are discarded; WARN and ERROR events are never discarded.
+     */
+    private int asyncQueueSize = 8192;
+}
@@ -0,0 +1,184 @@
+package com.nationsbenefits.igloo.iso8583.adapter.config;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ConnectivityState;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * A {@link ManagedChannel} spreading its calls over a fixed set of channels, so the calls to the Auth Engine are
+ * not all multiplexed on the HTTP/2 connections of a single channel. Every call picks one channel, either in turn
+ * or the one with the fewest calls outstanding, and the outstanding calls per channel are published as metrics.
+ */
+public class ManagedChannelPool extends ManagedChannel {
+
+    private final List<ManagedChannel> channels;
+
+    private final AtomicInteger[] outstanding;
+
+    private final GrpcServerProperties.ChannelPicking channelPicking;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Constructor for ManagedChannelPool.
+     *
+     * @param channels       the pooled channels.
+     * @param channelPicking how a call picks a channel.
+     * @param meterRegistry  the registry the outstanding calls per channel are published to.
+     */
+    public ManagedChannelPool(List<ManagedChannel> channels, GrpcServerProperties.ChannelPicking channelPicking, MeterRegistry meterRegistry) {
+        this.channels = List.copyOf(channels);
+        this.channelPicking = channelPicking;
+        this.outstanding = new AtomicInteger[channels.size()];
+        for (int i = 0; i < outstanding.length; i++) {
+            outstanding[i] = new AtomicInteger();
+            Gauge.builder("iso8583.authengine.channel.outstanding", outstanding[i], AtomicInteger::get)
+                    .description("Auth Engine calls outstanding on a pooled channel").tag("channel", String.valueOf(i)).register(meterRegistry);
+        }
+    }
+
+    /**
+     * Returns the pooled channels, for callers that pin long-lived calls to a channel themselves.
+     *
+     * @return the pooled channels.
+     */
+    public List<ManagedChannel> getChannels() {
+        return channels;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(MethodDescriptor<ReqT, RespT> methodDescriptor, CallOptions callOptions) {
+        int index = pick();
+        AtomicInteger channelOutstanding = outstanding[index];
+        AtomicBoolean released = new AtomicBoolean();
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(channels.get(index).newCall(methodDescriptor, callOptions)) {
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                channelOutstanding.incrementAndGet();
+                try {
+                    super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                        @Override
+                        public void onClose(Status status, Metadata trailers) {
+                            if (released.compareAndSet(false, true)) {
+                                channelOutstanding.decrementAndGet();
+                            }
+                            super.onClose(status, trailers);
+                        }
+                    }, headers);
+                } catch (RuntimeException e) {
+                    if (released.compareAndSet(false, true)) {
+                        channelOutstanding.decrementAndGet();
+                    }
+                    throw e;
+                }
+            }
+        };
+    }
+
+    /**
+     * Picks the channel of the next call. Ties between channels with equally few outstanding calls are broken in turn.
+     */
+    int pick() {
+        int start = Math.floorMod(next.getAndIncrement(), channels.size());
+        if (channelPicking == GrpcServerProperties.ChannelPicking.ROUND_ROBIN) {
+            return start;
+        }
+        int picked = start;
+        for (int i = 1; i < channels.size(); i++) {
+            int candidate = (start + i) % channels.size();
+            if (outstanding[candidate].get() < outstanding[picked].get()) {
+                picked = candidate;
+            }
+        }
+        return picked;
+    }
+
+    int getOutstanding(int index) {
+        return outstanding[index].get();
+    }
+
+    @Override
+    public String authority() {
+        return channels.get(0).authority();
+    }
+
+    /**
+     * Returns READY if any pooled channel is ready, otherwise the state of the first channel.
+     */
+    @Override
+    public ConnectivityState getState(boolean requestConnection) {
+        ConnectivityState first = null;
+        for (ManagedChannel channel : channels) {
+            ConnectivityState state = channel.getState(requestConnection);
+            if (state == ConnectivityState.READY) {
+                return state;
+            }
+            first = first == null ? state : first;
+        }
+        return first;
+    }
+
+    /**
+     * Runs the callback once, when the first pooled channel leaves the given state.
+     */
+    @Override
+    public void notifyWhenStateChanged(ConnectivityState source, Runnable callback) {
+        AtomicBoolean notified = new AtomicBoolean();
+        for (ManagedChannel channel : channels) {
+            channel.notifyWhenStateChanged(source, () -> {
+                if (notified.compareAndSet(false, true)) {
+                    callback.run();
+                }
+            });
+        }
+    }
+
+    @Override
+    public ManagedChannel shutdown() {
+        channels.forEach(ManagedChannel::shutdown);
+        return this;
+    }
+
+    @Override
+    public ManagedChannel shutdownNow() {
+        channels.forEach(ManagedChannel::shutdownNow);
+        return this;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return channels.stream().allMatch(ManagedChannel::isShutdown);
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return channels.stream().allMatch(ManagedChannel::isTerminated);
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (ManagedChannel channel : channels) {
+            if (!channel.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,53 @@
+package com.nationsbenefits.igloo.iso8583.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Configuration properties class for the local outbox of the transaction events.
+ * This class maps properties from the application configuration file with the prefix "iso8583.outbox".
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "iso8583.outbox")
+public class OutboxProperties {
+
+    /**
+     * Whether the events are written to the outbox and shipped to Kafka in the background.
+     * When disabled the events are handed to the event publisher on the request thread.
+     */
+    private boolean enabled;
+
+    /**
+     * The directory of the outbox segments and the shipped offset. Must be on a volume kept across pod restarts.
+     */
+    private String directory = "event-outbox";
+
+    /**
+     * The size in bytes of a segment file, at most 2 GiB. A new segment is started when an event does not fit.
+     */
+    private int segmentSize = 64 * 1024 * 1024;
+
+    /**
+     * The maximum number of events read from the outbox and handed to the event publisher per batch.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * The delay in milliseconds between two shipping runs.
+     */
+    private long shipInterval = 20;
+
+    /**
+     * The time in milliseconds after which events accepted by the event publisher are considered delivered and the
+     * shipped offset is persisted. Must exceed the Kafka producer {@code delivery.timeout.ms}, by which the producer
+     * has either delivered an event or given up on it; events accepted more recently are shipped again after a restart.
+     */
+    private long commitDelay = 130000;
+}
@@ -0,0 +1,44 @@
+package com.nationsbenefits.igloo.iso8583.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Configuration properties class for ISO8583 packager definitions.
+ * This class maps properties from the application configuration file with the prefix "iso8583.packager".
+ * Each definition maps a logical name (network or dialect) to the location of its GenericPackager XML.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "iso8583.packager")
+public class PackagerProperties {
+
+    /**
+     * The name of the definition used when no explicit definition is requested.
+     */
+    private String defaultDefinition = "default";
+
+    /**
+     * The packager definitions keyed by name, each pointing to a GenericPackager XML resource.
+     */
+    private Map<String, String> definitions = new LinkedHashMap<>(Map.of("default", "classpath:fields.xml"));
+
+    /**
+     * Whether the definitions are checked for changes and reloaded while the service is running.
+     */
+    private boolean hotReload;
+
+    /**
+     * The interval in milliseconds between two checks for changed definitions.
+     */
+    private long reloadInterval = 10000;
+}
@@ -0,0 +1,57 @@
+package com.nationsbenefits.igloo.iso8583.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Configuration properties class for the ISO8583 TCP socket listener.
+ * This class maps properties from the application configuration file with the prefix "iso8583.listener".
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "iso8583.listener")
+public class SocketListenerProperties {
+
+    /**
+     * Whether the TCP socket listener is started.
+     */
+    private boolean enabled;
+
+    /**
+     * The port the listener accepts acquirer connections on.
+     */
+    private int port = 8583;
+
+    /**
+     * The maximum number of connections accepted at the same time.
+     */
+    private int maxConnections = 64;
+
+    /**
+     * The maximum number of messages of one connection being processed at the same time.
+     * Reading from a connection is paused once this limit is reached.
+     */
+    private int maxInFlightPerConnection = 32;
+
+    /**
+     * The maximum length of a single message, excluding the 2-byte length header.
+     */
+    private int maxFrameLength = 8192;
+
+    /**
+     * The number of platform threads processing the received messages in PLATFORM execution mode.
+     */
+    private int workerThreads = 16;
+
+    /**
+     * The maximum number of received messages waiting for a worker thread in PLATFORM execution mode.
+     * Messages beyond this are dropped.
+     */
+    private int workerQueueCapacity = 1024;
+}
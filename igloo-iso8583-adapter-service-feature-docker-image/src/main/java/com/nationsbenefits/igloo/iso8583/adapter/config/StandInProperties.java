@@ -0,0 +1,67 @@
+package com.nationsbenefits.igloo.iso8583.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Configuration properties class for stand-in processing while the Auth Engine is unavailable.
+ * This class maps properties from the application configuration file with the prefix "iso8583.stip".
+ * Amounts are in the minor unit of the transaction currency, as carried in DE4.
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "iso8583.stip")
+public class StandInProperties {
+
+    /**
+     * Whether transactions are authorized in stand-in when the Auth Engine cannot be reached.
+     * When disabled the fallback answers with AUTH_ERROR.
+     */
+    private boolean enabled;
+
+    /**
+     * The highest amount approved in stand-in for a merchant category code without its own floor limit.
+     */
+    private long defaultFloorLimit;
+
+    /**
+     * The highest amount approved in stand-in per merchant category code (DE18).
+     */
+    private Map<String, Long> mccFloorLimits = new HashMap<>();
+
+    /**
+     * The highest total amount approved in stand-in per card and UTC day.
+     */
+    private long dailyAmountLimit;
+
+    /**
+     * The highest number of transactions approved in stand-in per card and UTC day, at most 4095.
+     */
+    private int dailyCountLimit;
+
+    /**
+     * Hashed card numbers always declined in stand-in.
+     */
+    private Set<String> declinedPanHashes = new HashSet<>();
+
+    /**
+     * Merchant ids (DE32) always declined in stand-in.
+     */
+    private Set<String> declinedMerchants = new HashSet<>();
+
+    /**
+     * Merchant category codes (DE18) always declined in stand-in.
+     */
+    private Set<String> declinedCategoryCodes = new HashSet<>();
+}
@@ -0,0 +1,74 @@
+package com.nationsbenefits.igloo.iso8583.adapter.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Configuration properties class for the warm-up run before the service reports ready.
+ * This class maps properties from the application configuration file with the prefix "iso8583.warmup".
+ */
+@Setter
+@Getter
+@Component
+@ConfigurationProperties(prefix = "iso8583.warmup")
+public class WarmupProperties {
+
+    /**
+     * Whether the warm-up runs at startup.
+     */
+    private boolean enabled = true;
+
+    /**
+     * The synthetic ISO8583 messages replayed through unpack, canonical model creation and pack, as ISO-8859-1 text.
+     */
+    private List<String> messages = new ArrayList<>();
+
+    /**
+     * The number of messages per timed batch.
+     */
+    private int batchSize = 100;
+
+    /**
+     * The number of messages replayed at least.
+     */
+    private int minIterations = 500;
+
+    /**
+     * The number of messages replayed at most, even if the timings have not stabilized.
+     */
+    private int maxIterations = 5000;
+
+    /**
+     * The relative change of the mean time per message between two batches below which a batch counts as stable.
+     */
+    private double stabilityThreshold = 0.1;
+
+    /**
+     * The number of stable batches in a row after which the timings are considered stabilized.
+     */
+    private int stableBatches = 3;
+
+    /**
+     * How long in milliseconds to wait for the Auth Engine channel to connect.
+     */
+    private long channelTimeout = 5000;
+
+    /**
+     * Whether a call is sent to the mock authorization method of the Auth Engine once the channel is connected.
+     */
+    private boolean healthCheck = true;
+
+    /**
+     * Whether the application shuts down once the warm-up is done. Used for the training run of the startup
+     * image, where the JVM writes its class data sharing archive at exit.
+     */
+    private boolean exitAfterWarmup;
+}
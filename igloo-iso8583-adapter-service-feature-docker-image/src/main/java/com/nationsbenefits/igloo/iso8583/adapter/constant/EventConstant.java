@@ -24,6 +24,7 @@ public  interface EventConstant {
     public static final String ISO8583_AUTH_FAILURE_RESPONSE_CREATED = "ISO8583_AUTH_FAILURE_RESPONSE_CREATED";
 
     public static final String ISO8583_AUTH_RESPONSE_SEND = "ISO8583_AUTH_RESPONSE_SEND";
+    public static final String ISO8583_TRANSACTION_COMPLETED = "ISO8583_TRANSACTION_COMPLETED";
 
 }
 
@@ -8,12 +8,19 @@ public  interface ISOAdapterConstant {
 
     public static final String ISO_MESSAGE_FORMAT_8583 = "ISO8583";
     public static final String MESSAGE_TYPE_AUTHORIZATION = "AUTHORIZATION";
+    public static final String MESSAGE_TYPE_STAND_IN_ADVICE = "STAND_IN_ADVICE";
+    public static final String MESSAGE_TYPE_ADVICE = "ADVICE";
+    public static final String MESSAGE_TYPE_REVERSAL_ADVICE = "REVERSAL_ADVICE";
     public static final String CHANNEL_MASTERCARD = "MASTERCARD";
     public static final String MESSAGE_TEMPLATE_ISO8583 =  "/fields.xml";
     public static final String SERVER_PORT_9091 = "localhost:9093";
     public static final String LOCATION_US = "US";
     public static final String MTI_AUTH_REQUEST = "0100";
     public static final String MTI_AUTH_RESPONSE = "0110";
+    public static final String MTI_FINANCIAL_REQUEST = "0200";
+    public static final String MTI_AUTH_ADVICE = "0120";
+    public static final String MTI_REVERSAL_ADVICE = "0420";
+    public static final String MTI_NETWORK_MANAGEMENT_REQUEST = "0800";
     public static final String ISO_8583_SUCCESS = "00";
     public static final String ISO_8583_INVALID_MERCHANT = "03";
     public static final String ISO_8583_INSUFFICIENT_FUND = "51";
@@ -32,6 +39,9 @@ public  interface ISOAdapterConstant {
     public static final String RESPONSE_CODE_SUCCESS = "ALLOW";
 
     public static final String MD5 ="MD5";
+    public static final String DE48_CVV_SUBELEMENT = "24";
+    public static final String AUTH_ENGINE_CIRCUIT_BREAKER = "ISO8583Adapter";
+    public static final String WARMUP_TRANSACTION_ID = "WARMUP";
     /**
      * The constant SWAGGER_TITLE.
      */
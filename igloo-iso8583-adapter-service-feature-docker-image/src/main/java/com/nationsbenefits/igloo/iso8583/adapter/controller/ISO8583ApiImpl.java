@@ -1,14 +1,22 @@
 package com.nationsbenefits.igloo.iso8583.adapter.controller;
 
 import com.nationsbenefits.igloo.iso8583.adapter.api.Iso8583Api;
+import com.nationsbenefits.igloo.iso8583.adapter.service.BulkISOMessageProcessorService;
 import com.nationsbenefits.igloo.iso8583.adapter.service.ISOMessageProcessorService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author PwC
@@ -28,6 +36,9 @@ public class ISO8583ApiImpl implements Iso8583Api {
     @Autowired
     ISOMessageProcessorService isoMessageProcessorService;
 
+    @Autowired
+    BulkISOMessageProcessorService bulkISOMessageProcessorService;
+
     /**
      * Method to consume ISO8583 message in byte array through /message REST end point and perform
      * parsing to make canonical data model to invoke auth engine service through gRPC.
@@ -35,11 +46,61 @@ public class ISO8583ApiImpl implements Iso8583Api {
      */
     @Override
     public ResponseEntity<String> processISOMessage(String msg) {
-        log.info("ISO8583 message : {} received by ISO8583-Adapter Controller ",msg) ;
+        log.debug("ISO8583 message of {} characters received by ISO8583-Adapter Controller", msg.length());
         String responseMessage = isoMessageProcessorService.processISOMessage(msg);
         return ResponseEntity.status(HttpStatus.OK).body(responseMessage);
     }
 
+    /**
+     * Method to consume the raw bytes of an ISO8583 message through the /message REST end point. The body is passed
+     * to the packager as received and the packed response is returned as is, so binary bitmaps and EBCDIC fields
+     * are not altered by a charset conversion.
+     * @param msg
+     */
+    @PostMapping(value = "/iso8583/message", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE, produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> processISOMessageBytes(@RequestBody byte[] msg) {
+        log.debug("ISO8583 message of {} bytes received by ISO8583-Adapter Controller", msg.length);
+        byte[] responseMessage = isoMessageProcessorService.processISOMessage(msg);
+        return ResponseEntity.status(HttpStatus.OK).body(responseMessage);
+    }
+
+    /**
+     * Method to consume ISO8583 message through /message/async REST end point. The request thread is released
+     * while the auth engine call is in flight and the response is completed when the authorization returns.
+     * @param msg
+     */
+    @PostMapping(value = "/iso8583/message/async", consumes = MediaType.TEXT_PLAIN_VALUE, produces = MediaType.TEXT_PLAIN_VALUE)
+    public CompletableFuture<ResponseEntity<String>> processISOMessageAsync(@RequestBody String msg) {
+        log.debug("ISO8583 message of {} characters received by ISO8583-Adapter Controller for async processing", msg.length());
+        return isoMessageProcessorService.processISOMessageAsync(msg)
+                .thenApply(responseMessage -> ResponseEntity.status(HttpStatus.OK).body(responseMessage));
+    }
+
+    /**
+     * Method to consume a stream of ISO8583 messages, each preceded by a 2-byte big-endian length header, through
+     * the /messages/bulk REST end point. The messages are processed concurrently and the responses are streamed
+     * back with the same framing, in request order, while the request is still being read.
+     * @param messages
+     */
+    @PostMapping(value = "/iso8583/messages/bulk", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE, produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> processISOMessagesBulk(InputStream messages) {
+        log.info("Bulk ISO8583 request with length-prefixed messages received by ISO8583-Adapter Controller");
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(out -> bulkISOMessageProcessorService.process(messages, out, BulkISOMessageProcessorService.Framing.LENGTH_PREFIXED));
+    }
+
+    /**
+     * Method to consume a stream of newline-delimited ISO8583 messages through the /messages/bulk REST end point.
+     * The responses are streamed back one per line, in request order.
+     * @param messages
+     */
+    @PostMapping(value = "/iso8583/messages/bulk", consumes = MediaType.TEXT_PLAIN_VALUE, produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<StreamingResponseBody> processISOMessagesBulkText(InputStream messages) {
+        log.info("Bulk ISO8583 request with newline-delimited messages received by ISO8583-Adapter Controller");
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.TEXT_PLAIN)
+                .body(out -> bulkISOMessageProcessorService.process(messages, out, BulkISOMessageProcessorService.Framing.NEWLINE));
+    }
+
 
 
 }
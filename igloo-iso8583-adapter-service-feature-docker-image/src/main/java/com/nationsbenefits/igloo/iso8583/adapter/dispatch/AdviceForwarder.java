@@ -0,0 +1,202 @@
+package com.nationsbenefits.igloo.iso8583.adapter.dispatch;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.nationsbenefits.igloo.authengine.grpc.AdviceRequest;
+import com.nationsbenefits.igloo.authengine.grpc.AdviceResponse;
+import com.nationsbenefits.igloo.authengine.grpc.AuthRequest;
+import com.nationsbenefits.igloo.authengine.grpc.AuthorizationServiceGrpc;
+import com.nationsbenefits.igloo.iso8583.adapter.config.DispatchProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.nationsbenefits.igloo.iso8583.adapter.constant.ISOAdapterConstant.AUTH_ENGINE_CIRCUIT_BREAKER;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Forwards the advices of the {@link AdviceQueue} to the Auth Engine in the background: the advices acknowledged
+ * to the network and the decisions taken in stand-in. An advice is only acknowledged to the network once it is in
+ * the queue, and only leaves the queue once the Auth Engine accepted it, so no acknowledged advice is lost.
+ * Every flush interval, while the Auth Engine circuit breaker is closed, the queue is drained in batches through the
+ * processAdvice rpc: the advices of a batch are sent concurrently and the next batch only starts once all of them
+ * are answered, so an advice flood never has more than one batch in flight and leaves the Auth Engine capacity to
+ * the live authorizations. A failed advice ends the run and is sent again by the next one, together with the
+ * advices behind it in the batch, so the Auth Engine must process an advice sent twice only once.
+ * The calls bypass the authorization circuit breaker and concurrency limiter, which only measure live traffic.
+ */
+@Slf4j
+@Component
+public class AdviceForwarder {
+
+    private final DispatchProperties dispatchProperties;
+
+    private final AdviceQueue adviceQueue;
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    private final AuthorizationServiceGrpc.AuthorizationServiceFutureStub authorizationServiceStub;
+
+    private final Counter forwarded;
+
+    private final Counter failed;
+
+    private final Counter rejected;
+
+    @Value("${authengine.service.deadlineTimeout}")
+    private int deadlineTimeout;
+
+    private ScheduledExecutorService forwardExecutor;
+
+    /**
+     * Constructor for AdviceForwarder.
+     *
+     * @param dispatchProperties     the dispatch configuration holding the queue capacity and batch size.
+     * @param adviceQueue            the durable queue of advices to forward.
+     * @param circuitBreakerRegistry the registry holding the Auth Engine circuit breaker.
+     * @param managedChannel         the channel to the Auth Engine.
+     * @param meterRegistry          the registry the advice metrics are published to.
+     */
+    public AdviceForwarder(DispatchProperties dispatchProperties, AdviceQueue adviceQueue, CircuitBreakerRegistry circuitBreakerRegistry,
+                           ManagedChannel managedChannel, MeterRegistry meterRegistry) {
+        this.dispatchProperties = dispatchProperties;
+        this.adviceQueue = adviceQueue;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.authorizationServiceStub = AuthorizationServiceGrpc.newFutureStub(managedChannel);
+        this.forwarded = Counter.builder("iso8583.advice.forwarded")
+                .description("Advices accepted by the Auth Engine").register(meterRegistry);
+        this.failed = Counter.builder("iso8583.advice.failed")
+                .description("Advices the Auth Engine failed to accept, sent again by the next run").register(meterRegistry);
+        this.rejected = Counter.builder("iso8583.advice.rejected")
+                .description("Advices not acknowledged because the queue was full or could not be written").register(meterRegistry);
+    }
+
+    /**
+     * Schedules the forwarding runs.
+     */
+    @PostConstruct
+    public void init() {
+        forwardExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "AdviceForwarder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        forwardExecutor.scheduleWithFixedDelay(this::forward, dispatchProperties.getAdviceFlushInterval(),
+                dispatchProperties.getAdviceFlushInterval(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (forwardExecutor != null) {
+            forwardExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Writes an advice received from the network to the advice queue.
+     *
+     * @param advice the canonical advice.
+     * @return false if the queue is full or the advice could not be written, and the advice must not be acknowledged.
+     */
+    public boolean offer(AuthRequest advice) {
+        if (adviceQueue.size() >= dispatchProperties.getAdviceQueueCapacity()) {
+            rejected.increment();
+            return false;
+        }
+        try {
+            adviceQueue.append(AdviceRequest.newBuilder().setAuthRequest(advice).build());
+            return true;
+        } catch (UncheckedIOException | IllegalStateException e) {
+            log.error("Advice {} could not be queued : {}", advice.getIsoMessage().getTransaction().getID(), e.getMessage());
+            rejected.increment();
+            return false;
+        }
+    }
+
+    /**
+     * Forwards the queued advices batch by batch if the Auth Engine circuit breaker is closed.
+     *
+     * @return the number of advices accepted by the Auth Engine and removed from the queue.
+     */
+    int forward() {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(AUTH_ENGINE_CIRCUIT_BREAKER);
+        int count = 0;
+        try {
+            while (circuitBreaker.getState() == CircuitBreaker.State.CLOSED) {
+                List<AdviceRequest> batch = adviceQueue.peek(dispatchProperties.getAdviceBatchSize());
+                if (batch.isEmpty()) {
+                    break;
+                }
+                int accepted = forwardBatch(batch);
+                adviceQueue.acknowledge(accepted);
+                count += accepted;
+                if (accepted < batch.size()) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Advice forwarding failed : {}", e.getMessage());
+        }
+        if (count > 0) {
+            log.info("Forwarded {} advices to Auth Engine, {} pending", count, adviceQueue.size());
+        }
+        return count;
+    }
+
+    /**
+     * Sends the advices of a batch concurrently and waits for all answers.
+     *
+     * @return the number of advices at the start of the batch accepted by the Auth Engine, up to the first failure.
+     */
+    private int forwardBatch(List<AdviceRequest> batch) throws InterruptedException {
+        List<ListenableFuture<AdviceResponse>> responses = new ArrayList<>(batch.size());
+        for (AdviceRequest advice : batch) {
+            responses.add(send(advice));
+        }
+        int accepted = 0;
+        boolean failedBefore = false;
+        for (ListenableFuture<AdviceResponse> response : responses) {
+            try {
+                response.get();
+                forwarded.increment();
+                if (!failedBefore) {
+                    accepted++;
+                }
+            } catch (ExecutionException e) {
+                failed.increment();
+                failedBefore = true;
+                Status status = Status.fromThrowable(e.getCause());
+                log.warn("Advice not accepted by Auth Engine : {} : {}", status.getCode(), status.getDescription());
+            }
+        }
+        return accepted;
+    }
+
+    private ListenableFuture<AdviceResponse> send(AdviceRequest advice) {
+        try {
+            return authorizationServiceStub.withDeadlineAfter(deadlineTimeout, TimeUnit.MILLISECONDS).processAdvice(advice);
+        } catch (RuntimeException e) {
+            return Futures.immediateFailedFuture(e);
+        }
+    }
+}
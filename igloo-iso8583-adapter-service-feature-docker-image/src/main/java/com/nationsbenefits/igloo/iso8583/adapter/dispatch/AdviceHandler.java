@@ -0,0 +1,63 @@
+package com.nationsbenefits.igloo.iso8583.adapter.dispatch;
+
+import com.nationsbenefits.igloo.authengine.grpc.AuthRequest;
+import com.nationsbenefits.igloo.authengine.grpc.MessageType;
+import lombok.extern.slf4j.Slf4j;
+import org.jpos.iso.ISOException;
+import org.jpos.iso.ISOMsg;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static com.nationsbenefits.igloo.iso8583.adapter.constant.ISOAdapterConstant.ISO_8583_SUCCESS;
+import static com.nationsbenefits.igloo.iso8583.adapter.constant.ISOAdapterConstant.MESSAGE_TYPE_ADVICE;
+import static com.nationsbenefits.igloo.iso8583.adapter.constant.ISOAdapterConstant.MESSAGE_TYPE_REVERSAL_ADVICE;
+import static com.nationsbenefits.igloo.iso8583.adapter.constant.ISOAdapterConstant.MTI_AUTH_ADVICE;
+import static com.nationsbenefits.igloo.iso8583.adapter.constant.ISOAdapterConstant.MTI_REVERSAL_ADVICE;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Acknowledges authorization advices (0120) and reversal advices (0420) as soon as they are written to the durable
+ * {@link AdviceQueue}, from which the {@link AdviceForwarder} forwards them to the Auth Engine in the background. An
+ * advice which cannot be queued is not acknowledged, so the acquirer sends it again.
+ */
+@Slf4j
+@Component
+public class AdviceHandler implements ISOMessageHandler {
+
+    private static final byte[] NO_RESPONSE = new byte[0];
+
+    private final AdviceForwarder adviceForwarder;
+
+    /**
+     * Constructor for AdviceHandler.
+     *
+     * @param adviceForwarder the forwarder queuing the acknowledged advices.
+     */
+    public AdviceHandler(AdviceForwarder adviceForwarder) {
+        this.adviceForwarder = adviceForwarder;
+    }
+
+    @Override
+    public Set<String> getMtis() {
+        return Set.of(MTI_AUTH_ADVICE, MTI_REVERSAL_ADVICE);
+    }
+
+    @Override
+    public byte[] handle(ISOMsg isoMsg, Supplier<AuthRequest> canonicalRequest) throws ISOException {
+        String messageType = MTI_REVERSAL_ADVICE.equals(isoMsg.getMTI()) ? MESSAGE_TYPE_REVERSAL_ADVICE : MESSAGE_TYPE_ADVICE;
+        AuthRequest canonicalAdvice = canonicalRequest.get();
+        AuthRequest advice = canonicalAdvice.toBuilder().setIsoMessage(canonicalAdvice.getIsoMessage().toBuilder()
+                .setMessageType(MessageType.newBuilder().setMessageType(messageType))).build();
+        if (!adviceForwarder.offer(advice)) {
+            log.warn("Advice not queued, {} not acknowledged", isoMsg.getMTI());
+            return NO_RESPONSE;
+        }
+        isoMsg.setResponseMTI();
+        isoMsg.set(39, ISO_8583_SUCCESS);
+        return isoMsg.pack();
+    }
+}
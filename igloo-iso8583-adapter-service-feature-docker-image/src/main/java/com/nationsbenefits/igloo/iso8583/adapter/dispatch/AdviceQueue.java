@@ -0,0 +1,333 @@
+package com.nationsbenefits.igloo.iso8583.adapter.dispatch;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.nationsbenefits.igloo.authengine.grpc.AdviceRequest;
+import com.nationsbenefits.igloo.iso8583.adapter.config.DispatchProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32C;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Durable FIFO queue of the advices to forward to the Auth Engine: the decisions taken in stand-in and the
+ * authorization and reversal advices acknowledged to the network.
+ * Advices are appended to {@code advice.log} as protobuf records preceded by their length and a CRC32C, and the
+ * position of the oldest advice not yet forwarded is kept in {@code advice.offset}, so the advices survive a restart
+ * and an advice is only dropped once the Auth Engine accepted it. Advices are read in batches by a single consumer,
+ * the {@link AdviceForwarder}. When the queue is opened the log is cut off at the first record that is torn or fails
+ * its checksum. The log is truncated whenever the queue runs empty.
+ * <p>
+ * With sync on write, appends are group committed: an append writes its record under the queue lock and then waits
+ * for a force of the log covering it. One waiting append at a time forces the log, for every record written until
+ * then, so concurrent responses share a single fsync instead of queuing behind one each. Only forced
+ * records are handed out by {@link #peek(int)}.
+ */
+@Slf4j
+@Component
+public class AdviceQueue {
+
+    private static final String LOG_FILE = "advice.log";
+
+    private static final String OFFSET_FILE = "advice.offset";
+
+    static final int RECORD_HEADER_BYTES = Integer.BYTES + Integer.BYTES;
+
+    private final DispatchProperties dispatchProperties;
+
+    private final AtomicLong pending = new AtomicLong();
+
+    private FileChannel logChannel;
+
+    private FileChannel offsetChannel;
+
+    private long readOffset;
+
+    private long writeOffset;
+
+    private long syncedOffset;
+
+    private boolean syncing;
+
+    private final List<Integer> peekedLengths = new ArrayList<>();
+
+    /**
+     * Constructor for AdviceQueue.
+     *
+     * @param dispatchProperties the dispatch configuration holding the queue directory.
+     * @param meterRegistry      the registry the queue depth is published to.
+     */
+    public AdviceQueue(DispatchProperties dispatchProperties, MeterRegistry meterRegistry) {
+        this.dispatchProperties = dispatchProperties;
+        Gauge.builder("iso8583.advice.queued", pending, AtomicLong::get)
+                .description("Advices waiting to be forwarded to the Auth Engine").register(meterRegistry);
+    }
+
+    /**
+     * Opens the queue files and recovers the advices left by the previous run.
+     */
+    @PostConstruct
+    public synchronized void open() {
+        Path directory = Path.of(dispatchProperties.getAdviceDirectory());
+        try {
+            Files.createDirectories(directory);
+            logChannel = FileChannel.open(directory.resolve(LOG_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            offsetChannel = FileChannel.open(directory.resolve(OFFSET_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open advice queue in " + directory.toAbsolutePath(), e);
+        }
+        log.info("Advice queue opened in {} with {} pending advices", directory.toAbsolutePath(), pending.get());
+    }
+
+    /**
+     * Closes the queue files.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        try {
+            if (logChannel != null) {
+                logChannel.close();
+                offsetChannel.close();
+            }
+        } catch (IOException e) {
+            log.error("Error closing advice queue: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Appends an advice to the end of the queue and, with sync on write, returns once it is on disk.
+     *
+     * @param advice the advice carrying the transaction and, for a stand-in decision, the response it was answered with.
+     * @throws UncheckedIOException if the advice cannot be written.
+     * @throws IllegalStateException if the queue is not open.
+     */
+    public void append(AdviceRequest advice) {
+        byte[] bytes = advice.toByteArray();
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + bytes.length)
+                .putInt(bytes.length).putInt((int) crc.getValue()).put(bytes).flip();
+        long end;
+        synchronized (this) {
+            ensureOpen();
+            try {
+                writeFully(logChannel, record, writeOffset);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to write advice", e);
+            }
+            writeOffset += record.capacity();
+            end = writeOffset;
+            pending.incrementAndGet();
+            if (!dispatchProperties.isAdviceSyncOnWrite()) {
+                syncedOffset = writeOffset;
+                return;
+            }
+        }
+        try {
+            awaitSync(end);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to sync advice", e);
+        }
+    }
+
+    /**
+     * Waits until the log is forced up to an offset. If no force is running the caller forces the log itself, for
+     * all the records written so far.
+     */
+    private void awaitSync(long end) throws IOException {
+        while (true) {
+            long target;
+            synchronized (this) {
+                while (syncing && syncedOffset < end) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrupted while waiting for the advice log to be synced", e);
+                    }
+                }
+                if (syncedOffset >= end) {
+                    return;
+                }
+                syncing = true;
+                target = writeOffset;
+            }
+            boolean forced = false;
+            try {
+                logChannel.force(false);
+                forced = true;
+            } finally {
+                synchronized (this) {
+                    syncing = false;
+                    if (forced) {
+                        syncedOffset = Math.max(syncedOffset, target);
+                    }
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the oldest advices without removing them. An unreadable record at the head of the queue is logged
+     * and skipped; one further back ends the batch and is skipped once it reaches the head.
+     *
+     * @param maxAdvices the maximum number of advices returned.
+     * @return the oldest advices in queue order, empty if the queue is empty.
+     */
+    public synchronized List<AdviceRequest> peek(int maxAdvices) {
+        ensureOpen();
+        peekedLengths.clear();
+        List<AdviceRequest> advices = new ArrayList<>(Math.min(maxAdvices, 256));
+        long position = readOffset;
+        try {
+            while (advices.size() < maxAdvices && position < syncedOffset) {
+                ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+                readFully(logChannel, header, position);
+                header.flip();
+                ByteBuffer bytes = ByteBuffer.allocate(header.getInt());
+                readFully(logChannel, bytes, position + RECORD_HEADER_BYTES);
+                try {
+                    CRC32C crc = new CRC32C();
+                    crc.update(bytes.flip());
+                    if ((int) crc.getValue() != header.getInt()) {
+                        throw new InvalidProtocolBufferException("checksum mismatch");
+                    }
+                    advices.add(AdviceRequest.parseFrom(bytes.rewind()));
+                    peekedLengths.add(bytes.capacity());
+                    position += RECORD_HEADER_BYTES + bytes.capacity();
+                } catch (InvalidProtocolBufferException e) {
+                    if (!advices.isEmpty()) {
+                        break;
+                    }
+                    log.error("Skipping unreadable advice at offset {}: {}", position, e.getMessage());
+                    peekedLengths.add(bytes.capacity());
+                    acknowledge(1);
+                    position = readOffset;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read advice", e);
+        }
+        return advices;
+    }
+
+    /**
+     * Removes the first advices returned by the last {@link #peek(int)}.
+     *
+     * @param count the number of advices removed.
+     */
+    public synchronized void acknowledge(int count) {
+        ensureOpen();
+        int acknowledged = Math.min(count, peekedLengths.size());
+        if (acknowledged <= 0) {
+            return;
+        }
+        for (int i = 0; i < acknowledged; i++) {
+            readOffset += RECORD_HEADER_BYTES + peekedLengths.get(i);
+        }
+        peekedLengths.subList(0, acknowledged).clear();
+        pending.addAndGet(-acknowledged);
+        try {
+            if (readOffset >= writeOffset && !syncing) {
+                logChannel.truncate(0);
+                readOffset = 0;
+                writeOffset = 0;
+                syncedOffset = 0;
+            }
+            writeFully(offsetChannel, ByteBuffer.allocate(Long.BYTES).putLong(readOffset).flip(), 0);
+            offsetChannel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to store advice queue offset", e);
+        }
+    }
+
+    public long size() {
+        return pending.get();
+    }
+
+    /**
+     * Restores the read position and counts the intact records after it. The log is cut off at the first record
+     * that is torn or fails its checksum.
+     */
+    private void recover() throws IOException {
+        long logSize = logChannel.size();
+        ByteBuffer offset = ByteBuffer.allocate(Long.BYTES);
+        readOffset = offsetChannel.size() >= Long.BYTES && offsetChannel.read(offset, 0) == Long.BYTES ? offset.flip().getLong() : 0;
+        if (readOffset < 0 || readOffset > logSize) {
+            readOffset = 0;
+        }
+        long position = readOffset;
+        long records = 0;
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_BYTES);
+        while (position + RECORD_HEADER_BYTES <= logSize) {
+            header.clear();
+            readFully(logChannel, header, position);
+            header.flip();
+            int length = header.getInt();
+            if (length < 0 || position + RECORD_HEADER_BYTES + length > logSize) {
+                break;
+            }
+            ByteBuffer bytes = ByteBuffer.allocate(length);
+            readFully(logChannel, bytes, position + RECORD_HEADER_BYTES);
+            CRC32C crc = new CRC32C();
+            crc.update(bytes.flip());
+            if ((int) crc.getValue() != header.getInt()) {
+                break;
+            }
+            position += RECORD_HEADER_BYTES + length;
+            records++;
+        }
+        if (position < logSize) {
+            log.warn("Discarding {} bytes of advices that are partially written or corrupt", logSize - position);
+            logChannel.truncate(position);
+            logChannel.force(false);
+        }
+        writeOffset = position;
+        syncedOffset = position;
+        pending.set(records);
+    }
+
+    private void ensureOpen() {
+        if (logChannel == null || !logChannel.isOpen()) {
+            throw new IllegalStateException("Advice queue is not open");
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long current = position;
+        while (buffer.hasRemaining()) {
+            current += channel.write(buffer, current);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long current = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, current);
+            if (read < 0) {
+                throw new IOException("Unexpected end of advice log at offset " + current);
+            }
+            current += read;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.nationsbenefits.igloo.iso8583.adapter.dispatch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Dispatch table of the ISO8583 message handlers keyed by MTI, built once from all {@link ISOMessageHandler} beans.
+ * MTIs without a handler take the synchronous authorization path if they are authorization or financial
+ * requests, any other MTI is not supported.
+ */
+@Slf4j
+@Component
+public class ISOMessageDispatcher {
+
+    private final Map<String, ISOMessageHandler> handlers = new HashMap<>();
+
+    /**
+     * Constructor for ISOMessageDispatcher.
+     *
+     * @param handlers the message handlers.
+     * @throws IllegalStateException if two handlers claim the same MTI.
+     */
+    public ISOMessageDispatcher(List<ISOMessageHandler> handlers) {
+        for (ISOMessageHandler handler : handlers) {
+            for (String mti : handler.getMtis()) {
+                ISOMessageHandler previous = this.handlers.putIfAbsent(mti, handler);
+                if (previous != null) {
+                    throw new IllegalStateException("MTI " + mti + " is handled by both " + previous.getClass().getSimpleName()
+                            + " and " + handler.getClass().getSimpleName());
+                }
+            }
+        }
+        log.info("ISO8583 message handlers registered for MTIs {}", this.handlers.keySet());
+    }
+
+    /**
+     * Returns the handler of a message type indicator.
+     *
+     * @param mti the message type indicator.
+     * @return the handler, or null if the MTI has none.
+     */
+    public ISOMessageHandler getHandler(String mti) {
+        return handlers.get(mti);
+    }
+}
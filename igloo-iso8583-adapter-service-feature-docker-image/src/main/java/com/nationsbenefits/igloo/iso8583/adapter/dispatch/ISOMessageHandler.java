@@ -0,0 +1,35 @@
+package com.nationsbenefits.igloo.iso8583.adapter.dispatch;
+
+import com.nationsbenefits.igloo.authengine.grpc.AuthRequest;
+import org.jpos.iso.ISOException;
+import org.jpos.iso.ISOMsg;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Handles the ISO8583 message classes answered without the synchronous authorization path.
+ * Every handler bean is registered in the {@link ISOMessageDispatcher} for the MTIs it returns.
+ */
+public interface ISOMessageHandler {
+
+    /**
+     * Returns the message type indicators handled.
+     *
+     * @return the MTIs, e.g. 0800.
+     */
+    Set<String> getMtis();
+
+    /**
+     * Handles an unpacked message and builds its response on it.
+     *
+     * @param isoMsg           the unpacked message, turned into the response.
+     * @param canonicalRequest builds the canonical data model of the message, for handlers passing it on to the Auth Engine.
+     * @return the packed response, or an empty array if the message is not answered.
+     * @throws ISOException if the response cannot be packed.
+     */
+    byte[] handle(ISOMsg isoMsg, Supplier<AuthRequest> canonicalRequest) throws ISOException;
+}
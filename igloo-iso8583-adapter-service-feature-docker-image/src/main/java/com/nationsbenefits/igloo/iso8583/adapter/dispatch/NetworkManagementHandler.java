@@ -0,0 +1,39 @@
+package com.nationsbenefits.igloo.iso8583.adapter.dispatch;
+
+import com.nationsbenefits.igloo.authengine.grpc.AuthRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.jpos.iso.ISOException;
+import org.jpos.iso.ISOMsg;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static com.nationsbenefits.igloo.iso8583.adapter.constant.ISOAdapterConstant.ISO_8583_SUCCESS;
+import static com.nationsbenefits.igloo.iso8583.adapter.constant.ISOAdapterConstant.MTI_NETWORK_MANAGEMENT_REQUEST;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Answers network management requests (echo test, sign-on, sign-off and key exchange) in process.
+ * The request is echoed back as 0810 with the approval response code; the Auth Engine is never called.
+ * The network management information code (DE70) is only echoed if the packager definition declares it.
+ */
+@Slf4j
+@Component
+public class NetworkManagementHandler implements ISOMessageHandler {
+
+    @Override
+    public Set<String> getMtis() {
+        return Set.of(MTI_NETWORK_MANAGEMENT_REQUEST);
+    }
+
+    @Override
+    public byte[] handle(ISOMsg isoMsg, Supplier<AuthRequest> canonicalRequest) throws ISOException {
+        log.debug("Network management request {} answered in process", isoMsg.getString(11));
+        isoMsg.setResponseMTI();
+        isoMsg.set(39, ISO_8583_SUCCESS);
+        return isoMsg.pack();
+    }
+}
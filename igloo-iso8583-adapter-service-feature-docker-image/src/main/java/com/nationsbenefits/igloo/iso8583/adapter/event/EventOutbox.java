@@ -0,0 +1,433 @@
+package com.nationsbenefits.igloo.iso8583.adapter.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nationsbenefits.igloo.domain.event.EventHeader;
+import com.nationsbenefits.igloo.domain.event.EventPayload;
+import com.nationsbenefits.igloo.event.publisher.service.EventPublisherService;
+import com.nationsbenefits.igloo.iso8583.adapter.config.OutboxProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Append-only outbox of the transaction events on local disk, so publishing an event never waits for Kafka.
+ * Events are written as JSON records into memory-mapped segment files named after the offset of their first byte;
+ * a record is a 4-byte length, a CRC32C of the event, the append time and the event. An append only copies the
+ * record into the mapping, which survives a crash of the process; the {@link EventOutboxShipper} drains the records
+ * to the event publisher in the background and persists the offset up to which they are delivered in
+ * {@code outbox.offset}. Segments below that offset are deleted. When the outbox is opened, shipping resumes from
+ * the persisted offset and a record torn by a crash is cut off.
+ * Offsets are byte positions over all segments; the unused end of a segment is skipped when the next one starts.
+ */
+@Slf4j
+@Component
+public class EventOutbox {
+
+    static final int RECORD_HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES;
+
+    private static final String SEGMENT_SUFFIX = ".segment";
+
+    private static final String OFFSET_FILE = "outbox.offset";
+
+    private final OutboxProperties outboxProperties;
+
+    private final EventPublisherService eventPublisherService;
+
+    private final ObjectMapper objectMapper;
+
+    private final NavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+    private final AtomicLong depth = new AtomicLong();
+
+    private FileChannel offsetChannel;
+
+    private Segment writeSegment;
+
+    private volatile long writeOffset;
+
+    private volatile long committedOffset;
+
+    private volatile long shippedOffset;
+
+    private volatile long headTimestamp;
+
+    /**
+     * Constructor for EventOutbox.
+     *
+     * @param outboxProperties      the outbox configuration.
+     * @param eventPublisherService the publisher the events are handed to when the outbox is disabled.
+     * @param objectMapper          the mapper the events are written with.
+     * @param meterRegistry         the registry the outbox metrics are published to.
+     */
+    public EventOutbox(OutboxProperties outboxProperties, EventPublisherService eventPublisherService, ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry) {
+        this.outboxProperties = outboxProperties;
+        this.eventPublisherService = eventPublisherService;
+        this.objectMapper = objectMapper;
+        Gauge.builder("iso8583.outbox.depth", depth, AtomicLong::get)
+                .description("Events in the outbox not yet shipped to Kafka").register(meterRegistry);
+        Gauge.builder("iso8583.outbox.bytes", this, outbox -> outbox.writeOffset - outbox.shippedOffset).baseUnit("bytes")
+                .description("Bytes of the outbox not yet shipped to Kafka").register(meterRegistry);
+        TimeGauge.builder("iso8583.outbox.lag", this, TimeUnit.MILLISECONDS, EventOutbox::getLagMillis)
+                .description("Age of the oldest event not yet shipped to Kafka").register(meterRegistry);
+    }
+
+    /**
+     * Opens the segments left by the previous run and restores the shipped offset. Does nothing if the outbox is
+     * disabled.
+     */
+    @PostConstruct
+    public synchronized void open() {
+        if (!outboxProperties.isEnabled()) {
+            return;
+        }
+        Path directory = Path.of(outboxProperties.getDirectory());
+        try {
+            Files.createDirectories(directory);
+            offsetChannel = FileChannel.open(directory.resolve(OFFSET_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            ByteBuffer offset = ByteBuffer.allocate(Long.BYTES);
+            committedOffset = offsetChannel.read(offset, 0) == Long.BYTES ? offset.flip().getLong() : 0;
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).toList()) {
+                    String name = file.getFileName().toString();
+                    long base = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                    segments.put(base, Segment.map(file, base, outboxProperties.getSegmentSize()));
+                }
+            }
+            deleteSegmentsBelow(committedOffset);
+            if (segments.isEmpty()) {
+                segments.put(committedOffset, openSegment(committedOffset));
+            }
+            committedOffset = Math.max(committedOffset, segments.firstKey());
+            writeSegment = segments.lastEntry().getValue();
+            writeOffset = writeSegment.base + recoverWritePosition(writeSegment);
+            shippedOffset = committedOffset;
+            depth.set(countRecords(committedOffset));
+            headTimestamp = timestampAt(committedOffset);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open event outbox in " + directory.toAbsolutePath(), e);
+        }
+        log.info("Event outbox opened in {} with {} events to ship", directory.toAbsolutePath(), depth.get());
+    }
+
+    /**
+     * Forces the written records to disk and closes the offset file.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        if (offsetChannel == null) {
+            return;
+        }
+        try {
+            writeSegment.buffer.force();
+            offsetChannel.close();
+        } catch (IOException e) {
+            log.error("Error closing event outbox: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Publishes the events of a transaction: appends them to the outbox, or hands them to the event publisher if
+     * the outbox is disabled.
+     *
+     * @param eventHeader   the event header.
+     * @param eventPayloads the events.
+     * @throws IllegalArgumentException if the events cannot be written as JSON or exceed a segment.
+     */
+    public void publish(EventHeader eventHeader, List<EventPayload> eventPayloads) {
+        if (!outboxProperties.isEnabled()) {
+            eventPublisherService.publishEventAsync(eventHeader, eventPayloads);
+            return;
+        }
+        try {
+            append(objectMapper.writeValueAsBytes(new OutboxEvent(eventHeader, eventPayloads)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unable to write events to the outbox", e);
+        }
+    }
+
+    /**
+     * Appends a record, starting a new segment if it does not fit into the current one.
+     */
+    synchronized void append(byte[] event) {
+        if (offsetChannel == null || !offsetChannel.isOpen()) {
+            throw new IllegalStateException("Event outbox is not open");
+        }
+        int size = RECORD_HEADER_BYTES + event.length;
+        if (size > outboxProperties.getSegmentSize()) {
+            throw new IllegalArgumentException("Event of " + event.length + " bytes exceeds the outbox segment size");
+        }
+        int position = (int) (writeOffset - writeSegment.base);
+        if (position + size > writeSegment.buffer.capacity()) {
+            writeSegment = openSegment(writeOffset);
+            segments.put(writeSegment.base, writeSegment);
+            position = 0;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(event);
+        MappedByteBuffer buffer = writeSegment.buffer;
+        buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+        buffer.putLong(position + 2 * Integer.BYTES, System.currentTimeMillis());
+        buffer.put(position + RECORD_HEADER_BYTES, event);
+        // the length is written last, a record without it is not there
+        buffer.putInt(position, event.length);
+        writeOffset = writeSegment.base + position + size;
+        depth.incrementAndGet();
+    }
+
+    /**
+     * Reads up to a number of records from an offset. Records that can no longer be read are logged and skipped.
+     *
+     * @param offset     the offset of the first record.
+     * @param maxRecords the maximum number of records read.
+     * @return the records and the offset after the last one read or skipped.
+     */
+    Batch read(long offset, int maxRecords) {
+        List<OutboxRecord> records = new ArrayList<>(Math.min(maxRecords, 256));
+        long end = writeOffset;
+        long current = offset;
+        int skipped = 0;
+        while (records.size() < maxRecords && current < end) {
+            Map.Entry<Long, Segment> entry = segments.floorEntry(current);
+            if (entry == null) {
+                current = segments.firstKey();
+                continue;
+            }
+            Segment segment = entry.getValue();
+            int position = (int) (current - segment.base);
+            int length = segment.lengthAt(position);
+            if (length <= 0) {
+                Long next = segments.higherKey(segment.base);
+                if (next == null) {
+                    break;
+                }
+                current = next;
+                continue;
+            }
+            byte[] event = new byte[length];
+            segment.buffer.get(position + RECORD_HEADER_BYTES, event);
+            long timestamp = segment.buffer.getLong(position + 2 * Integer.BYTES);
+            int checksum = segment.buffer.getInt(position + Integer.BYTES);
+            current += RECORD_HEADER_BYTES + length;
+            CRC32C crc = new CRC32C();
+            crc.update(event);
+            try {
+                if ((int) crc.getValue() != checksum) {
+                    throw new IOException("checksum mismatch");
+                }
+                records.add(new OutboxRecord(objectMapper.readValue(event, OutboxEvent.class), timestamp, current));
+            } catch (IOException e) {
+                log.error("Skipping unreadable outbox event at offset {}: {}", current - RECORD_HEADER_BYTES - length, e.getMessage());
+                skipped++;
+            }
+        }
+        return new Batch(records, current, skipped);
+    }
+
+    /**
+     * Records that the events up to an offset were handed to the event publisher.
+     *
+     * @param offset the offset after the last shipped record.
+     * @param count  the number of records shipped or skipped since the last call.
+     */
+    void shipped(long offset, int count) {
+        shippedOffset = offset;
+        depth.addAndGet(-count);
+    }
+
+    /**
+     * Sets the append time of the oldest record not yet shipped, from which the shipping lag is measured.
+     *
+     * @param offset the offset of the oldest record not yet shipped.
+     */
+    void updateHead(long offset) {
+        headTimestamp = timestampAt(offset);
+    }
+
+    /**
+     * Persists the offset up to which the events are delivered and deletes the segments below it.
+     *
+     * @param offset the offset after the last delivered record.
+     */
+    synchronized void commit(long offset) {
+        if (offset <= committedOffset) {
+            return;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).putLong(offset).flip();
+            while (buffer.hasRemaining()) {
+                offsetChannel.write(buffer, buffer.position());
+            }
+            offsetChannel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to store event outbox offset", e);
+        }
+        committedOffset = offset;
+        deleteSegmentsBelow(offset);
+    }
+
+    long getCommittedOffset() {
+        return committedOffset;
+    }
+
+    public long getDepth() {
+        return depth.get();
+    }
+
+    private double getLagMillis() {
+        long head = headTimestamp;
+        return head == 0 ? 0 : Math.max(0, System.currentTimeMillis() - head);
+    }
+
+    private long timestampAt(long offset) {
+        Map.Entry<Long, Segment> entry = segments.floorEntry(offset);
+        while (entry != null && offset < writeOffset) {
+            Segment segment = entry.getValue();
+            int position = (int) (offset - segment.base);
+            if (segment.lengthAt(position) > 0) {
+                return segment.buffer.getLong(position + 2 * Integer.BYTES);
+            }
+            entry = segments.higherEntry(segment.base);
+            offset = entry == null ? offset : entry.getKey();
+        }
+        return 0;
+    }
+
+    /**
+     * Counts the complete records from an offset to the end of the outbox.
+     */
+    private long countRecords(long offset) {
+        long records = 0;
+        for (Segment segment : segments.tailMap(segments.floorKey(offset), true).values()) {
+            int position = (int) Math.max(0, offset - segment.base);
+            int length;
+            while ((length = segment.lengthAt(position)) > 0 && segment.base + position < writeOffset) {
+                position += RECORD_HEADER_BYTES + length;
+                records++;
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Finds the end of the last complete record of a segment and clears whatever follows it.
+     */
+    private static int recoverWritePosition(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+        int length;
+        while ((length = segment.lengthAt(position)) > 0) {
+            byte[] event = new byte[length];
+            buffer.get(position + RECORD_HEADER_BYTES, event);
+            CRC32C crc = new CRC32C();
+            crc.update(event);
+            if ((int) crc.getValue() != buffer.getInt(position + Integer.BYTES)) {
+                break;
+            }
+            position += RECORD_HEADER_BYTES + length;
+        }
+        if (position + Integer.BYTES <= buffer.capacity() && buffer.getInt(position) != 0) {
+            log.warn("Discarding a partially written outbox event at offset {}", segment.base + position);
+            for (int i = position; i < buffer.capacity(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+        return position;
+    }
+
+    private Segment openSegment(long base) {
+        Path file = Path.of(outboxProperties.getDirectory()).resolve(String.format("%020d%s", base, SEGMENT_SUFFIX));
+        try {
+            return Segment.map(file, base, outboxProperties.getSegmentSize());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create event outbox segment " + file.toAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Deletes every segment whose records all lie below an offset, never the segment being written.
+     */
+    private void deleteSegmentsBelow(long offset) {
+        Map.Entry<Long, Segment> first;
+        while ((first = segments.firstEntry()) != null && first.getValue() != writeSegment) {
+            Long next = segments.higherKey(first.getKey());
+            if (next == null || next > offset) {
+                return;
+            }
+            segments.remove(first.getKey());
+            try {
+                Files.deleteIfExists(first.getValue().file);
+            } catch (IOException e) {
+                log.error("Unable to delete event outbox segment {}: {}", first.getValue().file, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * The events of a transaction as written to the outbox.
+     */
+    record OutboxEvent(EventHeader header, List<EventPayload> payloads) {
+    }
+
+    /**
+     * An event read from the outbox with its append time and the offset after it.
+     */
+    record OutboxRecord(OutboxEvent event, long timestampMillis, long nextOffset) {
+    }
+
+    /**
+     * The records of one read, the offset after them and the number of unreadable records skipped.
+     */
+    record Batch(List<OutboxRecord> records, long nextOffset, int skipped) {
+    }
+
+    /**
+     * A memory-mapped segment file.
+     */
+    private record Segment(Path file, long base, MappedByteBuffer buffer) {
+
+        private static Segment map(Path file, long base, int size) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return new Segment(file, base, channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, channel.size())));
+            }
+        }
+
+        /**
+         * Returns the length of the record at a position, or 0 if there is none.
+         */
+        private int lengthAt(int position) {
+            if (position + RECORD_HEADER_BYTES > buffer.capacity()) {
+                return 0;
+            }
+            int length = buffer.getInt(position);
+            return length > 0 && position + RECORD_HEADER_BYTES + length <= buffer.capacity() ? length : 0;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.nationsbenefits.igloo.iso8583.adapter.event;
+
+import com.nationsbenefits.igloo.event.publisher.service.EventPublisherService;
+import com.nationsbenefits.igloo.iso8583.adapter.config.OutboxProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Ships the events of the {@link EventOutbox} to Kafka in the background.
+ * Every ship interval the outbox is read from the last shipped offset in batches and the events are handed to the
+ * {@link EventPublisherService}, whose Kafka producer batches and compresses them. A failure ends the run and the
+ * next run retries from the failed event. The publisher does not report when Kafka acknowledged a record, so an
+ * offset is only persisted once the commit delay, set above the producer delivery timeout, has passed since its
+ * events were handed over. After a restart shipping resumes from the persisted offset, so an event handed over
+ * within the delay before a crash is delivered again rather than lost. An event the producer gives up on after its
+ * delivery timeout is not reported by the publisher and is lost.
+ */
+@Slf4j
+@Component
+public class EventOutboxShipper {
+
+    private final OutboxProperties outboxProperties;
+
+    private final EventOutbox eventOutbox;
+
+    private final EventPublisherService eventPublisherService;
+
+    private final Counter shipped;
+
+    private final Counter failed;
+
+    private final Deque<ShippedOffset> uncommitted = new ArrayDeque<>();
+
+    private long offset;
+
+    private ScheduledExecutorService shipExecutor;
+
+    /**
+     * Constructor for EventOutboxShipper.
+     *
+     * @param outboxProperties      the outbox configuration holding the batch size and delays.
+     * @param eventOutbox           the outbox the events are read from.
+     * @param eventPublisherService the service publishing the events to Kafka.
+     * @param meterRegistry         the registry the shipping metrics are published to.
+     */
+    public EventOutboxShipper(OutboxProperties outboxProperties, EventOutbox eventOutbox, EventPublisherService eventPublisherService,
+                              MeterRegistry meterRegistry) {
+        this.outboxProperties = outboxProperties;
+        this.eventOutbox = eventOutbox;
+        this.eventPublisherService = eventPublisherService;
+        this.offset = eventOutbox.getCommittedOffset();
+        this.shipped = Counter.builder("iso8583.outbox.shipped")
+                .description("Events handed from the outbox to the event publisher").register(meterRegistry);
+        this.failed = Counter.builder("iso8583.outbox.failed")
+                .description("Shipping runs ended by an event publisher failure").register(meterRegistry);
+    }
+
+    /**
+     * Schedules the shipping runs if the outbox is enabled.
+     */
+    @PostConstruct
+    public void init() {
+        if (!outboxProperties.isEnabled()) {
+            return;
+        }
+        shipExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "EventOutboxShipper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        shipExecutor.scheduleWithFixedDelay(this::ship, outboxProperties.getShipInterval(),
+                outboxProperties.getShipInterval(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (shipExecutor != null) {
+            shipExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Hands the events written since the last run to the event publisher and persists the offset of the events
+     * handed over more than the commit delay ago.
+     *
+     * @return the number of events handed to the event publisher.
+     */
+    int ship() {
+        int count = 0;
+        try {
+            EventOutbox.Batch batch;
+            do {
+                batch = eventOutbox.read(offset, outboxProperties.getBatchSize());
+                if (!batch.records().isEmpty()) {
+                    eventOutbox.updateHead(offset);
+                }
+                for (EventOutbox.OutboxRecord outboxRecord : batch.records()) {
+                    EventOutbox.OutboxEvent event = outboxRecord.event();
+                    eventPublisherService.publishEventAsync(event.header(), event.payloads());
+                    offset = outboxRecord.nextOffset();
+                    eventOutbox.shipped(offset, 1);
+                    shipped.increment();
+                    count++;
+                }
+                if (batch.nextOffset() != offset) {
+                    offset = batch.nextOffset();
+                    eventOutbox.shipped(offset, batch.skipped());
+                }
+            } while (batch.records().size() + batch.skipped() == outboxProperties.getBatchSize());
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.error("Event shipping failed at outbox offset {} : {}", offset, e.getMessage());
+        }
+        eventOutbox.updateHead(offset);
+        if (uncommitted.isEmpty() || uncommitted.peekLast().offset() != offset) {
+            uncommitted.addLast(new ShippedOffset(offset, System.nanoTime()));
+        }
+        commit();
+        return count;
+    }
+
+    /**
+     * Persists the latest offset handed over at least the commit delay ago.
+     */
+    private void commit() {
+        long deadline = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(outboxProperties.getCommitDelay());
+        ShippedOffset delivered = null;
+        while (!uncommitted.isEmpty() && uncommitted.peekFirst().shippedNanos() - deadline <= 0) {
+            delivered = uncommitted.pollFirst();
+        }
+        if (delivered != null) {
+            try {
+                eventOutbox.commit(delivered.offset());
+            } catch (RuntimeException e) {
+                log.error("Unable to persist event outbox offset {} : {}", delivered.offset(), e.getMessage());
+            }
+        }
+    }
+
+    private record ShippedOffset(long offset, long shippedNanos) {
+    }
+}
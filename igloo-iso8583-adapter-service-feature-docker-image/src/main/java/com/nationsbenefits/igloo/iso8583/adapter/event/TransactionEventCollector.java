@@ -0,0 +1,227 @@
+package com.nationsbenefits.igloo.iso8583.adapter.event;
+
+import com.nationsbenefits.igloo.domain.event.EventHeader;
+import com.nationsbenefits.igloo.domain.event.EventPayload;
+import com.nationsbenefits.igloo.iso8583.adapter.config.EventCollectorProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.constant.EventConstant;
+import com.nationsbenefits.igloo.iso8583.adapter.metrics.AuthorizationMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.nationsbenefits.igloo.iso8583.adapter.util.EventPublisherUtil.buildEventPayload;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Collects the lifecycle events of a transaction and publishes them as one record.
+ * Events are recorded under the transaction id in the order they happen and handed to the
+ * {@link EventOutbox} in a single call when the transaction completes, so an authorization produces
+ * one Kafka record instead of one per lifecycle step. Transactions that are never completed are published by a
+ * sweeper once they time out.
+ * When a transaction completes with its {@link TransactionOutcome}, the event policy decides what is published:
+ * declines, fallbacks, failures and slow transactions keep their full lifecycle, plain approvals are replaced by
+ * one {@link EventConstant#ISO8583_TRANSACTION_COMPLETED} summary event unless they are sampled for full detail.
+ * The policy only looks at the event names, so the deferred payloads of a summarized transaction are dropped without
+ * ever being encoded.
+ */
+@Slf4j
+@Component
+public class TransactionEventCollector {
+
+    private static final Set<String> FAILURE_EVENTS = Set.of(EventConstant.ISO8583_MESSAGE_VALIDATION_FAILED,
+            EventConstant.CANONICAL_MODEL_CREATION_FAILED, EventConstant.AUTHORIZATION_FAILED,
+            EventConstant.ISO8583_AUTH_FAILURE_RESPONSE_CREATED);
+
+    private final EventOutbox eventOutbox;
+
+    private final EventCollectorProperties eventCollectorProperties;
+
+    private final AuthorizationMetrics authorizationMetrics;
+
+    private final Map<String, TransactionEvents> transactions = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService sweepExecutor;
+
+    /**
+     * Constructor for TransactionEventCollector.
+     *
+     * @param eventOutbox              the outbox publishing the collected events.
+     * @param eventCollectorProperties the collector configuration.
+     * @param authorizationMetrics     the metrics the publish duration is recorded in.
+     */
+    public TransactionEventCollector(EventOutbox eventOutbox, EventCollectorProperties eventCollectorProperties,
+                                     AuthorizationMetrics authorizationMetrics) {
+        this.eventOutbox = eventOutbox;
+        this.eventCollectorProperties = eventCollectorProperties;
+        this.authorizationMetrics = authorizationMetrics;
+    }
+
+    /**
+     * Schedules the sweeper publishing the events of timed out transactions.
+     */
+    @PostConstruct
+    public void init() {
+        if (eventCollectorProperties.isCoalesce()) {
+            sweepExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "TransactionEventCollector-Sweeper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            sweepExecutor.scheduleWithFixedDelay(this::publishTimedOut, eventCollectorProperties.getSweepInterval(),
+                    eventCollectorProperties.getSweepInterval(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the sweeper and publishes the events of all transactions still being collected.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (sweepExecutor != null) {
+            sweepExecutor.shutdownNow();
+        }
+        transactions.keySet().forEach(this::complete);
+    }
+
+    /**
+     * Records events of a transaction. The header carrying the most transaction details is kept, so a header built
+     * before the canonical data model existed is replaced by the complete one built later.
+     *
+     * @param transactionId the transaction id the events belong to.
+     * @param eventHeader   the event header known at this step, may be null.
+     * @param eventPayloads the events in the order they happened.
+     */
+    public void record(String transactionId, EventHeader eventHeader, List<EventPayload> eventPayloads) {
+        if (!eventCollectorProperties.isCoalesce()) {
+            long publishStart = System.nanoTime();
+            eventOutbox.publish(eventHeader, eventPayloads);
+            authorizationMetrics.recordStage(AuthorizationMetrics.Stage.EVENT_PUBLISH, publishStart);
+            return;
+        }
+        transactions.compute(transactionId, (id, events) -> {
+            TransactionEvents transactionEvents = events == null ? new TransactionEvents() : events;
+            transactionEvents.add(eventHeader, eventPayloads);
+            return transactionEvents;
+        });
+    }
+
+    /**
+     * Publishes the collected events of a transaction as one record. Does nothing if no event was recorded.
+     *
+     * @param transactionId the transaction id.
+     */
+    public void complete(String transactionId) {
+        complete(transactionId, null);
+    }
+
+    /**
+     * Publishes the collected events of a transaction as one record, reduced to a summary event if the event policy
+     * does not ask for its full lifecycle. Does nothing if no event was recorded.
+     *
+     * @param transactionId the transaction id.
+     * @param outcome       the result of the transaction, null to publish the full lifecycle.
+     */
+    public void complete(String transactionId, TransactionOutcome outcome) {
+        TransactionEvents transactionEvents = transactions.remove(transactionId);
+        if (transactionEvents == null) {
+            return;
+        }
+        if (outcome != null && !isFullDetail(transactionEvents, outcome)) {
+            transactionEvents.summarize(outcome);
+        }
+        publish(transactionId, transactionEvents);
+    }
+
+    /**
+     * Publishes the events of every transaction collected for longer than the configured timeout.
+     */
+    void publishTimedOut() {
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(eventCollectorProperties.getTimeout());
+        long now = System.nanoTime();
+        for (Map.Entry<String, TransactionEvents> entry : transactions.entrySet()) {
+            if (now - entry.getValue().startNanos >= timeoutNanos && transactions.remove(entry.getKey(), entry.getValue())) {
+                log.warn("Transaction {} did not complete within {} ms, publishing collected events", entry.getKey(),
+                        eventCollectorProperties.getTimeout());
+                publish(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Returns the number of transactions whose events are being collected.
+     *
+     * @return the number of open transactions.
+     */
+    public int getOpenTransactions() {
+        return transactions.size();
+    }
+
+    /**
+     * Evaluates the event policy: everything but a fast plain approval keeps its full lifecycle, as does a sample
+     * of the plain approvals.
+     */
+    private boolean isFullDetail(TransactionEvents transactionEvents, TransactionOutcome outcome) {
+        return !outcome.isApproved() || outcome.fallback() || transactionEvents.failed
+                || outcome.elapsedNanos() >= TimeUnit.MILLISECONDS.toNanos(eventCollectorProperties.getSlowThreshold())
+                || ThreadLocalRandom.current().nextDouble() < eventCollectorProperties.getApprovalDetailSampleRate();
+    }
+
+    private void publish(String transactionId, TransactionEvents transactionEvents) {
+        long publishStart = System.nanoTime();
+        try {
+            eventOutbox.publish(transactionEvents.eventHeader, transactionEvents.eventPayloads);
+            authorizationMetrics.recordStage(AuthorizationMetrics.Stage.EVENT_PUBLISH, publishStart);
+        } catch (RuntimeException e) {
+            log.error("Unable to publish events of transaction {} : {}", transactionId, e.getMessage());
+        }
+    }
+
+    /**
+     * Events of one transaction. Only accessed inside {@code ConcurrentHashMap.compute} or after removal from the map.
+     */
+    private static final class TransactionEvents {
+
+        private final long startNanos = System.nanoTime();
+
+        private final List<EventPayload> eventPayloads = new ArrayList<>();
+
+        private EventHeader eventHeader;
+
+        private boolean failed;
+
+        private void add(EventHeader header, List<EventPayload> payloads) {
+            if (header != null && (eventHeader == null || Objects.nonNull(header.getSourceApplicationName())
+                    || Objects.isNull(eventHeader.getSourceApplicationName()))) {
+                eventHeader = header;
+            }
+            for (EventPayload payload : payloads) {
+                failed |= FAILURE_EVENTS.contains(payload.getEventName());
+            }
+            eventPayloads.addAll(payloads);
+        }
+
+        /**
+         * Replaces the lifecycle events by one summary event.
+         */
+        private void summarize(TransactionOutcome outcome) {
+            String summary = "mti=" + outcome.mti() + ",responseCode=" + outcome.responseCode()
+                    + ",elapsedMicros=" + TimeUnit.NANOSECONDS.toMicros(outcome.elapsedNanos()) + ",events=" + eventPayloads.size();
+            eventPayloads.clear();
+            eventPayloads.add(buildEventPayload(EventConstant.ISO8583_TRANSACTION_COMPLETED, summary));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.nationsbenefits.igloo.iso8583.adapter.event;
+
+import static com.nationsbenefits.igloo.iso8583.adapter.constant.ISOAdapterConstant.ISO_8583_SUCCESS;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * The result of a transaction, from which the event policy of the {@link TransactionEventCollector} decides how
+ * much of its lifecycle is published.
+ *
+ * @param mti          the message type indicator, null if the message could not be unpacked.
+ * @param responseCode the DE39 response code sent, null if no response was sent.
+ * @param fallback     whether the response was decided without the Auth Engine.
+ * @param elapsedNanos the processing time of the transaction.
+ */
+public record TransactionOutcome(String mti, String responseCode, boolean fallback, long elapsedNanos) {
+
+    /**
+     * Returns whether the transaction was answered with an approval.
+     *
+     * @return true if the response code is 00.
+     */
+    public boolean isApproved() {
+        return ISO_8583_SUCCESS.equals(responseCode);
+    }
+}
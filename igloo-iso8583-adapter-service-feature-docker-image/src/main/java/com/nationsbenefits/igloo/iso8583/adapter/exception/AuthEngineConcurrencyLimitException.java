@@ -0,0 +1,21 @@
+package com.nationsbenefits.igloo.iso8583.adapter.exception;
+
+/**
+ *
+ *  @author PwC
+ *  Copyright Â© 2024, NationsBenefits. All Rights reserved
+ *
+ * The AuthEngineConcurrencyLimitException class signals an Auth Engine call that was not sent because the
+ * adaptive concurrency limit was reached. It is handed to the fallback instead of being thrown to the caller.
+ */
+public class AuthEngineConcurrencyLimitException extends RuntimeException {
+
+    /**
+     * Constructs a new AuthEngineConcurrencyLimitException for the limit that was reached.
+     *
+     * @param limit the concurrency limit at the time the call was rejected
+     */
+    public AuthEngineConcurrencyLimitException(int limit) {
+        super("Auth Engine concurrency limit of " + limit + " reached");
+    }
+}
@@ -4,6 +4,9 @@ import com.nationsbenefits.igloo.authengine.grpc.AuthResponseCode;
 import com.nationsbenefits.igloo.authengine.grpc.AuthRequest;
 import com.nationsbenefits.igloo.authengine.grpc.AuthResponse;
 import com.nationsbenefits.igloo.authengine.grpc.AuthResponseStatus;
+import com.nationsbenefits.igloo.iso8583.adapter.stip.StandInAuthorizer;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.grpc.Status;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -18,25 +21,51 @@ import org.springframework.stereotype.Component;
 @Component
 public class ISO8583AdapterFallbackHandler {
 
+    private final StandInAuthorizer standInAuthorizer;
+
+    /**
+     * Constructor for ISO8583AdapterFallbackHandler.
+     *
+     * @param standInAuthorizer the stand-in authorization used while the Auth Engine is unavailable.
+     */
+    public ISO8583AdapterFallbackHandler(StandInAuthorizer standInAuthorizer) {
+        this.standInAuthorizer = standInAuthorizer;
+    }
 
     /**
      * Fallback method for processing the Auth Engine response.
      * This method is invoked when the primary method fails and the Circuit Breaker is open.
+     * The transaction is authorized in stand-in if it is enabled and the Auth Engine could not be reached, otherwise
+     * AUTH_ERROR is returned. A request the Auth Engine rejected, or one refused by the adapter itself, is never
+     * authorized in stand-in.
      *
      * @param authorizationRequest the cAuthorization Request object containing the necessary data for requesting authorization of the transaction.
-     * @return a default AuthResponse instance as a fallback.
+     * @param cause                the failure the fallback is invoked for.
+     * @return the stand-in response, or a default AuthResponse instance as a fallback.
      */
-    public AuthResponse fallbackProcessAuthEngineResponse(AuthRequest authorizationRequest) {
+    public AuthResponse fallbackProcessAuthEngineResponse(AuthRequest authorizationRequest, Throwable cause) {
         log.info("Inside Fallback processor for Auth Engine Response");
-        /**
-         * TODO: Implement stand-in processing for Auth Engine Service response.
-         * This may include returning a predefined default response,
-         * logging additional information, notifying other services,
-         * or performing any other necessary fallback logic.
-         */
+        if (standInAuthorizer.isEnabled() && isAuthEngineUnavailable(cause)) {
+            return standInAuthorizer.authorize(authorizationRequest);
+        }
         return AuthResponse.newBuilder().setStatusCode(AuthResponseCode.AUTH_ERROR.toString())
                 .setIsoMessage(authorizationRequest.getIsoMessage())
                 .setResponseCode(AuthResponseStatus.newBuilder().setAuthResponseCode(AuthResponseCode.AUTH_ERROR).setResponseDescription(AuthResponseCode.AUTH_ERROR.toString()).build()).build();
 
     }
+
+    /**
+     * Whether the failure means the Auth Engine could not answer: the circuit breaker is open, or the call ended
+     * with UNAVAILABLE or DEADLINE_EXCEEDED. The cause chain is searched since the failure reaches the fallback
+     * wrapped by the client delegate.
+     */
+    static boolean isAuthEngineUnavailable(Throwable cause) {
+        for (Throwable throwable = cause; throwable != null; throwable = throwable.getCause()) {
+            if (throwable instanceof CallNotPermittedException) {
+                return true;
+            }
+        }
+        Status.Code code = Status.fromThrowable(cause).getCode();
+        return code == Status.Code.UNAVAILABLE || code == Status.Code.DEADLINE_EXCEEDED;
+    }
 }
@@ -0,0 +1,127 @@
+package com.nationsbenefits.igloo.iso8583.adapter.hash;
+
+import com.nationsbenefits.igloo.iso8583.adapter.config.HashingProperties;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static com.nationsbenefits.igloo.iso8583.adapter.constant.ISOAdapterConstant.MD5;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Hashes card data (PAN and CVV) with the configured algorithm and returns the lower case hex digest.
+ * Digest and MAC instances are expensive to look up, so they are created once and reused from a pool rather than
+ * per thread: requests run on short-lived virtual threads, where a thread local would be created for every message.
+ * The hex encoding uses a lookup table and allocates only the resulting String.
+ */
+@Component
+public class CardDataHasher {
+
+    private static final String HMAC_SHA256 = "HmacSHA256";
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final HashingProperties.HashAlgorithm algorithm;
+
+    private final SecretKeySpec hmacKey;
+
+    private final Queue<HashFunction> hashFunctions = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Constructor for CardDataHasher.
+     *
+     * @param hashingProperties the hashing configuration.
+     * @throws IllegalStateException if the algorithm is not available or the HMAC key is missing.
+     */
+    public CardDataHasher(HashingProperties hashingProperties) {
+        this.algorithm = hashingProperties.getAlgorithm();
+        if (algorithm == HashingProperties.HashAlgorithm.HMAC_SHA256) {
+            if (hashingProperties.getHmacKey() == null || hashingProperties.getHmacKey().isEmpty()) {
+                throw new IllegalStateException("iso8583.hashing.hmacKey is required for the HMAC_SHA256 algorithm");
+            }
+            this.hmacKey = new SecretKeySpec(hashingProperties.getHmacKey().getBytes(StandardCharsets.UTF_8), HMAC_SHA256);
+        } else {
+            this.hmacKey = null;
+        }
+        hashFunctions.add(newHashFunction());
+    }
+
+    /**
+     * Hashes the characters of a value.
+     *
+     * @param value the value to hash, e.g. the PAN.
+     * @return the hex digest, or {@code null} if the value is null or empty.
+     */
+    public String hash(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        return hash(value.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Hashes the bytes of a value.
+     *
+     * @param value the value to hash.
+     * @return the hex digest, or {@code null} if the value is null or empty.
+     */
+    public String hash(byte[] value) {
+        if (value == null || value.length == 0) {
+            return null;
+        }
+        HashFunction hashFunction = hashFunctions.poll();
+        if (hashFunction == null) {
+            hashFunction = newHashFunction();
+        }
+        try {
+            return toHex(hashFunction.hash(value));
+        } finally {
+            hashFunctions.offer(hashFunction);
+        }
+    }
+
+    /**
+     * Encodes bytes as lower case hex.
+     *
+     * @param bytes the bytes to encode.
+     * @return the hex String.
+     */
+    public static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0x0f];
+            hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0x0f];
+        }
+        return new String(hex);
+    }
+
+    private HashFunction newHashFunction() {
+        try {
+            if (algorithm == HashingProperties.HashAlgorithm.HMAC_SHA256) {
+                Mac mac = Mac.getInstance(HMAC_SHA256);
+                mac.init(hmacKey);
+                return mac::doFinal;
+            }
+            MessageDigest messageDigest = MessageDigest.getInstance(MD5);
+            return messageDigest::digest;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Hash algorithm " + algorithm + " is not available", e);
+        }
+    }
+
+    /**
+     * A digest or MAC instance. Completing the hash resets the instance for the next value.
+     */
+    @FunctionalInterface
+    private interface HashFunction {
+        byte[] hash(byte[] value);
+    }
+}
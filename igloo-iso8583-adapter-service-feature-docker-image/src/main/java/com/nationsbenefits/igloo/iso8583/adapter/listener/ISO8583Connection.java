@@ -0,0 +1,170 @@
+package com.nationsbenefits.igloo.iso8583.adapter.listener;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * State of one acquirer connection accepted by the {@link ISO8583SocketListener}.
+ * Every message on the wire is preceded by a 2-byte big-endian length header. Several messages of the same
+ * connection may be in flight at once; each response is queued as soon as it is ready, independent of the
+ * order the requests arrived in, and the acquirer matches it through the echoed STAN (DE11) and RRN (DE37).
+ * All socket I/O happens on the selector thread; worker threads only queue responses.
+ */
+final class ISO8583Connection {
+
+    static final int HEADER_LENGTH = 2;
+
+    private final SocketChannel channel;
+
+    private final SelectionKey selectionKey;
+
+    private final ByteBuffer readBuffer;
+
+    private final Queue<ByteBuffer> writeQueue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final int maxInFlight;
+
+    private final int maxFrameLength;
+
+    private final ISO8583SocketListener listener;
+
+    ISO8583Connection(SocketChannel channel, SelectionKey selectionKey, int maxInFlight, int maxFrameLength, ISO8583SocketListener listener) {
+        this.channel = channel;
+        this.selectionKey = selectionKey;
+        this.maxInFlight = maxInFlight;
+        this.maxFrameLength = maxFrameLength;
+        this.listener = listener;
+        this.readBuffer = ByteBuffer.allocate(HEADER_LENGTH + maxFrameLength);
+    }
+
+    /**
+     * Reads the available bytes and hands the complete frames to the given handler.
+     * Called on the selector thread only.
+     *
+     * @param frameHandler receives this connection and the message bytes of every dispatched frame.
+     * @throws IOException if the connection was closed by the peer or a frame exceeds the maximum length.
+     */
+    void read(BiConsumer<ISO8583Connection, byte[]> frameHandler) throws IOException {
+        if (channel.read(readBuffer) < 0) {
+            throw new EOFException("Connection closed by " + getRemoteAddress());
+        }
+        dispatchFrames(frameHandler);
+    }
+
+    /**
+     * Hands the complete frames in the read buffer to the given handler while the connection is below its in-flight
+     * limit. Frames beyond the limit stay in the buffer until {@link #complete(byte[])} frees a slot.
+     * Called on the selector thread only.
+     *
+     * @param frameHandler receives this connection and the message bytes of every dispatched frame.
+     * @throws IOException if a frame exceeds the maximum length.
+     */
+    void dispatchFrames(BiConsumer<ISO8583Connection, byte[]> frameHandler) throws IOException {
+        if (!selectionKey.isValid()) {
+            return;
+        }
+        readBuffer.flip();
+        while (inFlight.get() < maxInFlight && readBuffer.remaining() >= HEADER_LENGTH) {
+            int frameLength = readBuffer.getShort(readBuffer.position()) & 0xFFFF;
+            if (frameLength == 0 || frameLength > maxFrameLength) {
+                throw new IOException("Invalid ISO8583 frame length " + frameLength + " from " + getRemoteAddress());
+            }
+            if (readBuffer.remaining() < HEADER_LENGTH + frameLength) {
+                break;
+            }
+            readBuffer.position(readBuffer.position() + HEADER_LENGTH);
+            byte[] frame = new byte[frameLength];
+            readBuffer.get(frame);
+            inFlight.incrementAndGet();
+            frameHandler.accept(this, frame);
+        }
+        readBuffer.compact();
+        updateInterestOps();
+    }
+
+    /**
+     * Writes as many queued responses as the socket accepts without blocking.
+     * Called on the selector thread only.
+     *
+     * @throws IOException if writing to the socket fails.
+     */
+    void write() throws IOException {
+        ByteBuffer buffer;
+        while ((buffer = writeQueue.peek()) != null) {
+            channel.write(buffer);
+            if (buffer.hasRemaining()) {
+                break;
+            }
+            writeQueue.poll();
+        }
+        updateInterestOps();
+    }
+
+    /**
+     * Queues the response of one in-flight message. An empty response releases the in-flight slot without
+     * writing anything. Called from worker threads.
+     *
+     * @param response the packed response message.
+     */
+    void complete(byte[] response) {
+        if (response.length > 0 && channel.isOpen()) {
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + response.length);
+            buffer.putShort((short) response.length).put(response).flip();
+            writeQueue.add(buffer);
+        }
+        inFlight.decrementAndGet();
+        listener.requestInterestUpdate(this);
+    }
+
+    /**
+     * Reads only while the connection has room for more in-flight messages, and writes only while
+     * responses are queued. Called on the selector thread only.
+     */
+    void updateInterestOps() {
+        if (!selectionKey.isValid()) {
+            return;
+        }
+        int interestOps = 0;
+        if (inFlight.get() < maxInFlight) {
+            interestOps |= SelectionKey.OP_READ;
+        }
+        if (!writeQueue.isEmpty()) {
+            interestOps |= SelectionKey.OP_WRITE;
+        }
+        selectionKey.interestOps(interestOps);
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    SocketAddress getRemoteAddress() {
+        try {
+            return channel.getRemoteAddress();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    void close() {
+        selectionKey.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // the connection is discarded either way
+        }
+    }
+}
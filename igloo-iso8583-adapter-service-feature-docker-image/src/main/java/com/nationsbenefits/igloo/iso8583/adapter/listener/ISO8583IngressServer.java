@@ -0,0 +1,142 @@
+package com.nationsbenefits.igloo.iso8583.adapter.listener;
+
+import com.nationsbenefits.igloo.iso8583.adapter.config.ExecutionProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.config.GrpcIngressProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.service.ISOMessageProcessorService;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * gRPC server on {@code grpc.server.port} exposing the {@link ISO8583IngressService} to upstream gateways.
+ * A gateway keeps one HTTP/2 connection open and multiplexes its authorizations over a few streams; the server only
+ * limits the streams per connection and the flow control window, the in-flight messages are limited per stream by
+ * the service. Like the socket listener the server bean always exists and only starts when it is enabled, see
+ * {@link com.nationsbenefits.igloo.iso8583.adapter.config.ExecutionModeConfig}.
+ */
+@Slf4j
+@Component
+public class ISO8583IngressServer implements SmartLifecycle {
+
+    private final ISOMessageProcessorService isoMessageProcessorService;
+
+    private final GrpcIngressProperties grpcIngressProperties;
+
+    private final ExecutionProperties executionProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    private Server server;
+
+    private ExecutorService callbackExecutor;
+
+    private volatile boolean running;
+
+    /**
+     * Constructor for ISO8583IngressServer.
+     *
+     * @param isoMessageProcessorService the service processing the received messages.
+     * @param grpcIngressProperties      the server configuration.
+     * @param executionProperties        the execution mode of the callback threads.
+     * @param meterRegistry              the registry the ingress metrics are published to.
+     */
+    public ISO8583IngressServer(ISOMessageProcessorService isoMessageProcessorService, GrpcIngressProperties grpcIngressProperties,
+                                ExecutionProperties executionProperties, MeterRegistry meterRegistry) {
+        this.isoMessageProcessorService = isoMessageProcessorService;
+        this.grpcIngressProperties = grpcIngressProperties;
+        this.executionProperties = executionProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Binds the port and starts serving the ingress service.
+     */
+    @Override
+    public void start() {
+        callbackExecutor = createCallbackExecutor();
+        try {
+            server = NettyServerBuilder.forPort(grpcIngressProperties.getPort())
+                    .addService(new ISO8583IngressService(isoMessageProcessorService, grpcIngressProperties.getMaxInFlightPerStream(), meterRegistry))
+                    .executor(callbackExecutor)
+                    .maxConcurrentCallsPerConnection(grpcIngressProperties.getMaxConcurrentCallsPerConnection())
+                    .flowControlWindow(grpcIngressProperties.getFlowControlWindow())
+                    .maxInboundMessageSize(grpcIngressProperties.getMaxInboundMessageSize())
+                    .permitKeepAliveTime(grpcIngressProperties.getPermitKeepAliveTime(), TimeUnit.SECONDS)
+                    .permitKeepAliveWithoutCalls(true)
+                    .build()
+                    .start();
+        } catch (IOException e) {
+            callbackExecutor.shutdown();
+            throw new UncheckedIOException("Unable to start gRPC ingress server on port " + grpcIngressProperties.getPort(), e);
+        }
+        running = true;
+        log.info("gRPC ingress server started on port {}", getLocalPort());
+    }
+
+    /**
+     * Stops accepting streams and gives the open ones time to complete.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(5, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        callbackExecutor.shutdown();
+        log.info("gRPC ingress server stopped");
+    }
+
+    /**
+     * Creates the executor of the stream callbacks according to the configured execution mode. The number of
+     * callbacks is already bounded by the streams per connection and the in-flight messages per stream.
+     */
+    private ExecutorService createCallbackExecutor() {
+        if (executionProperties.getMode() == ExecutionProperties.ExecutionMode.VIRTUAL) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("grpc-ingress-", 0).factory());
+        }
+        AtomicInteger workerCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(grpcIngressProperties.getWorkerThreads(),
+                r -> new Thread(r, "ISO8583IngressServer-Worker-" + workerCount.incrementAndGet()));
+    }
+
+    /**
+     * Starts the server with the application context only when it is enabled.
+     */
+    @Override
+    public boolean isAutoStartup() {
+        return grpcIngressProperties.isEnabled();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns the port the server is bound to.
+     *
+     * @return the local port, or -1 if the server is not started.
+     */
+    public int getLocalPort() {
+        return server == null ? -1 : server.getPort();
+    }
+}
@@ -0,0 +1,159 @@
+package com.nationsbenefits.igloo.iso8583.adapter.listener;
+
+import com.google.protobuf.ByteString;
+import com.nationsbenefits.igloo.iso8583.adapter.grpc.ISO8583IngressServiceGrpc;
+import com.nationsbenefits.igloo.iso8583.adapter.grpc.ISO8583Request;
+import com.nationsbenefits.igloo.iso8583.adapter.grpc.ISO8583Response;
+import com.nationsbenefits.igloo.iso8583.adapter.service.ISOMessageProcessorService;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Bidirectional streaming ingress for ISO8583 messages from upstream gateways.
+ * Every request is handed to the non-blocking processing of the {@link ISOMessageProcessorService} and its response
+ * is sent with the correlation id of the request as soon as it is ready, independent of the order of the requests.
+ * Requests are pulled from the stream with manual flow control: at most {@code maxInFlightPerStream} messages are
+ * requested ahead, and one more only once a response was handed to the transport. A gateway sending faster than
+ * the service answers, or reading responses slower, fills its HTTP/2 window and is held back without any buffering
+ * beyond the in-flight limit.
+ */
+@Slf4j
+public class ISO8583IngressService extends ISO8583IngressServiceGrpc.ISO8583IngressServiceImplBase {
+
+    private static final byte[] NO_RESPONSE = new byte[0];
+
+    private final ISOMessageProcessorService isoMessageProcessorService;
+
+    private final int maxInFlightPerStream;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Constructor for ISO8583IngressService.
+     *
+     * @param isoMessageProcessorService the service processing the received messages.
+     * @param maxInFlightPerStream       the maximum number of messages of one stream being processed at the same time.
+     * @param meterRegistry              the registry the in-flight gauge is published to.
+     */
+    public ISO8583IngressService(ISOMessageProcessorService isoMessageProcessorService, int maxInFlightPerStream, MeterRegistry meterRegistry) {
+        this.isoMessageProcessorService = isoMessageProcessorService;
+        this.maxInFlightPerStream = Math.max(1, maxInFlightPerStream);
+        Gauge.builder("iso8583.ingress.inflight", inFlight, AtomicInteger::get)
+                .description("Messages of the gRPC ingress currently being processed").register(meterRegistry);
+    }
+
+    @Override
+    public StreamObserver<ISO8583Request> exchange(StreamObserver<ISO8583Response> responseObserver) {
+        ServerCallStreamObserver<ISO8583Response> serverObserver = (ServerCallStreamObserver<ISO8583Response>) responseObserver;
+        ExchangeStream stream = new ExchangeStream(serverObserver);
+        serverObserver.disableAutoRequest();
+        serverObserver.setOnReadyHandler(stream::drain);
+        serverObserver.setOnCancelHandler(stream::cancel);
+        serverObserver.request(maxInFlightPerStream);
+        return stream;
+    }
+
+    /**
+     * State of one exchange stream. gRPC call callbacks are serialized, but responses complete on arbitrary threads,
+     * so everything touching the response observer holds the stream lock.
+     */
+    private final class ExchangeStream implements StreamObserver<ISO8583Request> {
+
+        private final ServerCallStreamObserver<ISO8583Response> responseObserver;
+
+        private final Queue<ISO8583Response> ready = new ArrayDeque<>();
+
+        private int pending;
+
+        private boolean halfClosed;
+
+        private boolean closed;
+
+        private ExchangeStream(ServerCallStreamObserver<ISO8583Response> responseObserver) {
+            this.responseObserver = responseObserver;
+        }
+
+        @Override
+        public void onNext(ISO8583Request request) {
+            synchronized (this) {
+                pending++;
+            }
+            inFlight.incrementAndGet();
+            long correlationId = request.getCorrelationId();
+            process(request.getMessage().toByteArray()).whenComplete((packed, throwable) -> {
+                inFlight.decrementAndGet();
+                complete(ISO8583Response.newBuilder().setCorrelationId(correlationId)
+                        .setMessage(packed == null ? ByteString.EMPTY : ByteString.copyFrom(packed)).build());
+            });
+        }
+
+        private CompletableFuture<byte[]> process(byte[] message) {
+            try {
+                return isoMessageProcessorService.processISOMessageAsync(message)
+                        .exceptionally(throwable -> {
+                            log.error("Exception while processing ISO8583 message from gRPC ingress :{}", throwable.getMessage());
+                            return NO_RESPONSE;
+                        });
+            } catch (RuntimeException e) {
+                log.error("Exception while processing ISO8583 message from gRPC ingress :{}", e.getMessage());
+                return CompletableFuture.completedFuture(NO_RESPONSE);
+            }
+        }
+
+        private synchronized void complete(ISO8583Response response) {
+            pending--;
+            if (!closed) {
+                ready.add(response);
+                drain();
+            }
+        }
+
+        /**
+         * Sends the completed responses while the transport accepts them, requesting one more message for every
+         * response sent, and ends the stream once the gateway has half-closed and everything is answered.
+         */
+        private synchronized void drain() {
+            if (closed) {
+                return;
+            }
+            while (!ready.isEmpty() && responseObserver.isReady()) {
+                responseObserver.onNext(ready.poll());
+                if (!halfClosed) {
+                    responseObserver.request(1);
+                }
+            }
+            if (halfClosed && pending == 0 && ready.isEmpty()) {
+                closed = true;
+                responseObserver.onCompleted();
+            }
+        }
+
+        private synchronized void cancel() {
+            closed = true;
+            ready.clear();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            log.info("gRPC ingress stream closed by the gateway : {}", t.getMessage());
+            cancel();
+        }
+
+        @Override
+        public synchronized void onCompleted() {
+            halfClosed = true;
+            drain();
+        }
+    }
+}
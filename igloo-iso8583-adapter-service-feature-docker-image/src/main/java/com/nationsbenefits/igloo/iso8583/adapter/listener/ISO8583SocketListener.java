@@ -0,0 +1,290 @@
+package com.nationsbenefits.igloo.iso8583.adapter.listener;
+
+import com.nationsbenefits.igloo.iso8583.adapter.config.BoundedVirtualThreadExecutor;
+import com.nationsbenefits.igloo.iso8583.adapter.config.ExecutionProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.config.SocketListenerProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.service.ISOMessageProcessorService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Non-blocking TCP socket listener for ISO8583 messages.
+ * Acquirers keep persistent connections open and send messages framed with a 2-byte length header, with many
+ * messages in flight per connection. A single selector thread does all socket I/O; the received messages are
+ * processed on worker threads through the {@link ISOMessageProcessorService} and every response is written
+ * back as soon as it is ready. A connection that reaches its in-flight limit is no longer read from until one
+ * of its messages completes, so a slow acquirer is held back by TCP flow control instead of exhausting the
+ * worker pool.
+ * The listener bean always exists and only starts when it is enabled, see
+ * {@link com.nationsbenefits.igloo.iso8583.adapter.config.ExecutionModeConfig}.
+ */
+@Slf4j
+@Component
+public class ISO8583SocketListener implements SmartLifecycle {
+
+    private static final byte[] NO_RESPONSE = new byte[0];
+
+    private final ISOMessageProcessorService isoMessageProcessorService;
+
+    private final SocketListenerProperties socketListenerProperties;
+
+    private final ExecutionProperties executionProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Queue<ISO8583Connection> pendingInterestUpdates = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger openConnections = new AtomicInteger();
+
+    private Selector selector;
+
+    private ServerSocketChannel serverChannel;
+
+    private ExecutorService workerExecutor;
+
+    private Thread selectorThread;
+
+    private volatile boolean running;
+
+    /**
+     * Constructor for ISO8583SocketListener.
+     *
+     * @param isoMessageProcessorService the service processing the received messages.
+     * @param socketListenerProperties   the listener configuration.
+     * @param executionProperties        the execution mode of the worker threads.
+     * @param meterRegistry              the registry the worker executor metrics are published to.
+     */
+    public ISO8583SocketListener(ISOMessageProcessorService isoMessageProcessorService, SocketListenerProperties socketListenerProperties,
+                                 ExecutionProperties executionProperties, MeterRegistry meterRegistry) {
+        this.isoMessageProcessorService = isoMessageProcessorService;
+        this.socketListenerProperties = socketListenerProperties;
+        this.executionProperties = executionProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Binds the listener port and starts the selector thread.
+     */
+    @Override
+    public void start() {
+        try {
+            selector = Selector.open();
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.configureBlocking(false);
+            serverChannel.bind(new InetSocketAddress(socketListenerProperties.getPort()));
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to start ISO8583 socket listener on port " + socketListenerProperties.getPort(), e);
+        }
+        workerExecutor = createWorkerExecutor();
+        running = true;
+        selectorThread = new Thread(this::runSelectorLoop, "ISO8583SocketListener-Selector");
+        selectorThread.start();
+        log.info("ISO8583 socket listener started on port {}", getLocalPort());
+    }
+
+    /**
+     * Closes all connections and stops the selector and worker threads.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        selector.wakeup();
+        try {
+            selectorThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof ISO8583Connection connection) {
+                connection.close();
+            }
+        }
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException e) {
+            log.error("Error closing ISO8583 socket listener: {}", e.getMessage());
+        }
+        workerExecutor.shutdown();
+        log.info("ISO8583 socket listener stopped");
+    }
+
+    /**
+     * Creates the worker executor according to the configured execution mode: virtual threads bounded by the
+     * request in-flight limits, or a fixed pool of platform threads with a bounded queue. Both reject a message
+     * once they are full.
+     */
+    private ExecutorService createWorkerExecutor() {
+        if (executionProperties.getMode() == ExecutionProperties.ExecutionMode.VIRTUAL) {
+            return new BoundedVirtualThreadExecutor("socket-listener", executionProperties.getRequestMaxInFlight(),
+                    executionProperties.getRequestMaxQueued(), meterRegistry);
+        }
+        AtomicInteger workerCount = new AtomicInteger();
+        return new ThreadPoolExecutor(socketListenerProperties.getWorkerThreads(), socketListenerProperties.getWorkerThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(socketListenerProperties.getWorkerQueueCapacity()),
+                r -> new Thread(r, "ISO8583SocketListener-Worker-" + workerCount.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Starts the listener with the application context only when it is enabled.
+     */
+    @Override
+    public boolean isAutoStartup() {
+        return socketListenerProperties.isEnabled();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns the port the listener is bound to.
+     *
+     * @return the local port, or -1 if the listener is not bound.
+     */
+    public int getLocalPort() {
+        try {
+            return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+        } catch (IOException | NullPointerException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Asks the selector thread to dispatch the frames the connection held back at its in-flight limit and to
+     * recompute its interest set, e.g. after a response was queued.
+     */
+    void requestInterestUpdate(ISO8583Connection connection) {
+        pendingInterestUpdates.add(connection);
+        selector.wakeup();
+    }
+
+    private void runSelectorLoop() {
+        while (running) {
+            try {
+                selector.select();
+                ISO8583Connection pending;
+                while ((pending = pendingInterestUpdates.poll()) != null) {
+                    resume(pending);
+                }
+                Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+                while (selectedKeys.hasNext()) {
+                    SelectionKey key = selectedKeys.next();
+                    selectedKeys.remove();
+                    handleKey(key);
+                }
+            } catch (IOException e) {
+                log.error("ISO8583 socket listener selector failure: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void handleKey(SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            accept();
+            return;
+        }
+        ISO8583Connection connection = (ISO8583Connection) key.attachment();
+        try {
+            if (key.isReadable()) {
+                connection.read(this::dispatch);
+            }
+            if (key.isValid() && key.isWritable()) {
+                connection.write();
+            }
+        } catch (IOException e) {
+            log.info("Closing ISO8583 connection {} : {}", connection.getRemoteAddress(), e.getMessage());
+            closeConnection(connection);
+        }
+    }
+
+    private void resume(ISO8583Connection connection) {
+        try {
+            connection.dispatchFrames(this::dispatch);
+        } catch (IOException e) {
+            log.info("Closing ISO8583 connection {} : {}", connection.getRemoteAddress(), e.getMessage());
+            closeConnection(connection);
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel = serverChannel.accept();
+            if (channel == null) {
+                return;
+            }
+            if (openConnections.get() >= socketListenerProperties.getMaxConnections()) {
+                log.warn("Rejecting ISO8583 connection from {} : connection limit {} reached",
+                        channel.getRemoteAddress(), socketListenerProperties.getMaxConnections());
+                channel.close();
+                return;
+            }
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            key.attach(new ISO8583Connection(channel, key, socketListenerProperties.getMaxInFlightPerConnection(),
+                    socketListenerProperties.getMaxFrameLength(), this));
+            openConnections.incrementAndGet();
+            log.info("ISO8583 connection accepted from {}", channel.getRemoteAddress());
+        } catch (IOException e) {
+            log.error("Unable to accept ISO8583 connection: {}", e.getMessage());
+        }
+    }
+
+    private void closeConnection(ISO8583Connection connection) {
+        connection.close();
+        openConnections.decrementAndGet();
+    }
+
+    /**
+     * Hands a received frame to a worker thread. When the workers cannot take it, the message is dropped
+     * and the acquirer times it out, as it would for a lost packet.
+     */
+    private void dispatch(ISO8583Connection connection, byte[] frame) {
+        try {
+            workerExecutor.execute(() -> connection.complete(process(frame)));
+        } catch (RejectedExecutionException e) {
+            log.warn("ISO8583 message from {} dropped : worker pool saturated", connection.getRemoteAddress());
+            connection.complete(NO_RESPONSE);
+        }
+    }
+
+    private byte[] process(byte[] frame) {
+        try {
+            byte[] response = isoMessageProcessorService.processISOMessage(frame);
+            return response == null ? NO_RESPONSE : response;
+        } catch (RuntimeException e) {
+            log.error("Exception while processing ISO8583 message from socket listener :{}", e.getMessage());
+            return NO_RESPONSE;
+        }
+    }
+}
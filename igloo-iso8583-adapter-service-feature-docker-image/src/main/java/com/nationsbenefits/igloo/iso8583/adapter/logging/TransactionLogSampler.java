@@ -0,0 +1,39 @@
+package com.nationsbenefits.igloo.iso8583.adapter.logging;
+
+import com.nationsbenefits.igloo.iso8583.adapter.config.LoggingProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Decides once per transaction whether its success-path log is written, at the configured
+ * {@code iso8583.logging.successSampleRate}. The decision draws from the thread-local random and allocates nothing,
+ * so transactions which are not sampled cost no more than the comparison.
+ */
+@Component
+public class TransactionLogSampler {
+
+    private final LoggingProperties loggingProperties;
+
+    /**
+     * Constructor for TransactionLogSampler.
+     *
+     * @param loggingProperties the logging configuration holding the sample rate.
+     */
+    public TransactionLogSampler(LoggingProperties loggingProperties) {
+        this.loggingProperties = loggingProperties;
+    }
+
+    /**
+     * Draws whether the success-path log of a transaction is written.
+     *
+     * @return true if the transaction is sampled.
+     */
+    public boolean sample() {
+        double rate = loggingProperties.getSuccessSampleRate();
+        return rate >= 1 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
@@ -0,0 +1,165 @@
+package com.nationsbenefits.igloo.iso8583.adapter.metrics;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+import static com.nationsbenefits.igloo.iso8583.adapter.constant.ISOAdapterConstant.AUTH_ENGINE_CIRCUIT_BREAKER;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Metrics of the authorization pipeline: a timer with a percentile histogram per processing stage, counters per
+ * MTI, auth engine status code, DE39 response code and fallback cause, and the state of the auth engine circuit
+ * breaker and retry. Meters are created once and cached, so recording on the request path is a map lookup and
+ * an atomic update.
+ */
+@Component
+public class AuthorizationMetrics {
+
+    private static final String UNKNOWN = "none";
+
+    private static final String INVALID = "invalid";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+
+    private final Map<String, Counter> mtiCounters = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> statusCounters = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> responseCodeCounters = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> fallbackCounters = new ConcurrentHashMap<>();
+
+    /**
+     * The stages of the authorization pipeline.
+     */
+    public enum Stage {
+        UNPACK,
+        CANONICAL_MODEL,
+        AUTH_ENGINE_CALL,
+        PACK,
+        EVENT_PUBLISH
+    }
+
+    /**
+     * Constructor for AuthorizationMetrics.
+     *
+     * @param meterRegistry          the registry the metrics are published to.
+     * @param circuitBreakerRegistry the registry holding the auth engine circuit breaker.
+     * @param retry                  the retry of auth engine calls.
+     */
+    public AuthorizationMetrics(MeterRegistry meterRegistry, CircuitBreakerRegistry circuitBreakerRegistry, Retry retry) {
+        this.meterRegistry = meterRegistry;
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, Timer.builder("iso8583.stage.duration")
+                    .description("Duration of a stage of the authorization pipeline")
+                    .tag("stage", stage.name().toLowerCase())
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(10)))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(meterRegistry));
+        }
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(AUTH_ENGINE_CIRCUIT_BREAKER);
+        Gauge.builder("iso8583.circuitbreaker.state", circuitBreaker, cb -> cb.getState().getOrder())
+                .description("State of the auth engine circuit breaker: 0 closed, 1 open, 2 half open, 3 disabled, 4 forced open, 5 metrics only")
+                .tag("name", circuitBreaker.getName())
+                .register(meterRegistry);
+        Gauge.builder("iso8583.circuitbreaker.failure.rate", circuitBreaker, cb -> cb.getMetrics().getFailureRate())
+                .description("Failure rate of the auth engine circuit breaker in percent, -1 until enough calls were recorded")
+                .tag("name", circuitBreaker.getName())
+                .register(meterRegistry);
+        registerRetryCounter(retry, "successful_without_retry", r -> r.getMetrics().getNumberOfSuccessfulCallsWithoutRetryAttempt());
+        registerRetryCounter(retry, "successful_with_retry", r -> r.getMetrics().getNumberOfSuccessfulCallsWithRetryAttempt());
+        registerRetryCounter(retry, "failed_with_retry", r -> r.getMetrics().getNumberOfFailedCallsWithRetryAttempt());
+        registerRetryCounter(retry, "failed_without_retry", r -> r.getMetrics().getNumberOfFailedCallsWithoutRetryAttempt());
+    }
+
+    private void registerRetryCounter(Retry retry, String kind, ToDoubleFunction<Retry> count) {
+        FunctionCounter.builder("iso8583.retry.calls", retry, count)
+                .description("Auth engine calls by retry outcome")
+                .tag("name", retry.getName())
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records the duration of a stage.
+     *
+     * @param stage        the stage.
+     * @param startNanos   the {@link System#nanoTime()} at the start of the stage.
+     */
+    public void recordStage(Stage stage, long startNanos) {
+        stageTimers.get(stage).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts a received message. Anything but four digits is counted as invalid, so malformed input cannot
+     * create new time series.
+     *
+     * @param mti the message type indicator.
+     */
+    public void countMessage(String mti) {
+        increment(mtiCounters, "iso8583.messages", "mti", isValidMti(mti) ? mti : INVALID);
+    }
+
+    private static boolean isValidMti(String mti) {
+        if (mti == null || mti.length() != 4) {
+            return false;
+        }
+        for (int i = 0; i < 4; i++) {
+            if (!Character.isDigit(mti.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts an auth engine response.
+     *
+     * @param statusCode the status code returned by the auth engine.
+     */
+    public void countAuthStatus(String statusCode) {
+        increment(statusCounters, "iso8583.auth.status", "status", statusCode);
+    }
+
+    /**
+     * Counts a response sent to the acquirer.
+     *
+     * @param responseCode the DE39 response code.
+     */
+    public void countResponseCode(String responseCode) {
+        increment(responseCodeCounters, "iso8583.responses", "de39", responseCode);
+    }
+
+    /**
+     * Counts a fallback response built because the auth engine call failed.
+     *
+     * @param cause the failure that triggered the fallback.
+     */
+    public void countFallback(Throwable cause) {
+        increment(fallbackCounters, "iso8583.auth.fallback", "cause", cause == null ? null : cause.getClass().getSimpleName());
+    }
+
+    private void increment(Map<String, Counter> counters, String name, String tag, String value) {
+        String tagValue = value == null || value.isEmpty() ? UNKNOWN : value;
+        counters.computeIfAbsent(tagValue, v -> Counter.builder(name).tag(tag, v).register(meterRegistry)).increment();
+    }
+}
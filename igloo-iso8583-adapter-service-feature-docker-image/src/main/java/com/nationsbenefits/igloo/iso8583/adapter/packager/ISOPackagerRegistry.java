@@ -0,0 +1,224 @@
+package com.nationsbenefits.igloo.iso8583.adapter.packager;
+
+import com.nationsbenefits.igloo.iso8583.adapter.config.PackagerProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jpos.iso.ISOException;
+import org.jpos.iso.ISOPackager;
+import org.jpos.iso.packager.GenericPackager;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Registry of the ISO8583 packagers used by the adapter.
+ * Every configured GenericPackager definition is parsed once at startup and shared by all request threads,
+ * as a packager holds no per-message state. The registry is replaced atomically on reload, so a reader
+ * always sees a complete set of packagers and an in-flight message keeps the packager it started with.
+ */
+@Slf4j
+@Component
+public class ISOPackagerRegistry {
+
+    private final PackagerProperties packagerProperties;
+
+    private final ResourceLoader resourceLoader;
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicReference<Map<String, LoadedPackager>> packagers = new AtomicReference<>(Map.of());
+
+    private ScheduledExecutorService reloadExecutor;
+
+    /**
+     * Constructor for ISOPackagerRegistry.
+     *
+     * @param packagerProperties the configured packager definitions.
+     * @param resourceLoader     the loader used to resolve definition locations.
+     * @param meterRegistry      the registry the parse and load timings are published to.
+     */
+    public ISOPackagerRegistry(PackagerProperties packagerProperties, ResourceLoader resourceLoader, MeterRegistry meterRegistry) {
+        this.packagerProperties = packagerProperties;
+        this.resourceLoader = resourceLoader;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Loads every configured definition and, when enabled, schedules the check for changed definitions.
+     * A definition that cannot be loaded at startup fails the application start.
+     */
+    @PostConstruct
+    public void init() {
+        Map<String, LoadedPackager> loaded = new HashMap<>();
+        for (Map.Entry<String, String> definition : packagerProperties.getDefinitions().entrySet()) {
+            try {
+                loaded.put(definition.getKey(), load(definition.getKey(), definition.getValue()));
+            } catch (ISOException | IOException e) {
+                throw new IllegalStateException("Unable to load ISO8583 packager definition " + definition.getKey(), e);
+            }
+        }
+        packagers.set(Map.copyOf(loaded));
+        if (packagerProperties.isHotReload()) {
+            reloadExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "ISOPackagerRegistry-Reload");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reloadExecutor.scheduleWithFixedDelay(this::reloadChangedDefinitions, packagerProperties.getReloadInterval(),
+                    packagerProperties.getReloadInterval(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the check for changed definitions.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (reloadExecutor != null) {
+            reloadExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the packager of the default definition.
+     *
+     * @return the shared packager of the default definition.
+     */
+    public ISOPackager getPackager() {
+        return getPackager(packagerProperties.getDefaultDefinition());
+    }
+
+    /**
+     * Returns the packager of the given definition.
+     *
+     * @param definitionName the name of the definition (network or dialect).
+     * @return the shared packager of the definition.
+     * @throws IllegalArgumentException if no definition is registered under the given name.
+     */
+    public ISOPackager getPackager(String definitionName) {
+        LoadedPackager loadedPackager = packagers.get().get(definitionName);
+        if (loadedPackager == null) {
+            throw new IllegalArgumentException("Unknown ISO8583 packager definition: " + definitionName);
+        }
+        return loadedPackager.packager;
+    }
+
+    /**
+     * Returns the names of all registered definitions.
+     *
+     * @return the registered definition names.
+     */
+    public Set<String> getDefinitionNames() {
+        return packagers.get().keySet();
+    }
+
+    /**
+     * Reloads the given definition from its configured location and swaps it into the registry.
+     * The previous packager stays in place when the new definition cannot be parsed.
+     *
+     * @param definitionName the name of the definition to reload.
+     * @return {@code true} if the definition was reloaded.
+     */
+    public boolean reload(String definitionName) {
+        String location = packagerProperties.getDefinitions().get(definitionName);
+        if (location == null) {
+            throw new IllegalArgumentException("Unknown ISO8583 packager definition: " + definitionName);
+        }
+        try {
+            LoadedPackager reloaded = load(definitionName, location);
+            packagers.updateAndGet(current -> {
+                Map<String, LoadedPackager> updated = new HashMap<>(current);
+                updated.put(definitionName, reloaded);
+                return Map.copyOf(updated);
+            });
+            log.info("ISO8583 packager definition {} reloaded from {}", definitionName, location);
+            return true;
+        } catch (ISOException | IOException e) {
+            meterRegistry.counter("iso8583.packager.reload.failures", "definition", definitionName).increment();
+            log.error("Unable to reload ISO8583 packager definition {} from {} : {}", definitionName, location, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reloads every definition whose resource was modified since it was loaded.
+     */
+    void reloadChangedDefinitions() {
+        for (LoadedPackager loadedPackager : packagers.get().values()) {
+            long lastModified = lastModified(resourceLoader.getResource(loadedPackager.location));
+            if (lastModified > loadedPackager.lastModified) {
+                reload(loadedPackager.name);
+            }
+        }
+    }
+
+    /**
+     * Parses a GenericPackager definition and records how long the parse took.
+     */
+    private LoadedPackager load(String definitionName, String location) throws ISOException, IOException {
+        Resource resource = resourceLoader.getResource(location);
+        long lastModified = lastModified(resource);
+        long start = System.nanoTime();
+        GenericPackager packager;
+        try (InputStream inputStream = resource.getInputStream()) {
+            packager = new GenericPackager(inputStream);
+        }
+        long elapsed = System.nanoTime() - start;
+        Timer.builder("iso8583.packager.load")
+                .description("Time taken to parse an ISO8583 packager definition")
+                .tag("definition", definitionName)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("ISO8583 packager definition {} loaded from {} in {} ms", definitionName, location,
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return new LoadedPackager(definitionName, location, packager, lastModified);
+    }
+
+    /**
+     * Returns the last modification time of the resource, or 0 if it cannot be determined (e.g. inside a jar).
+     */
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * A parsed definition together with the data needed to detect changes to it.
+     */
+    private static final class LoadedPackager {
+
+        private final String name;
+
+        private final String location;
+
+        private final ISOPackager packager;
+
+        private final long lastModified;
+
+        private LoadedPackager(String name, String location, ISOPackager packager, long lastModified) {
+            this.name = name;
+            this.location = location;
+            this.packager = packager;
+            this.lastModified = lastModified;
+        }
+    }
+}
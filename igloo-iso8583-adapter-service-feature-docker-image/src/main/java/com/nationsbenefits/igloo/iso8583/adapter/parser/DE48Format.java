@@ -0,0 +1,20 @@
+package com.nationsbenefits.igloo.iso8583.adapter.parser;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Layouts of the subelements of data element 48.
+ */
+public enum DE48Format {
+
+    /**
+     * Subelements written as {@code id=value} and separated by {@code |}, e.g. {@code 24=836|25=12345}.
+     */
+    DELIMITED,
+
+    /**
+     * Tag-length-value subelements with a 2-digit tag and a 2-digit length, e.g. {@code 2403836}.
+     */
+    TLV
+}
@@ -0,0 +1,35 @@
+package com.nationsbenefits.igloo.iso8583.adapter.parser;
+
+import com.nationsbenefits.igloo.iso8583.adapter.config.DE48Properties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Parses data element 48 in the configured layout.
+ */
+@Component
+public class DE48Parser {
+
+    private final DE48Properties de48Properties;
+
+    /**
+     * Constructor for DE48Parser.
+     *
+     * @param de48Properties the configured DE48 layout.
+     */
+    public DE48Parser(DE48Properties de48Properties) {
+        this.de48Properties = de48Properties;
+    }
+
+    /**
+     * Parses the subelements of a DE48 value.
+     *
+     * @param dataElement the content of DE48, may be null.
+     * @return the parsed view of the subelements.
+     */
+    public DE48Subelements parse(String dataElement) {
+        return DE48Subelements.parse(dataElement, de48Properties.getFormat(), de48Properties.getPrefixLength());
+    }
+}
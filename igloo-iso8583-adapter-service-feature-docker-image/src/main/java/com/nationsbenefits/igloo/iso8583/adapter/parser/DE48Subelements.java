@@ -0,0 +1,167 @@
+package com.nationsbenefits.igloo.iso8583.adapter.parser;
+
+import java.util.Arrays;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Parsed view of the subelements of data element 48.
+ * The field is scanned once; only the positions of each subelement id and value are kept, so a lookup compares
+ * characters in place and allocates nothing but the returned value.
+ */
+public final class DE48Subelements {
+
+    private static final DE48Subelements EMPTY = new DE48Subelements("", new int[0], 0);
+
+    private static final int ID_START = 0;
+
+    private static final int ID_END = 1;
+
+    private static final int VALUE_START = 2;
+
+    private static final int VALUE_END = 3;
+
+    private static final int ENTRY_SIZE = 4;
+
+    private final String dataElement;
+
+    private final int[] positions;
+
+    private final int size;
+
+    private DE48Subelements(String dataElement, int[] positions, int size) {
+        this.dataElement = dataElement;
+        this.positions = positions;
+        this.size = size;
+    }
+
+    /**
+     * Parses a data element.
+     *
+     * @param dataElement  the content of DE48, may be null.
+     * @param format       the layout of the subelements.
+     * @param prefixLength the number of characters preceding the first subelement.
+     * @return the parsed view; empty if the data element is null or empty. A malformed trailing subelement ends the
+     *         scan, the subelements before it remain available.
+     */
+    public static DE48Subelements parse(String dataElement, DE48Format format, int prefixLength) {
+        if (dataElement == null || dataElement.length() <= prefixLength) {
+            return EMPTY;
+        }
+        Builder builder = new Builder(dataElement);
+        if (format == DE48Format.TLV) {
+            scanTlv(dataElement, prefixLength, builder);
+        } else {
+            scanDelimited(dataElement, prefixLength, builder);
+        }
+        return builder.build();
+    }
+
+    private static void scanDelimited(String dataElement, int start, Builder builder) {
+        int length = dataElement.length();
+        int position = start;
+        while (position < length) {
+            int idEnd = position;
+            while (idEnd < length && dataElement.charAt(idEnd) != '=' && dataElement.charAt(idEnd) != '|') {
+                idEnd++;
+            }
+            if (idEnd == length || dataElement.charAt(idEnd) == '|') {
+                position = idEnd + 1;
+                continue;
+            }
+            int valueEnd = idEnd + 1;
+            while (valueEnd < length && dataElement.charAt(valueEnd) != '|') {
+                valueEnd++;
+            }
+            builder.add(position, idEnd, idEnd + 1, valueEnd);
+            position = valueEnd + 1;
+        }
+    }
+
+    private static void scanTlv(String dataElement, int start, Builder builder) {
+        int length = dataElement.length();
+        int position = start;
+        while (position + 4 <= length) {
+            int valueLength = digit(dataElement.charAt(position + 2)) * 10 + digit(dataElement.charAt(position + 3));
+            if (valueLength < 0 || position + 4 + valueLength > length) {
+                return;
+            }
+            builder.add(position, position + 2, position + 4, position + 4 + valueLength);
+            position += 4 + valueLength;
+        }
+    }
+
+    private static int digit(char c) {
+        return c >= '0' && c <= '9' ? c - '0' : -100;
+    }
+
+    /**
+     * Returns the value of a subelement.
+     *
+     * @param id the subelement id, e.g. "24".
+     * @return the value of the first subelement with this id, or {@code null} if the field has no such subelement.
+     */
+    public String get(String id) {
+        int index = indexOf(id);
+        return index < 0 ? null : dataElement.substring(positions[index + VALUE_START], positions[index + VALUE_END]);
+    }
+
+    /**
+     * Returns whether the field contains a subelement.
+     *
+     * @param id the subelement id.
+     * @return true if a subelement with this id is present.
+     */
+    public boolean contains(String id) {
+        return indexOf(id) >= 0;
+    }
+
+    /**
+     * Returns the number of subelements.
+     *
+     * @return the number of parsed subelements.
+     */
+    public int size() {
+        return size;
+    }
+
+    private int indexOf(String id) {
+        for (int i = 0; i < size * ENTRY_SIZE; i += ENTRY_SIZE) {
+            int idLength = positions[i + ID_END] - positions[i + ID_START];
+            if (idLength == id.length() && dataElement.regionMatches(positions[i + ID_START], id, 0, idLength)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class Builder {
+
+        private final String dataElement;
+
+        private int[] positions = new int[4 * ENTRY_SIZE];
+
+        private int size;
+
+        private Builder(String dataElement) {
+            this.dataElement = dataElement;
+        }
+
+        private void add(int idStart, int idEnd, int valueStart, int valueEnd) {
+            int offset = size * ENTRY_SIZE;
+            if (offset == positions.length) {
+                positions = Arrays.copyOf(positions, positions.length * 2);
+            }
+            positions[offset + ID_START] = idStart;
+            positions[offset + ID_END] = idEnd;
+            positions[offset + VALUE_START] = valueStart;
+            positions[offset + VALUE_END] = valueEnd;
+            size++;
+        }
+
+        private DE48Subelements build() {
+            return size == 0 ? EMPTY : new DE48Subelements(dataElement, positions, size);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.nationsbenefits.igloo.iso8583.adapter.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * @author PwC
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * This is the interface to process a stream of ISO8583 messages, e.g. replayed traffic or reconciliation batches
+ */
+public interface BulkISOMessageProcessorService {
+
+    /**
+     * Reads the messages from the input, processes them concurrently through {@link ISOMessageProcessorService}
+     * and writes one response per message to the output, in the order the messages were read. A message that
+     * could not be processed is answered with an empty response.
+     * @param in the framed ISO8583 messages
+     * @param out receives the framed responses
+     * @param framing how messages and responses are delimited
+     * @return the number of messages processed
+     * @throws IOException if the input is malformed or a stream fails
+     */
+    long process(InputStream in, OutputStream out, Framing framing) throws IOException;
+
+    /**
+     * The supported message delimiters.
+     */
+    enum Framing {
+        /**
+         * Every message is preceded by a 2-byte big-endian length header, as on the TCP socket listener.
+         */
+        LENGTH_PREFIXED,
+        /**
+         * Every message is an ISO-8859-1 line terminated by LF or CRLF. Only for messages without binary fields.
+         */
+        NEWLINE
+    }
+}
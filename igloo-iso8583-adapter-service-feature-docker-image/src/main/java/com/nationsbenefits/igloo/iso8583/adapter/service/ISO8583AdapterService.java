@@ -3,6 +3,8 @@ package com.nationsbenefits.igloo.iso8583.adapter.service;
 import com.nationsbenefits.igloo.authengine.grpc.AuthResponse;
 import com.nationsbenefits.igloo.authengine.grpc.AuthRequest;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * @author PwC
  * Copyright Â© 2024, NationsBenefits. All Rights reserved
@@ -17,4 +19,11 @@ public interface ISO8583AdapterService {
      */
     AuthResponse performAuthorization(AuthRequest authorizationRequest);
 
+    /**
+     * This method will perform the Authorization on provided AuthRequest without blocking the calling thread
+     * @param authorizationRequest
+     * @return future completed with the AuthResponse
+     */
+    CompletableFuture<AuthResponse> performAuthorizationAsync(AuthRequest authorizationRequest);
+
 }
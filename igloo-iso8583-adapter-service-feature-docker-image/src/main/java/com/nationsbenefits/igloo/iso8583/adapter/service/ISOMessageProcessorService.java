@@ -1,5 +1,7 @@
 package com.nationsbenefits.igloo.iso8583.adapter.service;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * @author PwC
  * Copyright Â© 2024, NationsBenefits. All Rights reserved
@@ -9,5 +11,39 @@ public interface ISOMessageProcessorService {
 
     String  processISOMessage(String isoMsg);
 
+    /**
+     * Processes the raw bytes of an ISO8583 message. The bytes are handed to the packager as received and the
+     * packed response is returned as produced, so binary bitmaps and EBCDIC fields pass through unchanged.
+     * @param isoMsg
+     * @return the packed ISO8583 response, or an empty array if the message could not be processed
+     */
+    byte[] processISOMessage(byte[] isoMsg);
+
+    /**
+     * Processes the message like {@link #processISOMessage(String)} without blocking the calling thread
+     * while the authorization is in flight.
+     * @param isoMsg
+     * @return future completed with the packed ISO8583 response
+     */
+    CompletableFuture<String> processISOMessageAsync(String isoMsg);
+
+    /**
+     * Processes the raw bytes like {@link #processISOMessage(byte[])} without blocking the calling thread
+     * while the authorization is in flight.
+     * @param isoMsg
+     * @return future completed with the packed ISO8583 response
+     */
+    CompletableFuture<byte[]> processISOMessageAsync(byte[] isoMsg);
+
+    /**
+     * Runs the raw bytes through unpack, canonical model creation and pack like {@link #processISOMessage(byte[])},
+     * answering with an approval instead of calling the auth engine and without publishing events or recording
+     * metrics. Used to warm the service up before it takes traffic.
+     * @param isoMsg
+     * @return the packed ISO8583 response
+     * @throws IllegalArgumentException if the message cannot be unpacked or packed
+     */
+    byte[] warmUp(byte[] isoMsg);
+
 
 }
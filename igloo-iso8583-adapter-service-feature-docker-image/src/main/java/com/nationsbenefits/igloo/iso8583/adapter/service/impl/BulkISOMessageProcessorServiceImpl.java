@@ -0,0 +1,172 @@
+package com.nationsbenefits.igloo.iso8583.adapter.service.impl;
+
+import com.nationsbenefits.igloo.iso8583.adapter.config.BulkProcessingProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.service.BulkISOMessageProcessorService;
+import com.nationsbenefits.igloo.iso8583.adapter.service.ISOMessageProcessorService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @author PwC
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * This is the Service layer Class to process a stream of ISO8583 messages through the same path as single messages.
+ * Messages are read one at a time and handed to the non-blocking processing of {@link ISOMessageProcessorService},
+ * with at most {@code parallelism} of them in flight. Responses are written in request order as soon as the oldest
+ * one completes, so memory is bounded by the in-flight window and never by the size of the batch.
+ */
+@Service
+@Slf4j
+public class BulkISOMessageProcessorServiceImpl implements BulkISOMessageProcessorService {
+
+    private static final byte[] NO_RESPONSE = new byte[0];
+
+    private static final int LENGTH_HEADER_LIMIT = 0xFFFF;
+
+    private final ISOMessageProcessorService isoMessageProcessorService;
+
+    private final BulkProcessingProperties bulkProcessingProperties;
+
+    /**
+     * Constructor for BulkISOMessageProcessorServiceImpl.
+     *
+     * @param isoMessageProcessorService the service processing every single message.
+     * @param bulkProcessingProperties   the parallelism and message length limit.
+     */
+    public BulkISOMessageProcessorServiceImpl(ISOMessageProcessorService isoMessageProcessorService, BulkProcessingProperties bulkProcessingProperties) {
+        this.isoMessageProcessorService = isoMessageProcessorService;
+        this.bulkProcessingProperties = bulkProcessingProperties;
+    }
+
+    @Override
+    public long process(InputStream in, OutputStream out, Framing framing) throws IOException {
+        int parallelism = Math.max(1, bulkProcessingProperties.getParallelism());
+        DataInputStream input = new DataInputStream(new BufferedInputStream(in));
+        BufferedOutputStream output = new BufferedOutputStream(out);
+        Deque<CompletableFuture<byte[]>> inFlight = new ArrayDeque<>(parallelism);
+        long processed = 0;
+        try {
+            byte[] message;
+            while ((message = readMessage(input, framing)) != null) {
+                if (inFlight.size() == parallelism) {
+                    writeResponse(output, framing, await(inFlight.poll(), output));
+                }
+                inFlight.add(processAsync(message));
+                processed++;
+                // hand over the responses that are already done without waiting for the window to fill up
+                while (!inFlight.isEmpty() && inFlight.peek().isDone()) {
+                    writeResponse(output, framing, inFlight.poll().join());
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                writeResponse(output, framing, await(inFlight.poll(), output));
+            }
+            output.flush();
+        } finally {
+            inFlight.forEach(response -> response.cancel(false));
+        }
+        log.info("Bulk processing completed, {} ISO8583 messages processed", processed);
+        return processed;
+    }
+
+    private CompletableFuture<byte[]> processAsync(byte[] message) {
+        try {
+            return isoMessageProcessorService.processISOMessageAsync(message)
+                    .exceptionally(throwable -> {
+                        log.error("Exception while processing ISO8583 message of bulk request :{}", throwable.getMessage());
+                        return NO_RESPONSE;
+                    });
+        } catch (RuntimeException e) {
+            log.error("Exception while processing ISO8583 message of bulk request :{}", e.getMessage());
+            return CompletableFuture.completedFuture(NO_RESPONSE);
+        }
+    }
+
+    /**
+     * Waits for the response, first flushing the responses written so far, so the client is not kept waiting for
+     * completed responses while the next one is still in flight.
+     */
+    private static byte[] await(CompletableFuture<byte[]> response, OutputStream output) throws IOException {
+        if (!response.isDone()) {
+            output.flush();
+        }
+        byte[] packed = response.join();
+        return packed == null ? NO_RESPONSE : packed;
+    }
+
+    private byte[] readMessage(DataInputStream input, Framing framing) throws IOException {
+        return framing == Framing.LENGTH_PREFIXED ? readLengthPrefixed(input) : readLine(input);
+    }
+
+    private byte[] readLengthPrefixed(DataInputStream input) throws IOException {
+        int high = input.read();
+        if (high < 0) {
+            return null;
+        }
+        int length = (high << 8) | input.readUnsignedByte();
+        if (length == 0 || length > bulkProcessingProperties.getMaxMessageLength()) {
+            throw new IOException("Invalid ISO8583 message length " + length + " in bulk request");
+        }
+        byte[] message = new byte[length];
+        try {
+            input.readFully(message);
+        } catch (EOFException e) {
+            throw new IOException("Bulk request ended inside a message of " + length + " bytes", e);
+        }
+        return message;
+    }
+
+    /**
+     * Reads the next non-blank line without its LF or CRLF terminator.
+     */
+    private byte[] readLine(DataInputStream input) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int next;
+        while ((next = input.read()) >= 0) {
+            if (next == '\n') {
+                byte[] message = stripCarriageReturn(line.toByteArray());
+                if (message.length > 0) {
+                    return message;
+                }
+                line.reset();
+            } else if (line.size() > bulkProcessingProperties.getMaxMessageLength()) {
+                throw new IOException("ISO8583 message in bulk request exceeds " + bulkProcessingProperties.getMaxMessageLength() + " bytes");
+            } else {
+                line.write(next);
+            }
+        }
+        byte[] message = stripCarriageReturn(line.toByteArray());
+        return message.length > 0 ? message : null;
+    }
+
+    private static byte[] stripCarriageReturn(byte[] line) {
+        int length = line.length;
+        return length > 0 && line[length - 1] == '\r' ? Arrays.copyOf(line, length - 1) : line;
+    }
+
+    private static void writeResponse(OutputStream output, Framing framing, byte[] response) throws IOException {
+        if (framing == Framing.LENGTH_PREFIXED) {
+            if (response.length > LENGTH_HEADER_LIMIT) {
+                throw new IOException("ISO8583 response of " + response.length + " bytes exceeds the 2-byte length header");
+            }
+            output.write(response.length >>> 8);
+            output.write(response.length);
+            output.write(response);
+        } else {
+            output.write(response);
+            output.write('\n');
+        }
+    }
+}
@@ -8,6 +8,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * @author PwC
  * Copyright Â© 2024, NationsBenefits. All Rights reserved
@@ -30,5 +32,15 @@ public class ISO8583AdapterServiceImpl implements ISO8583AdapterService {
         return ISO8583AdapterClientDelegate.processAuthTransaction(authorizationTxnRequest);
     }
 
+    /**
+     * This method will perform the transaction authorization through the asynchronous gRPC call to the auth engine.
+     * @param authorizationTxnRequest
+     * @return
+     */
+    @Override
+    public CompletableFuture<AuthResponse> performAuthorizationAsync(AuthRequest authorizationTxnRequest) {
+        return ISO8583AdapterClientDelegate.processAuthTransactionAsync(authorizationTxnRequest);
+    }
+
 
 }
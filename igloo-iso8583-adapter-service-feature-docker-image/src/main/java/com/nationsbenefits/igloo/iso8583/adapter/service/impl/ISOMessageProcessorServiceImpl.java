@@ -1,6 +1,7 @@
 package com.nationsbenefits.igloo.iso8583.adapter.service.impl;
 
 
+import com.google.common.base.Suppliers;
 import com.google.protobuf.Timestamp;
 import com.nationsbenefits.igloo.authengine.grpc.AuthRequest;
 import com.nationsbenefits.igloo.authengine.grpc.AuthResponse;
@@ -10,30 +11,42 @@ import com.nationsbenefits.igloo.authengine.grpc.ISOFormat;
 import com.nationsbenefits.igloo.authengine.grpc.ISOMessage;
 import com.nationsbenefits.igloo.authengine.grpc.MessageType;
 import com.nationsbenefits.igloo.domain.event.EventHeader;
-import com.nationsbenefits.igloo.event.publisher.service.EventPublisherService;
+import com.nationsbenefits.igloo.iso8583.adapter.cache.DuplicateTransmissionCache;
 import com.nationsbenefits.igloo.iso8583.adapter.constant.EventConstant;
+import com.nationsbenefits.igloo.iso8583.adapter.dispatch.ISOMessageDispatcher;
+import com.nationsbenefits.igloo.iso8583.adapter.dispatch.ISOMessageHandler;
+import com.nationsbenefits.igloo.iso8583.adapter.event.TransactionEventCollector;
+import com.nationsbenefits.igloo.iso8583.adapter.event.TransactionOutcome;
+import com.nationsbenefits.igloo.iso8583.adapter.hash.CardDataHasher;
+import com.nationsbenefits.igloo.iso8583.adapter.logging.TransactionLogSampler;
+import com.nationsbenefits.igloo.iso8583.adapter.metrics.AuthorizationMetrics;
+import com.nationsbenefits.igloo.iso8583.adapter.packager.ISOPackagerRegistry;
+import com.nationsbenefits.igloo.iso8583.adapter.parser.DE48Parser;
+import com.nationsbenefits.igloo.iso8583.adapter.parser.DE48Subelements;
 import com.nationsbenefits.igloo.iso8583.adapter.service.ISOMessageProcessorService;
 import com.nationsbenefits.igloo.iso8583.adapter.service.ISO8583AdapterService;
+import com.nationsbenefits.igloo.iso8583.adapter.stip.StandInAuthorizer;
+import com.nationsbenefits.igloo.iso8583.adapter.util.PayloadEncoding;
 import lombok.extern.slf4j.Slf4j;
 import org.jpos.iso.ISOException;
 import org.jpos.iso.ISOMsg;
-import org.jpos.iso.packager.GenericPackager;
-import org.jpos.util.Logger;
-import org.jpos.util.SimpleLogListener;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.InputStream;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import static com.nationsbenefits.igloo.iso8583.adapter.constant.ISOAdapterConstant.*;
 import static com.nationsbenefits.igloo.iso8583.adapter.util.EventPublisherUtil.buildEventHeader;
 import static com.nationsbenefits.igloo.iso8583.adapter.util.EventPublisherUtil.buildEventPayload;
+import static com.nationsbenefits.igloo.iso8583.adapter.util.EventPublisherUtil.encodePayload;
 
 /**
  * @author PwC
@@ -44,11 +57,36 @@ import static com.nationsbenefits.igloo.iso8583.adapter.util.EventPublisherUtil.
 @Slf4j
 public class ISOMessageProcessorServiceImpl implements ISOMessageProcessorService {
 
+    private static final byte[] NO_RESPONSE = new byte[0];
+
+    private static final Set<String> AUTHORIZATION_MTIS = Set.of(MTI_AUTH_REQUEST, MTI_FINANCIAL_REQUEST);
+
     @Autowired
     private ISO8583AdapterService iso8583AdapterService;
 
     @Autowired
-    private EventPublisherService eventPublisherService;
+    private TransactionEventCollector transactionEventCollector;
+
+    @Autowired
+    private ISOPackagerRegistry isoPackagerRegistry;
+
+    @Autowired
+    private CardDataHasher cardDataHasher;
+
+    @Autowired
+    private DE48Parser de48Parser;
+
+    @Autowired
+    private AuthorizationMetrics authorizationMetrics;
+
+    @Autowired
+    private DuplicateTransmissionCache duplicateTransmissionCache;
+
+    @Autowired
+    private ISOMessageDispatcher isoMessageDispatcher;
+
+    @Autowired
+    private TransactionLogSampler transactionLogSampler;
 
     @Value("#{${currencyCode}}")
     private Map<String, Integer> currencyCodeMap;
@@ -59,6 +97,9 @@ public class ISOMessageProcessorServiceImpl implements ISOMessageProcessorServic
     @Value("${spring.application.version}")
     private String version;
 
+    @Value("${iso8583.events.payloadEncoding:TEXT}")
+    private PayloadEncoding payloadEncoding = PayloadEncoding.TEXT;
+
     /**
      * Method to consume message and convert to ISO8583 message object
      * and initiate method call to create canonical data model and invoke auth engine
@@ -67,76 +108,335 @@ public class ISOMessageProcessorServiceImpl implements ISOMessageProcessorServic
      */
     @Override
     public String processISOMessage(String msg) {
+        return new String(processISOMessage(msg.getBytes(StandardCharsets.ISO_8859_1)), StandardCharsets.ISO_8859_1);
+    }
 
-        InputStream inputStream = ISOMessageProcessorServiceImpl.class.getResourceAsStream(MESSAGE_TEMPLATE_ISO8583);
-        GenericPackager packager;
-        String transactionId=UUID.randomUUID().toString();
-        AuthRequest authRequest = null;
-        EventHeader eventHeader=null;
+    /**
+     * Method to consume the raw message bytes and convert to ISO8583 message object
+     * and initiate method call to create canonical data model and invoke auth engine
+     * @param msg
+     * @return packed ISO8583 response, or an empty array if the message could not be processed
+     */
+    @Override
+    public byte[] processISOMessage(byte[] msg) {
+
+        ISOTransaction isoTransaction = new ISOTransaction(msg, UUID.randomUUID().toString());
+        byte[] response = NO_RESPONSE;
         try {
-            packager = new GenericPackager(inputStream);
-            Logger logger = new Logger();
-            logger.addListener(new SimpleLogListener());
-            ISOMsg isoMsg = new ISOMsg();
-            isoMsg.setPackager(packager);
-            EventHeader eventHeaderWihTxnId=buildEventHeader(transactionId);
-            try {
-                isoMsg.unpack(msg.getBytes());
-            } catch (ISOException e) {
-                eventPublisherService.publishEventAsync(eventHeaderWihTxnId, List.of(buildEventPayload(EventConstant.ISO8583_MESSAGE_VALIDATION_FAILED,e.getMessage())));
-                log.error("ISOException while processing ISO8583 messages in ISO8583 adapter service :{}",e.getMessage());
+            unpack(isoTransaction);
+            if (!isAuthorization(isoTransaction)) {
+                response = handleInProcess(isoTransaction);
+            } else {
+                String duplicateKey = duplicateTransmissionCache.key(isoTransaction.isoMsg);
+                response = duplicateKey == null ? authorize(isoTransaction) : duplicateTransmissionCache.getOrProcess(duplicateKey,
+                        () -> CompletableFuture.completedFuture(authorize(isoTransaction))).join();
+            }
+        } catch (Exception ex) {
+            handleProcessingFailure(isoTransaction, ex);
+        } finally {
+            complete(isoTransaction, response);
+        }
+        return response;
+    }
+
+    /**
+     * Method to run a message through unpack, canonical model creation and pack without side effects
+     * @param msg
+     * @return packed ISO8583 approval response
+     */
+    @Override
+    public byte[] warmUp(byte[] msg) {
+        ISOMsg isoMsg = new ISOMsg();
+        isoMsg.setPackager(isoPackagerRegistry.getPackager());
+        try {
+            isoMsg.unpack(msg);
+            AuthRequest authRequest = buildCanonicalDataModel(isoMsg, WARMUP_TRANSACTION_ID);
+            encodePayload(authRequest, payloadEncoding);
+            buildAuthResponse(isoMsg, AUTH_ALLOW_SUCCESS);
+            return isoMsg.pack();
+        } catch (ISOException e) {
+            throw new IllegalArgumentException("Warm-up message could not be processed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Method to tell whether an unpacked message takes the synchronous authorization path. A message with a
+     * handler in the dispatch table never does, so authorization MTIs can be taken over by a handler as well.
+     * @param isoTransaction
+     * @return true for authorization and financial requests without a handler
+     */
+    private boolean isAuthorization(ISOTransaction isoTransaction) {
+        String mti = isoTransaction.mti;
+        return mti != null && AUTHORIZATION_MTIS.contains(mti) && isoMessageDispatcher.getHandler(mti) == null;
+    }
+
+    /**
+     * Method to answer an unpacked message with its handler from the dispatch table, without calling the auth engine
+     * @param isoTransaction
+     * @return packed ISO8583 response, or an empty array if the MTI is not supported or the handler did not answer
+     * @throws ISOException if the response cannot be packed
+     */
+    private byte[] handleInProcess(ISOTransaction isoTransaction) throws ISOException {
+        ISOMsg isoMsg = isoTransaction.isoMsg;
+        if (isoTransaction.mti == null) {
+            // the message could not be unpacked, which is already recorded
+            return NO_RESPONSE;
+        }
+        ISOMessageHandler handler = isoMessageDispatcher.getHandler(isoTransaction.mti);
+        if (handler == null) {
+            transactionEventCollector.record(isoTransaction.transactionId, buildEventHeader(isoTransaction.transactionId), List.of(buildEventPayload(EventConstant.ISO8583_MESSAGE_VALIDATION_FAILED,"Unsupported MTI " + isoTransaction.mti)));
+            log.warn("Unsupported MTI {} received in ISO8583 adapter service", isoTransaction.mti);
+            return NO_RESPONSE;
+        }
+        byte[] response = handler.handle(isoMsg, () -> buildCanonicalDataModel(isoMsg, isoTransaction.transactionId));
+        if (response.length > 0) {
+            isoTransaction.responseCode = isoMsg.getString(39);
+            authorizationMetrics.countResponseCode(isoTransaction.responseCode);
+        }
+        return response;
+    }
+
+    /**
+     * Method to build the canonical data model of an unpacked message, call the auth engine and build the response
+     * @param isoTransaction
+     * @return packed ISO8583 response, or an empty array if the message could not be processed
+     */
+    private byte[] authorize(ISOTransaction isoTransaction) {
+        try {
+            prepareAuthorization(isoTransaction);
+            AuthResponse authResponse = iso8583AdapterService.performAuthorization(isoTransaction.authRequest);
+            return buildISOResponse(isoTransaction, authResponse);
+        } catch (Exception ex) {
+            handleProcessingFailure(isoTransaction, ex);
+        }
+        return NO_RESPONSE;
+    }
+
+    /**
+     * Method to consume message and convert to ISO8583 message object, create the canonical data model and
+     * invoke the auth engine without blocking the calling thread while the authorization is in flight.
+     * @param msg
+     * @return future completed with the packed ISO8583 response, or an empty string if the message could not be processed
+     */
+    @Override
+    public CompletableFuture<String> processISOMessageAsync(String msg) {
+        return processISOMessageAsync(msg.getBytes(StandardCharsets.ISO_8859_1))
+                .thenApply(response -> new String(response, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Method to consume the raw message bytes without blocking the calling thread while the authorization is in flight.
+     * @param msg
+     * @return future completed with the packed ISO8583 response, or an empty array if the message could not be processed
+     */
+    @Override
+    public CompletableFuture<byte[]> processISOMessageAsync(byte[] msg) {
+
+        ISOTransaction isoTransaction = new ISOTransaction(msg, UUID.randomUUID().toString());
+        String duplicateKey;
+        try {
+            unpack(isoTransaction);
+            if (!isAuthorization(isoTransaction)) {
+                byte[] response = handleInProcess(isoTransaction);
+                complete(isoTransaction, response);
+                return CompletableFuture.completedFuture(response);
             }
-            eventPublisherService.publishEventAsync(eventHeaderWihTxnId, List.of(buildEventPayload(EventConstant.ISO8583_MESSAGE_RECEIVED,msg)));
+            duplicateKey = duplicateTransmissionCache.key(isoTransaction.isoMsg);
+        } catch (Exception ex) {
+            handleProcessingFailure(isoTransaction, ex);
+            complete(isoTransaction, NO_RESPONSE);
+            return CompletableFuture.completedFuture(NO_RESPONSE);
+        }
+        CompletableFuture<byte[]> response = duplicateKey == null ? authorizeAsync(isoTransaction)
+                : duplicateTransmissionCache.getOrProcess(duplicateKey, () -> authorizeAsync(isoTransaction));
+        return response
+                .exceptionally(throwable -> {
+                    handleProcessingFailure(isoTransaction, throwable);
+                    return NO_RESPONSE;
+                })
+                .whenComplete((packed, throwable) -> complete(isoTransaction, packed == null ? NO_RESPONSE : packed));
+    }
+
+    /**
+     * Method to build the canonical data model of an unpacked message and call the auth engine without blocking
+     * @param isoTransaction
+     * @return future completed with the packed ISO8583 response, or an empty array if the message could not be processed
+     */
+    private CompletableFuture<byte[]> authorizeAsync(ISOTransaction isoTransaction) {
         try {
+            prepareAuthorization(isoTransaction);
+        } catch (Exception ex) {
+            handleProcessingFailure(isoTransaction, ex);
+            return CompletableFuture.completedFuture(NO_RESPONSE);
+        }
+        return iso8583AdapterService.performAuthorizationAsync(isoTransaction.authRequest)
+                .thenApply(authResponse -> buildISOResponse(isoTransaction, authResponse))
+                .exceptionally(throwable -> {
+                    handleProcessingFailure(isoTransaction, throwable);
+                    return NO_RESPONSE;
+                });
+    }
+
+    /**
+     * Method to unpack the ISO8583 message
+     * @param isoTransaction
+     */
+    private void unpack(ISOTransaction isoTransaction) {
+        byte[] msg = isoTransaction.msg;
+        String transactionId = isoTransaction.transactionId;
+        ISOMsg isoMsg = new ISOMsg();
+        isoMsg.setPackager(isoPackagerRegistry.getPackager());
+        isoTransaction.isoMsg = isoMsg;
+        EventHeader eventHeaderWihTxnId=buildEventHeader(transactionId);
+        long unpackStart = System.nanoTime();
+        try {
+            isoMsg.unpack(msg);
+            authorizationMetrics.recordStage(AuthorizationMetrics.Stage.UNPACK, unpackStart);
+            authorizationMetrics.countMessage(isoMsg.getMTI());
+        } catch (ISOException e) {
+            transactionEventCollector.record(transactionId, eventHeaderWihTxnId, List.of(buildEventPayload(EventConstant.ISO8583_MESSAGE_VALIDATION_FAILED,e.getMessage())));
+            log.atError().addKeyValue("transactionId", transactionId)
+                    .log("ISOException while processing ISO8583 messages in ISO8583 adapter service :{}", e.getMessage());
+        }
+        // the fields before a failure are still unpacked
+        isoTransaction.mti = isoMsg.getString(0);
+        transactionEventCollector.record(transactionId, eventHeaderWihTxnId, List.of(buildEventPayload(EventConstant.ISO8583_MESSAGE_RECEIVED,isoTransaction.msgPayload)));
+    }
+
+    /**
+     * Method to build the canonical data model of the unpacked transaction which is sent to the auth engine
+     * @param isoTransaction
+     */
+    private void prepareAuthorization(ISOTransaction isoTransaction) {
+        ISOMsg isoMsg = isoTransaction.isoMsg;
+        String transactionId = isoTransaction.transactionId;
+        EventHeader eventHeaderWihTxnId = buildEventHeader(transactionId);
+        AuthRequest authRequest = null;
+        try {
+            long canonicalStart = System.nanoTime();
             authRequest = buildCanonicalDataModel(isoMsg,transactionId);
-            eventPublisherService.publishEventAsync(buildEventHeader(authRequest,transactionId,appName,version), List.of(buildEventPayload(EventConstant.CANONICAL_MODEL_CREATED,authRequest.toString())));
+            authorizationMetrics.recordStage(AuthorizationMetrics.Stage.CANONICAL_MODEL, canonicalStart);
+            AuthRequest canonicalAuthRequest = authRequest;
+            isoTransaction.authRequestPayload = Suppliers.memoize(() -> encodePayload(canonicalAuthRequest, payloadEncoding))::get;
+            transactionEventCollector.record(transactionId, buildEventHeader(authRequest,transactionId,appName,version), List.of(buildEventPayload(EventConstant.CANONICAL_MODEL_CREATED,isoTransaction.authRequestPayload)));
 
-        } catch (NoSuchAlgorithmException e) {
-            eventPublisherService.publishEventAsync(eventHeaderWihTxnId, List.of(buildEventPayload(EventConstant.CANONICAL_MODEL_CREATION_FAILED,e.getMessage())));
-            log.error("NoSuchAlgorithmException while processing ISO8583 messages in ISO8583 adapter service :{}",e.getMessage());
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            transactionEventCollector.record(transactionId, eventHeaderWihTxnId, List.of(buildEventPayload(EventConstant.CANONICAL_MODEL_CREATION_FAILED,e.getMessage())));
+            log.atError().addKeyValue("transactionId", transactionId)
+                    .log("Exception while building canonical data model in ISO8583 adapter service :{}", e.getMessage());
+            throw e;
         }
-        eventHeader= buildEventHeader(authRequest,MESSAGE_TYPE_AUTHORIZATION,appName,version);
-        eventPublisherService.publishEventAsync(eventHeader, List.of(buildEventPayload(EventConstant.AUTHORIZATION_PROCESS_TRIGGERED,authRequest.toString())));
-        AuthResponse authResponse = iso8583AdapterService.performAuthorization(authRequest);
-          if (null != authResponse) {
-                try {
-                    if (isoMsg.getMTI().equalsIgnoreCase(MTI_AUTH_REQUEST)) {
-                        if(authResponse.getStatusCode().equalsIgnoreCase(AUTH_ALLOW_SUCCESS))
-                        {
-                            eventPublisherService.publishEventAsync(eventHeader, List.of(buildEventPayload(EventConstant.AUTHORIZATION_SUCCESS,msg),buildEventPayload(EventConstant.ISO8583_AUTH_SUCCESS_RESPONSE_CREATED,authResponse.toString())));
-                        }else{
-                            eventPublisherService.publishEventAsync(eventHeader, List.of(buildEventPayload(EventConstant.AUTHORIZATION_FAILED,msg),buildEventPayload(EventConstant.ISO8583_AUTH_FAILURE_RESPONSE_CREATED,authResponse.toString())));
-                        }
-                        buildAuthResponse(isoMsg,authResponse.getStatusCode());
-                        eventPublisherService.publishEventAsync(eventHeader, List.of(buildEventPayload(EventConstant.ISO8583_AUTH_RESPONSE_SEND,authRequest.toString())));
-                        return new String(isoMsg.pack());
+        isoTransaction.authRequest = authRequest;
+        isoTransaction.eventHeader = buildEventHeader(authRequest,MESSAGE_TYPE_AUTHORIZATION,appName,version);
+        transactionEventCollector.record(isoTransaction.transactionId, isoTransaction.eventHeader, List.of(buildEventPayload(EventConstant.AUTHORIZATION_PROCESS_TRIGGERED,isoTransaction.authRequestPayload)));
+    }
+
+    /**
+     * Method to build the packed ISO8583 auth response from the auth engine response
+     * @param isoTransaction
+     * @param authResponse
+     * @return packed ISO8583 response, or an empty array if no response can be built
+     */
+    private byte[] buildISOResponse(ISOTransaction isoTransaction, AuthResponse authResponse) {
+        ISOMsg isoMsg = isoTransaction.isoMsg;
+        EventHeader eventHeader = isoTransaction.eventHeader;
+        if (null != authResponse) {
+            authorizationMetrics.countAuthStatus(authResponse.getStatusCode());
+            isoTransaction.fallback = StandInAuthorizer.isStandIn(authResponse);
+            try {
+                if (AUTHORIZATION_MTIS.contains(isoMsg.getMTI())) {
+                    if(authResponse.getStatusCode().equalsIgnoreCase(AUTH_ALLOW_SUCCESS))
+                    {
+                        transactionEventCollector.record(isoTransaction.transactionId, eventHeader, List.of(buildEventPayload(EventConstant.AUTHORIZATION_SUCCESS,isoTransaction.msgPayload),buildEventPayload(EventConstant.ISO8583_AUTH_SUCCESS_RESPONSE_CREATED,() -> encodePayload(authResponse, payloadEncoding))));
+                    }else{
+                        transactionEventCollector.record(isoTransaction.transactionId, eventHeader, List.of(buildEventPayload(EventConstant.AUTHORIZATION_FAILED,isoTransaction.msgPayload),buildEventPayload(EventConstant.ISO8583_AUTH_FAILURE_RESPONSE_CREATED,() -> encodePayload(authResponse, payloadEncoding))));
                     }
-                } catch (ISOException e) {
-                    eventPublisherService.publishEventAsync(eventHeader, List.of(buildEventPayload(EventConstant.AUTHORIZATION_FAILED,e.getMessage())));
-                    log.error("ISOException while processing ISO8583 response in ISO8583 adapter service :{}",e.getMessage());
+                    buildAuthResponse(isoMsg,authResponse.getStatusCode());
+                    transactionEventCollector.record(isoTransaction.transactionId, eventHeader, List.of(buildEventPayload(EventConstant.ISO8583_AUTH_RESPONSE_SEND,isoTransaction.authRequestPayload)));
+                    isoTransaction.responseCode = isoMsg.getString(39);
+                    authorizationMetrics.countResponseCode(isoTransaction.responseCode);
+                    long packStart = System.nanoTime();
+                    byte[] packed = isoMsg.pack();
+                    authorizationMetrics.recordStage(AuthorizationMetrics.Stage.PACK, packStart);
+                    return packed;
                 }
-
+            } catch (ISOException e) {
+                transactionEventCollector.record(isoTransaction.transactionId, eventHeader, List.of(buildEventPayload(EventConstant.AUTHORIZATION_FAILED,e.getMessage())));
+                log.atError().addKeyValue("transactionId", isoTransaction.transactionId)
+                        .log("ISOException while processing ISO8583 response in ISO8583 adapter service :{}", e.getMessage());
             }
-        } catch (Exception ex) {
-          eventPublisherService.publishEventAsync(eventHeader, List.of(buildEventPayload(EventConstant.AUTHORIZATION_FAILED, ex.getMessage())));
-          log.error("Exception while processing ISO8583 messages in ISO8583 adapter service :{}",ex.getMessage());
         }
-        return "";
+        return NO_RESPONSE;
     }
 
+    /**
+     * Method to publish the failure of a transaction which could not be processed. Failures are always logged,
+     * with the transaction fields and the stack trace.
+     * @param isoTransaction
+     * @param throwable
+     */
+    private void handleProcessingFailure(ISOTransaction isoTransaction, Throwable throwable) {
+        transactionEventCollector.record(isoTransaction.transactionId, isoTransaction.eventHeader, List.of(buildEventPayload(EventConstant.AUTHORIZATION_FAILED, throwable.getMessage())));
+        log.atError().setCause(throwable)
+                .addKeyValue("transactionId", isoTransaction.transactionId)
+                .addKeyValue("mti", isoTransaction.mti)
+                .log("Exception while processing ISO8583 messages in ISO8583 adapter service :{}", throwable.getMessage());
+    }
+
+    /**
+     * Method to publish the collected events of a transaction under the event policy and write the summary line of a
+     * sampled successful one.
+     * The summary replaces the former log line per processing step; its fields are written as key-value pairs.
+     * @param isoTransaction
+     * @param response the packed response, empty if the transaction failed
+     */
+    private void complete(ISOTransaction isoTransaction, byte[] response) {
+        long elapsedNanos = System.nanoTime() - isoTransaction.startNanos;
+        String responseCode = response.length == 0 ? null
+                : isoTransaction.responseCode != null ? isoTransaction.responseCode : responseCodeOf(response);
+        transactionEventCollector.complete(isoTransaction.transactionId,
+                new TransactionOutcome(isoTransaction.mti, responseCode, isoTransaction.fallback, elapsedNanos));
+        if (response.length > 0 && log.isInfoEnabled() && transactionLogSampler.sample()) {
+            ISOMsg isoMsg = isoTransaction.isoMsg;
+            log.atInfo()
+                    .addKeyValue("transactionId", isoTransaction.transactionId)
+                    .addKeyValue("mti", isoTransaction.mti)
+                    .addKeyValue("stan", isoMsg.getString(11))
+                    .addKeyValue("rrn", isoMsg.getString(37))
+                    .addKeyValue("responseCode", responseCode)
+                    .addKeyValue("elapsedMicros", TimeUnit.NANOSECONDS.toMicros(elapsedNanos))
+                    .log("ISO8583 transaction completed");
+        }
+    }
+
+    /**
+     * Method to read DE39 of a packed response which was not built for this transmission, such as the one answered
+     * from the duplicate transmission cache
+     * @param response the packed response
+     * @return the response code, or null if the response cannot be unpacked
+     */
+    private String responseCodeOf(byte[] response) {
+        ISOMsg isoMsg = new ISOMsg();
+        isoMsg.setPackager(isoPackagerRegistry.getPackager());
+        try {
+            isoMsg.unpack(response);
+        } catch (ISOException e) {
+            return null;
+        }
+        return isoMsg.getString(39);
+    }
 
- 
     /**
      * Method to build Canonical data model from ISO8583 message structure and pass to Auth Service to perform Transaction Authorization.
      * @param isoMsg
      * @return
      */
-    private AuthRequest buildCanonicalDataModel(ISOMsg isoMsg,String transactionId) throws NoSuchAlgorithmException {
+    AuthRequest buildCanonicalDataModel(ISOMsg isoMsg,String transactionId) {
 
-        log.info("Auth engine canonical data model construction started from iso8583 message") ;
+        DE48Subelements de48 = de48Parser.parse(isoMsg.getString(48));
         AuthRequest.Builder authTxnReqBuilder = AuthRequest.newBuilder().setIsoMessage(ISOMessage.newBuilder().setCard(
                         Card.newBuilder().setPanHash(
-                                getMD5Hex(isoMsg.getString(2))).setCvv(getMD5Hex(getSubelement(isoMsg.getString(48), "24"))).build()).setTransaction(
+                                cardDataHasher.hash(isoMsg.getString(2))).setCvv(cardDataHasher.hash(de48.get(DE48_CVV_SUBELEMENT))).build()).setTransaction(
                         Transaction.newBuilder()
                                 .setAmount(Amount.newBuilder()
                                         .setAmount(Long.parseLong(isoMsg.getString(4)))
@@ -152,10 +452,7 @@ public class ISOMessageProcessorServiceImpl implements ISOMessageProcessorServic
                 .setMessageType(MessageType.newBuilder().setMessageType(MESSAGE_TYPE_AUTHORIZATION).build())
                 .setChannel(Channel.newBuilder().setChannel(CHANNEL_MASTERCARD).build())
                 .setMerchant(Merchant.newBuilder().setCategoryCode(isoMsg.getString(18)).setID(isoMsg.getString(32)).build()));
-        AuthRequest authorizationTxnRequest = authTxnReqBuilder.build();
-        log.info("Auth engine canonical data model construction completed {}", authorizationTxnRequest) ;
-
-        return authorizationTxnRequest;
+        return authTxnReqBuilder.build();
     }
 
     /**
@@ -173,72 +470,15 @@ public class ISOMessageProcessorServiceImpl implements ISOMessageProcessorServic
     }
 
     /**
-     * Extracts the value of a specific subelement from the DE string.
-     *
-     * <p>This method parses the DE field, which may contain multiple subelements separated
-     * by a delimiter (e.g., '|'). Each subelement is expected to be in the format
-     * {@code subelementId=value}, and the method retrieves the value associated with the
-     * specified subelement ID.
-     *
-     * @param dataElement  The DE string containing multiple subelements (e.g., "24=836|25=12345").
-     * @param subelementId The ID of the subelement to retrieve (e.g., "24").
-     * @return The value of the specified subelement (e.g., "836" for subelement "24"), or {@code null}
-     *         if the subelement is not found or if the DE48 string is null/empty.
-     */
-    private static String getSubelement(String dataElement, String subelementId) {
-        if (dataElement == null || dataElement.isEmpty()) {
-            return null;
-        }
-        // Split DE by delimiter (assuming '=' or '|' is the delimiter for subelements)
-        String[] subelements = dataElement.split("\\|"); // Adjust delimiter if necessary
-        for (String subelement : subelements) {
-            if (subelement.startsWith(subelementId + "=")) {
-                return subelement.split("=")[1]; // Return the value of the subelement
-            }
-        }
-        return null; // Return null if subelement is not found
-    }
-
-    /**
-     * Method construct iso8583 success response
+     * Method construct iso8583 response, 0110 for an authorization and 0210 for a financial request
      * @param isoMsg
      * @throws ISOException
      */
     private void buildAuthResponse(ISOMsg isoMsg,String responseCode) throws ISOException {
-        isoMsg.setMTI(MTI_AUTH_RESPONSE);
+        isoMsg.setResponseMTI();
         assignResponseCodeToISO8583Message(isoMsg,responseCode);
     }
 
-    /**
-     * Method to get MD5 hash from string
-     * @param inputString
-     * @return
-     * @throws NoSuchAlgorithmException
-     */
-    public static String getMD5Hex(final String inputString) throws NoSuchAlgorithmException {
-        if (inputString == null || inputString.isEmpty()) {
-            return null;
-        }
-        MessageDigest md = MessageDigest.getInstance(MD5);
-        md.update(inputString.getBytes());
-        byte[] digest = md.digest();
-        return convertByteToHex(digest);
-    }
-
-    /**
-     * Method to convert Byte to Hexa decimal format
-     * @param byteData
-     * @return
-     */
-    private static String convertByteToHex(byte[] byteData) {
-
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < byteData.length; i++) {
-            sb.append(Integer.toString((byteData[i] & 0xff) + 0x100, 16).substring(1));
-        }
-        return sb.toString();
-    }
-
     /**
      * Method to assign response code to ISO8583 adapter
      */
@@ -246,64 +486,85 @@ public class ISOMessageProcessorServiceImpl implements ISOMessageProcessorServic
 
         switch (responseCode) {
             case AUTH_ALLOW_SUCCESS:
-                log.info("ISO8583 adapter set 00(Successful approval from Auth Engine) in 8583 auth response") ;
                 isoMsg.set(39, ISO_8583_SUCCESS);
                 break;
             case AUTH_INVALID_MERCHANT:
-                log.info("ISO8583 adapter set 03(invalid merchant from Auth Engine) in 8583 auth response") ;
                 isoMsg.set(39, ISO_8583_INVALID_MERCHANT);
                 break;
             case AUTH_INSUFFICIENT_FUNDS:
-                log.info("ISO8583 adapter set 51(insufficient fund from Auth Engine) in 8583 auth response") ;
                 isoMsg.set(39, ISO_8583_INSUFFICIENT_FUND);
                 break;
             case AUTH_EXCEEDED_TRANSACTION_LIMIT:
-                log.info("ISO8583 adapter set 61(exceeded transaction limit from Auth Engine) in 8583 auth response") ;
                 isoMsg.set(39, ISO_8583_EXCEEDED_TRANSACTION_LIMIT);
                 break;
             case AUTH_PARTIAL_ALLOW:
-                log.info("ISO8583 adapter set 10(partial allowed transaction from Auth Engine) in 8583 auth response") ;
                 isoMsg.set(39, ISO_8583_SUCCESS);
                 break;
             case AUTH_ACCOUNT_NOT_FOUND:
-                log.info("ISO8583 adapter set 12(transaction invalid from Auth Engine) in 8583 auth response") ;
                 isoMsg.set(39, ISO_8583_TXN_INVALID);
                 break;
             case AUTH_CARD_NUMBER_INVALID:
-                log.info("ISO8583 adapter set 14(card number invalid from Auth Engine) in 8583 auth response") ;
                 isoMsg.set(39, ISO_8583_CARD_NUMBER_INVALID);
                 break;
             case AUTH_CARD_NOT_ACTIVATED:
-                log.info("ISO8583 adapter set 78(card is found but Status is not active amount from Auth Engine) in 8583 auth response") ;
                 isoMsg.set(39, ISO_8583_CARD_NOT_ACTIVATED);
                 break;
             case AUTH_CARD_EXPIRED:
-                log.info("ISO8583 adapter set 54(card is found but expired from Auth Engine) in 8583 auth response") ;
                 isoMsg.set(39, ISO_8583_CARD_EXPIRED);
                 break;
             case AUTH_CARD_LOCKED:
-                log.info("ISO8583 adapter set 38(Card status is locked from Auth Engine) in 8583 auth response") ;
                 isoMsg.set(39, ISO_8583_CARD_LOCKED);
                 break;
             case AUTH_CARD_AUTHENTICATION_FAILED:
-                log.info("ISO8583 adapter set 82(Card found and card type is NOT debit but card status is active from Auth Engine) in 8583 auth response") ;
                 isoMsg.set(39, ISO_8583_CARD_AUTHENTICATION_FAILED);
                 break;
             case AUTH_CVV_MISMATCH:
-                log.info("ISO8583 adapter set 82(card CVV did not match from Auth Engine) in 8583 auth response") ;
                 isoMsg.set(39, ISO_8583_CVV_MISMATCH);
                 break;
             case AUTH_PIN_VALIDATION_FAILURE:
-                log.info("ISO8583 adapter set 55(Card pin did not match from Auth Engine) in 8583 auth response") ;
                 isoMsg.set(39, ISO_8583_PIN_VALIDATION_FAILURE);
                 break;
             case AUTH_CARD_SUCCESS:
-                log.info("ISO8583 adapter set 00(Card found, status is active and not expired from Auth Engine) in 8583 auth response") ;
                 isoMsg.set(39, ISO_8583_CARD_SUCCESS);
                 break;
             default:
-                log.info("ISO8583 adapter set 12(invalid transaction from Auth Engine) in 8583 auth response") ;
                 isoMsg.set(39, ISO_8583_TXN_INVALID);
         }
     }
+
+    /**
+     * State of one ISO8583 message while it passes through parsing, authorization and response creation.
+     */
+    private static final class ISOTransaction {
+
+        private final byte[] msg;
+
+        /** The raw message as event payload, only copied into a String when an event carrying it is published */
+        private final Supplier<String> msgPayload;
+
+        private final String transactionId;
+
+        private final long startNanos = System.nanoTime();
+
+        private ISOMsg isoMsg;
+
+        private String mti;
+
+        private AuthRequest authRequest;
+
+        private Supplier<String> authRequestPayload;
+
+        private EventHeader eventHeader;
+
+        private boolean fallback;
+
+        /** DE39 of the response built for this transmission, null if none was built */
+        private String responseCode;
+
+        private ISOTransaction(byte[] msg, String transactionId) {
+            this.msg = msg;
+            this.msgPayload = Suppliers.memoize(() -> new String(msg, StandardCharsets.ISO_8859_1))::get;
+            this.transactionId = transactionId;
+        }
+    }
 }
@@ -0,0 +1,152 @@
+package com.nationsbenefits.igloo.iso8583.adapter.stip;
+
+import com.nationsbenefits.igloo.authengine.grpc.AdviceRequest;
+import com.nationsbenefits.igloo.authengine.grpc.AuthRequest;
+import com.nationsbenefits.igloo.authengine.grpc.AuthResponse;
+import com.nationsbenefits.igloo.authengine.grpc.AuthResponseCode;
+import com.nationsbenefits.igloo.authengine.grpc.AuthResponseStatus;
+import com.nationsbenefits.igloo.authengine.grpc.ISOMessage;
+import com.nationsbenefits.igloo.authengine.grpc.MessageType;
+import com.nationsbenefits.igloo.iso8583.adapter.config.StandInProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.dispatch.AdviceQueue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.nationsbenefits.igloo.iso8583.adapter.constant.ISOAdapterConstant.MESSAGE_TYPE_STAND_IN_ADVICE;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Stand-in authorization (STIP) used while the Auth Engine is unavailable.
+ * A transaction is declined if its card, merchant or merchant category code is on a decline list, if its amount
+ * is above the floor limit of its merchant category code, or if it would take the card over its daily stand-in
+ * amount or count; otherwise it is approved. The decision is made in memory and written to the
+ * {@link AdviceQueue} before it is returned, so the Auth Engine learns about every stand-in decision once it is
+ * back. A decision whose advice cannot be written is turned into AUTH_ERROR, nothing is approved without an advice.
+ */
+@Slf4j
+@Component
+public class StandInAuthorizer {
+
+    static final String STAND_IN_DESCRIPTION = "STAND_IN ";
+
+    private final StandInProperties standInProperties;
+
+    private final AdviceQueue adviceQueue;
+
+    private final Clock clock;
+
+    private final VelocityCounters velocityCounters = new VelocityCounters();
+
+    private final AtomicLong velocityDay = new AtomicLong();
+
+    private final Map<AuthResponseCode, Counter> decisionCounters = new EnumMap<>(AuthResponseCode.class);
+
+    /**
+     * Constructor for StandInAuthorizer.
+     *
+     * @param standInProperties the stand-in rules.
+     * @param adviceQueue       the queue the stand-in decisions are recorded in.
+     * @param meterRegistry     the registry the stand-in decisions are counted in.
+     */
+    @Autowired
+    public StandInAuthorizer(StandInProperties standInProperties, AdviceQueue adviceQueue, MeterRegistry meterRegistry) {
+        this(standInProperties, adviceQueue, meterRegistry, Clock.systemUTC());
+    }
+
+    StandInAuthorizer(StandInProperties standInProperties, AdviceQueue adviceQueue, MeterRegistry meterRegistry, Clock clock) {
+        this.standInProperties = standInProperties;
+        this.adviceQueue = adviceQueue;
+        this.clock = clock;
+        for (AuthResponseCode code : AuthResponseCode.values()) {
+            if (code != AuthResponseCode.UNRECOGNIZED) {
+                decisionCounters.put(code, Counter.builder("iso8583.stip.decisions")
+                        .description("Transactions authorized in stand-in").tag("decision", code.name()).register(meterRegistry));
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return standInProperties.isEnabled();
+    }
+
+    /**
+     * Authorizes a transaction in stand-in and records the decision as an advice.
+     *
+     * @param authorizationRequest the canonical authorization request.
+     * @return the stand-in response.
+     */
+    public AuthResponse authorize(AuthRequest authorizationRequest) {
+        ISOMessage isoMessage = authorizationRequest.getIsoMessage();
+        AuthResponse authResponse = buildResponse(isoMessage, decide(isoMessage));
+        try {
+            adviceQueue.append(AdviceRequest.newBuilder().setAuthRequest(AuthRequest.newBuilder().setIsoMessage(isoMessage.toBuilder()
+                    .setMessageType(MessageType.newBuilder().setMessageType(MESSAGE_TYPE_STAND_IN_ADVICE)))).setDecision(authResponse).build());
+        } catch (UncheckedIOException | IllegalStateException e) {
+            log.error("Stand-in advice for transaction {} could not be recorded : {}", isoMessage.getTransaction().getID(), e.getMessage());
+            authResponse = buildResponse(isoMessage, AuthResponseCode.AUTH_ERROR);
+        }
+        decisionCounters.get(authResponse.getResponseCode().getAuthResponseCode()).increment();
+        log.info("Transaction {} authorized in stand-in with {}", isoMessage.getTransaction().getID(), authResponse.getStatusCode());
+        return authResponse;
+    }
+
+    private AuthResponseCode decide(ISOMessage isoMessage) {
+        String panHash = isoMessage.getCard().getPanHash();
+        String categoryCode = isoMessage.getMerchant().getCategoryCode();
+        long amount = isoMessage.getTransaction().getAmount().getAmount();
+        if (standInProperties.getDeclinedPanHashes().contains(panHash)) {
+            return AuthResponseCode.AUTH_DENY;
+        }
+        if (standInProperties.getDeclinedMerchants().contains(isoMessage.getMerchant().getID())
+                || standInProperties.getDeclinedCategoryCodes().contains(categoryCode)) {
+            return AuthResponseCode.AUTH_INVALID_MERCHANT;
+        }
+        if (amount > standInProperties.getMccFloorLimits().getOrDefault(categoryCode, standInProperties.getDefaultFloorLimit())) {
+            return AuthResponseCode.AUTH_EXCEEDED_TRANSACTION_LIMIT;
+        }
+        if (!velocityCounters.tryAdd(panHash, amount, today(), standInProperties.getDailyAmountLimit(), standInProperties.getDailyCountLimit())) {
+            return AuthResponseCode.AUTH_EXCEEDED_TRANSACTION_LIMIT;
+        }
+        return AuthResponseCode.AUTH_ALLOW;
+    }
+
+    /**
+     * Returns the current UTC day, dropping the velocity counters of the previous days when the day changes.
+     */
+    private long today() {
+        long day = LocalDate.now(clock).toEpochDay();
+        long previous = velocityDay.get();
+        if (previous != day && velocityDay.compareAndSet(previous, day)) {
+            velocityCounters.evictBefore(day);
+        }
+        return day;
+    }
+
+    /**
+     * Returns whether a response was decided in stand-in.
+     *
+     * @param authResponse the authorization response.
+     * @return true if the response was built by the stand-in authorization.
+     */
+    public static boolean isStandIn(AuthResponse authResponse) {
+        return authResponse.getResponseCode().getResponseDescription().startsWith(STAND_IN_DESCRIPTION);
+    }
+
+    private static AuthResponse buildResponse(ISOMessage isoMessage, AuthResponseCode code) {
+        return AuthResponse.newBuilder().setStatusCode(code.toString())
+                .setIsoMessage(isoMessage)
+                .setResponseCode(AuthResponseStatus.newBuilder().setAuthResponseCode(code).setResponseDescription(STAND_IN_DESCRIPTION + code)).build();
+    }
+}
@@ -0,0 +1,89 @@
+package com.nationsbenefits.igloo.iso8583.adapter.stip;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Daily amount and count of the stand-in approvals per card.
+ * The day, count and amount of a card are packed into one {@link AtomicLong} and updated with compare-and-set,
+ * so checking the limits and adding a transaction is a single lock-free step that never exceeds a limit under
+ * concurrent approvals. The counters of a card start over on the first transaction of a new day.
+ */
+public class VelocityCounters {
+
+    static final int MAX_COUNT = (1 << 12) - 1;
+
+    static final long MAX_AMOUNT = (1L << 36) - 1;
+
+    private static final int DAY_SHIFT = 48;
+
+    private static final int COUNT_SHIFT = 36;
+
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a transaction to the counters of a card unless it would exceed one of the limits.
+     *
+     * @param key            the card key, e.g. the PAN hash.
+     * @param amount         the transaction amount.
+     * @param epochDay       the current day.
+     * @param maxAmount      the highest total amount per day.
+     * @param maxCount       the highest number of transactions per day.
+     * @return true if the transaction was added, false if it exceeds a limit.
+     */
+    public boolean tryAdd(String key, long amount, long epochDay, long maxAmount, int maxCount) {
+        long amountLimit = Math.min(maxAmount, MAX_AMOUNT);
+        int countLimit = Math.min(maxCount, MAX_COUNT);
+        if (amount < 0 || amount > amountLimit || countLimit < 1) {
+            return false;
+        }
+        long day = epochDay & 0xFFFF;
+        AtomicLong counter = counters.computeIfAbsent(key, k -> new AtomicLong(pack(day, 0, 0)));
+        long current;
+        long updated;
+        do {
+            current = counter.get();
+            long total = day(current) == day ? amount(current) : 0;
+            int count = day(current) == day ? count(current) : 0;
+            if (count + 1 > countLimit || total + amount > amountLimit) {
+                return false;
+            }
+            updated = pack(day, count + 1, total + amount);
+        } while (!counter.compareAndSet(current, updated));
+        return true;
+    }
+
+    /**
+     * Removes the counters of cards without a transaction on the given day.
+     *
+     * @param epochDay the current day.
+     */
+    public void evictBefore(long epochDay) {
+        long day = epochDay & 0xFFFF;
+        counters.values().removeIf(counter -> day(counter.get()) != day);
+    }
+
+    public int size() {
+        return counters.size();
+    }
+
+    private static long pack(long day, int count, long amount) {
+        return day << DAY_SHIFT | (long) count << COUNT_SHIFT | amount;
+    }
+
+    private static long day(long packed) {
+        return packed >>> DAY_SHIFT;
+    }
+
+    private static int count(long packed) {
+        return (int) (packed >>> COUNT_SHIFT) & MAX_COUNT;
+    }
+
+    private static long amount(long packed) {
+        return packed & MAX_AMOUNT;
+    }
+}
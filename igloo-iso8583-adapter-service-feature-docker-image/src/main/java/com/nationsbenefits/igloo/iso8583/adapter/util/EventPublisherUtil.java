@@ -1,6 +1,9 @@
 package com.nationsbenefits.igloo.iso8583.adapter.util;
 
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.Message;
 import com.google.protobuf.Timestamp;
+import com.google.protobuf.util.JsonFormat;
 import com.nationsbenefits.igloo.authengine.grpc.*;
 import com.nationsbenefits.igloo.common.models.grpc.Transaction;
 import com.nationsbenefits.igloo.domain.event.EventHeader;
@@ -9,7 +12,9 @@ import com.nationsbenefits.igloo.iso8583.adapter.exception.ISOAdapterCircuitBrea
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Base64;
 import java.util.Objects;
+import java.util.function.Supplier;
 /**
  *
  * Copyright Â© 2024, NationsBenefits. All Rights reserved
@@ -23,6 +28,8 @@ import java.util.Objects;
 
 public class EventPublisherUtil {
 
+    private static final JsonFormat.Printer JSON_PRINTER = JsonFormat.printer().omittingInsignificantWhitespace();
+
     /**
      * Processes an authorization transaction by sending a gRPC request to the Auth Engine.
      * The method integrates Circuit Breaker and Retry mechanisms to handle potential failures gracefully.
@@ -90,6 +97,51 @@ public class EventPublisherUtil {
         return eventPayload;
     }
 
+    /**
+     * Builds an {@code EventPayload} object whose extended data payload is taken from the given supplier.
+     * <p>
+     * The supplier is only called when the extended data payload is first read, i.e. when the event is written for
+     * publishing, so an event which is never published is never encoded. Used with a memoized supplier, a payload
+     * referenced by several events of a transaction is encoded at most once.
+     * </p>
+     *
+     * @param eventName       the name of the event
+     * @param payloadSupplier the supplier of the extended data payload
+     * @return a new {@code EventPayload} object with the provided details
+     */
+    public static EventPayload buildEventPayload(String eventName, Supplier<String> payloadSupplier) {
+        EventPayload eventPayload = new DeferredEventPayload(payloadSupplier);
+        eventPayload.setEventName(eventName);
+        eventPayload.setEventDescription(eventName);
+        eventPayload.setEventDateTime(LocalDateTime.now());
+        return eventPayload;
+    }
+
+    /**
+     * Encodes a protobuf message for the extended data payload of an event.
+     *
+     * @param message  the message to encode
+     * @param encoding the payload encoding
+     * @return the encoded message, or {@code null} if the message is null
+     */
+    public static String encodePayload(Message message, PayloadEncoding encoding) {
+        if (message == null) {
+            return null;
+        }
+        switch (encoding) {
+            case BASE64_PROTOBUF:
+                return Base64.getEncoder().encodeToString(message.toByteArray());
+            case JSON:
+                try {
+                    return JSON_PRINTER.print(message);
+                } catch (InvalidProtocolBufferException e) {
+                    return message.toString();
+                }
+            default:
+                return message.toString();
+        }
+    }
+
 
     /**
      * Converts a {@code Timestamp} object to a {@code LocalDateTime} object at the start of the day.
@@ -115,4 +167,32 @@ public class EventPublisherUtil {
             return null;
         }
     }
+
+    /**
+     * {@code EventPayload} whose extended data payload is resolved from its supplier on first read.
+     */
+    private static final class DeferredEventPayload extends EventPayload {
+
+        private Supplier<String> payloadSupplier;
+
+        private DeferredEventPayload(Supplier<String> payloadSupplier) {
+            this.payloadSupplier = payloadSupplier;
+        }
+
+        @Override
+        public String getExtendedDataPayload() {
+            Supplier<String> supplier = payloadSupplier;
+            if (supplier != null) {
+                super.setExtendedDataPayload(supplier.get());
+                payloadSupplier = null;
+            }
+            return super.getExtendedDataPayload();
+        }
+
+        @Override
+        public void setExtendedDataPayload(String extendedDataPayload) {
+            payloadSupplier = null;
+            super.setExtendedDataPayload(extendedDataPayload);
+        }
+    }
 }
@@ -0,0 +1,25 @@
+package com.nationsbenefits.igloo.iso8583.adapter.util;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Encodings of protobuf messages carried in the extended data payload of an event.
+ */
+public enum PayloadEncoding {
+
+    /**
+     * Protobuf text format, as produced by {@code Message.toString()}.
+     */
+    TEXT,
+
+    /**
+     * Base64 of the binary protobuf encoding. The most compact and cheapest to produce.
+     */
+    BASE64_PROTOBUF,
+
+    /**
+     * Compact protobuf JSON.
+     */
+    JSON
+}
@@ -0,0 +1,175 @@
+package com.nationsbenefits.igloo.iso8583.adapter.warmup;
+
+import com.nationsbenefits.igloo.authengine.grpc.AuthRequest;
+import com.nationsbenefits.igloo.authengine.grpc.AuthorizationServiceGrpc;
+import com.nationsbenefits.igloo.iso8583.adapter.config.WarmupProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.service.ISOMessageProcessorService;
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @author PwC
+ *
+ * Warms the service up before it reports ready, so the first real authorizations after a deploy do not pay for
+ * class loading, JIT compilation and connection setup. Application runners complete before the readiness state
+ * changes to accepting traffic, so the pod only receives traffic once the warm-up is done.
+ * The warm-up connects the Auth Engine channel and checks it with a call to the mock authorization method, then
+ * replays the configured synthetic messages through unpack, canonical model creation and pack in timed batches
+ * until the mean time per message stops changing. No authorization is requested and no event is published.
+ * The duration of both phases is published as {@code iso8583.warmup.duration}. A failing warm-up is logged and
+ * does not stop the service from starting. With {@code exitAfterWarmup} the application shuts down afterwards,
+ * which makes the warm-up the training run the class data sharing archive of the startup image is recorded from.
+ */
+@Slf4j
+@Component
+public class WarmupRunner implements ApplicationRunner {
+
+    private final WarmupProperties warmupProperties;
+
+    private final ISOMessageProcessorService isoMessageProcessorService;
+
+    private final ManagedChannel managedChannel;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ApplicationContext applicationContext;
+
+    @Value("${authengine.service.deadlineTimeout}")
+    private int deadlineTimeout;
+
+    /**
+     * Constructor for WarmupRunner.
+     *
+     * @param warmupProperties           the warm-up configuration.
+     * @param isoMessageProcessorService the service the synthetic messages are replayed through.
+     * @param managedChannel             the channel to the Auth Engine.
+     * @param meterRegistry              the registry the warm-up duration is published to.
+     * @param applicationContext         the context closed after a training run.
+     */
+    public WarmupRunner(WarmupProperties warmupProperties, ISOMessageProcessorService isoMessageProcessorService,
+                        ManagedChannel managedChannel, MeterRegistry meterRegistry, ApplicationContext applicationContext) {
+        this.warmupProperties = warmupProperties;
+        this.isoMessageProcessorService = isoMessageProcessorService;
+        this.managedChannel = managedChannel;
+        this.meterRegistry = meterRegistry;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!warmupProperties.isEnabled()) {
+            return;
+        }
+        long channelStart = System.nanoTime();
+        warmUpChannel();
+        record("channel", channelStart);
+        long messagesStart = System.nanoTime();
+        int replayed = warmUpMessages();
+        record("messages", messagesStart);
+        log.info("Warm-up completed in {} ms, {} synthetic messages replayed",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - channelStart), replayed);
+        if (warmupProperties.isExitAfterWarmup()) {
+            log.info("Warm-up: training run done, shutting down");
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+    }
+
+    /**
+     * Connects the Auth Engine channel and checks it with a call to the mock authorization method.
+     *
+     * @return true if the channel is connected.
+     */
+    boolean warmUpChannel() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(warmupProperties.getChannelTimeout());
+        try {
+            ConnectivityState state = managedChannel.getState(true);
+            while (state != ConnectivityState.READY && state != ConnectivityState.SHUTDOWN && System.nanoTime() < deadline) {
+                CountDownLatch changed = new CountDownLatch(1);
+                managedChannel.notifyWhenStateChanged(state, changed::countDown);
+                changed.await(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                state = managedChannel.getState(true);
+            }
+            if (state != ConnectivityState.READY) {
+                log.warn("Warm-up: Auth Engine channel not connected after {} ms, state {}", warmupProperties.getChannelTimeout(), state);
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (warmupProperties.isHealthCheck()) {
+            try {
+                AuthorizationServiceGrpc.newBlockingStub(managedChannel).withDeadlineAfter(deadlineTimeout, TimeUnit.MILLISECONDS)
+                        .processAuthorizationMock(AuthRequest.getDefaultInstance());
+            } catch (StatusRuntimeException e) {
+                // any answer from the Auth Engine proves the connection, only a missing answer is a failure
+                if (e.getStatus().getCode() == Status.Code.UNAVAILABLE || e.getStatus().getCode() == Status.Code.DEADLINE_EXCEEDED) {
+                    log.warn("Warm-up: Auth Engine health check failed : {}", e.getStatus());
+                    return false;
+                }
+            }
+        }
+        log.info("Warm-up: Auth Engine channel connected");
+        return true;
+    }
+
+    /**
+     * Replays the synthetic messages in batches until the mean time per message is stable or the maximum number of
+     * messages is reached.
+     *
+     * @return the number of messages replayed.
+     */
+    int warmUpMessages() {
+        List<byte[]> messages = warmupProperties.getMessages().stream()
+                .map(message -> message.getBytes(StandardCharsets.ISO_8859_1)).toList();
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        int batchSize = Math.max(1, warmupProperties.getBatchSize());
+        int replayed = 0;
+        int stable = 0;
+        double previousMean = -1;
+        try {
+            while (replayed < warmupProperties.getMaxIterations()) {
+                long batchStart = System.nanoTime();
+                for (int i = 0; i < batchSize; i++) {
+                    isoMessageProcessorService.warmUp(messages.get((replayed + i) % messages.size()));
+                }
+                double mean = (double) (System.nanoTime() - batchStart) / batchSize;
+                replayed += batchSize;
+                stable = previousMean > 0 && Math.abs(mean - previousMean) / previousMean < warmupProperties.getStabilityThreshold() ? stable + 1 : 0;
+                previousMean = mean;
+                if (replayed >= warmupProperties.getMinIterations() && stable >= warmupProperties.getStableBatches()) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Warm-up: synthetic message could not be processed : {}", e.getMessage());
+        }
+        log.info("Warm-up: {} synthetic messages replayed, {} us per message", replayed, Math.round(previousMean / 1000));
+        return replayed;
+    }
+
+    private void record(String phase, long startNanos) {
+        Timer.builder("iso8583.warmup.duration").description("Duration of the startup warm-up")
+                .tag("phase", phase).register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,80 @@
+#!/usr/bin/env bash
+#
+# Copyright Â© 2024, NationsBenefits. All Rights reserved
+# @author PwC
+#
+# Compares the time to first authorization and the resident memory of two images of the adapter, run by the
+# "startup" Maven profile: mvn -Pstartup -DskipTests verify
+#
+# Usage: startup-report.sh <baseline image> <startup image> [runs]
+#
+# Every run starts a fresh container and posts the sample 0100 to /iso8583/message until an 0110 comes back. The
+# time to first authorization is measured from "docker run" to that response, the RSS of the JVM is read right
+# after it. Configuration the service needs to start in the target environment (secrets, Auth Engine host, network)
+# is passed through STARTUP_REPORT_DOCKER_ARGS, e.g. "--env-file startup.env --network igloo".
+
+set -euo pipefail
+
+BASELINE_IMAGE=${1:?baseline image}
+STARTUP_IMAGE=${2:?startup image}
+RUNS=${3:-5}
+TIMEOUT_SECONDS=${STARTUP_REPORT_TIMEOUT:-120}
+MESSAGE=${STARTUP_REPORT_MESSAGE:-01007238400108C1800116531445985901234400000000000000010001107221801234561234560007225912153003452177470003576d1a7a8f1ae806c79455a4ca9a322ba4bce9cb3b4e69f35f59649c3e8bcf41234567812345678901234500624=123USD}
+read -r -a DOCKER_ARGS <<< "${STARTUP_REPORT_DOCKER_ARGS:-}"
+
+now_ms() {
+    date +%s%3N
+}
+
+# RSS of the container's main process in MiB, from /proc on the docker host or from docker stats otherwise
+rss_mib() {
+    local container=$1 pid
+    pid=$(docker inspect -f '{{.State.Pid}}' "$container")
+    if [[ -r /proc/$pid/status ]]; then
+        awk '/^VmRSS:/ { printf "%.0f", $2 / 1024 }' "/proc/$pid/status"
+    else
+        docker stats --no-stream --format '{{.MemUsage}}' "$container" | awk '{ print $1 }'
+    fi
+}
+
+# Prints "<time to first authorization ms> <rss MiB>" for one fresh container of the image
+measure() {
+    local image=$1 container port start response deadline
+    start=$(now_ms)
+    container=$(docker run -d -p 127.0.0.1::8080 "${DOCKER_ARGS[@]}" "$image")
+    deadline=$((start + TIMEOUT_SECONDS * 1000))
+    port=""
+    until [[ -n $port ]]; do
+        port=$(docker port "$container" 8080/tcp 2> /dev/null | head -1 | awk -F: '{ print $NF }')
+    done
+    while true; do
+        response=$(curl -s --max-time 5 -H 'Content-Type: application/octet-stream' --data-binary "$MESSAGE" \
+            "http://127.0.0.1:$port/iso8583/message" | head -c 4 || true)
+        if [[ $response == 0110 ]]; then
+            break
+        fi
+        if (( $(now_ms) > deadline )); then
+            echo "no authorization from $image within ${TIMEOUT_SECONDS}s" >&2
+            docker logs --tail 50 "$container" >&2
+            docker rm -f "$container" > /dev/null
+            return 1
+        fi
+        sleep 0.05
+    done
+    echo "$(($(now_ms) - start)) $(rss_mib "$container")"
+    docker rm -f "$container" > /dev/null
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print (NR % 2) ? values[(NR + 1) / 2] : (values[NR / 2] + values[NR / 2 + 1]) / 2 }'
+}
+
+report() {
+    local image=$1 results
+    results=$(for ((run = 1; run <= RUNS; run++)); do measure "$image"; done)
+    printf '%-50s %12s %10s\n' "$image" "$(awk '{ print $1 }' <<< "$results" | median)" "$(awk '{ print $2 }' <<< "$results" | median)"
+}
+
+printf '%-50s %12s %10s\n' "image (median of $RUNS runs)" "TTFA ms" "RSS MiB"
+report "$BASELINE_IMAGE"
+report "$STARTUP_IMAGE"
@@ -0,0 +1,110 @@
+package com.nationsbenefits.igloo.iso8583.adapter.client;
+
+import com.nationsbenefits.igloo.iso8583.adapter.config.AuthEngineLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <h1>AdaptiveConcurrencyLimiterTest</h1>
+ * This AdaptiveConcurrencyLimiterTest is a junit test class for AdaptiveConcurrencyLimiter
+ *
+ * @author PwC
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @since 17th October 2026
+ */
+@ExtendWith(SpringExtension.class)
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST_RTT = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AuthEngineLimitProperties properties;
+
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new AuthEngineLimitProperties();
+        properties.setInitialLimit(10);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(50);
+        limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+    }
+
+    @Test
+    void testCallsOverTheLimitAreRejected() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        assertFalse(limiter.tryAcquire());
+        assertEquals(10, limiter.getInFlight());
+        assertEquals(1.0, meterRegistry.get("iso8583.authengine.concurrency.rejected").counter().count());
+        assertEquals(10.0, meterRegistry.get("iso8583.authengine.concurrency.inflight").gauge().value());
+
+        limiter.release();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void testLimitGrowsWhileLatencyIsStable() {
+        acquire(10);
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(FAST_RTT, false);
+        }
+
+        assertTrue(limiter.getLimit() > 10);
+        assertEquals(limiter.getLimit(), meterRegistry.get("iso8583.authengine.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    void testLimitShrinksWhenLatencyRises() {
+        acquire(10);
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(FAST_RTT, false);
+        }
+        int stableLimit = limiter.getLimit();
+
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(FAST_RTT * 10, false);
+        }
+
+        assertTrue(limiter.getLimit() < stableLimit);
+    }
+
+    @Test
+    void testLimitBacksOffOnDroppedCallsDownToTheMinimum() {
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(FAST_RTT, true);
+        }
+
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void testNothingIsRejectedWhenDisabled() {
+        properties.setEnabled(false);
+
+        acquire(20);
+
+        assertEquals(20, limiter.getInFlight());
+        assertEquals(0.0, meterRegistry.get("iso8583.authengine.concurrency.rejected").counter().count());
+    }
+
+    private void acquire(int calls) {
+        for (int i = 0; i < calls; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+    }
+}
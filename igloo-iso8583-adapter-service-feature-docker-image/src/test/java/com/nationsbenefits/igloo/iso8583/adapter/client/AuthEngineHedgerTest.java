@@ -0,0 +1,119 @@
+package com.nationsbenefits.igloo.iso8583.adapter.client;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.nationsbenefits.igloo.iso8583.adapter.config.HedgingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <h1>AuthEngineHedgerTest</h1>
+ * This AuthEngineHedgerTest is a junit test class for AuthEngineHedger
+ *
+ * @author PwC
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @since 17th October 2026
+ */
+@ExtendWith(SpringExtension.class)
+class AuthEngineHedgerTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private final List<SettableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AuthEngineHedger hedger;
+
+    @BeforeEach
+    public void setUp() {
+        HedgingProperties properties = new HedgingProperties();
+        properties.setEnabled(true);
+        properties.setMinDelay(1);
+        properties.setSampleWindow(AuthEngineHedger.RECOMPUTE_INTERVAL);
+        meterRegistry = new SimpleMeterRegistry();
+        hedger = new AuthEngineHedger(properties, scheduler, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    void testNoCopyIsSentBeforeTheWindowIsFull() throws Exception {
+        ListenableFuture<String> result = hedger.call(this::newAttempt);
+        TimeUnit.MILLISECONDS.sleep(20);
+
+        assertEquals(1, attempts.size());
+        assertEquals(-1, hedger.getHedgeDelay(TimeUnit.MILLISECONDS));
+        attempts.get(0).set("primary");
+        assertEquals("primary", result.get());
+    }
+
+    @Test
+    void testSlowCallIsHedgedAndTheFirstAnswerWins() throws Exception {
+        warmUp(TimeUnit.MILLISECONDS.toNanos(2));
+
+        ListenableFuture<String> result = hedger.call(this::newAttempt);
+        awaitAttempts(2);
+        attempts.get(1).set("hedge");
+
+        assertEquals("hedge", result.get(1, TimeUnit.SECONDS));
+        assertTrue(attempts.get(0).isCancelled());
+        assertEquals(1.0, meterRegistry.get("iso8583.authengine.hedge").tag("result", "sent").counter().count());
+        assertEquals(1.0, meterRegistry.get("iso8583.authengine.hedge").tag("result", "won").counter().count());
+    }
+
+    @Test
+    void testCallFailsOnlyWhenEveryCopyFailed() throws Exception {
+        warmUp(TimeUnit.MILLISECONDS.toNanos(2));
+        IllegalStateException failure = new IllegalStateException("unavailable");
+
+        ListenableFuture<String> result = hedger.call(this::newAttempt);
+        awaitAttempts(2);
+        attempts.get(0).setException(failure);
+        assertThrows(TimeoutException.class, () -> result.get(50, TimeUnit.MILLISECONDS));
+        attempts.get(1).setException(failure);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertSame(failure, exception.getCause());
+    }
+
+    private ListenableFuture<String> newAttempt() {
+        SettableFuture<String> attempt = SettableFuture.create();
+        attempts.add(attempt);
+        return attempt;
+    }
+
+    private void warmUp(long rttNanos) {
+        for (int i = 0; i < AuthEngineHedger.RECOMPUTE_INTERVAL; i++) {
+            hedger.recordSample(rttNanos);
+        }
+    }
+
+    private void awaitAttempts(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (attempts.size() < count && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        assertEquals(count, attempts.size());
+    }
+}
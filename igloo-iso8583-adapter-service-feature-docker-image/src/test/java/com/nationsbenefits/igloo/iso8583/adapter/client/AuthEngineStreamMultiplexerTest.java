@@ -0,0 +1,162 @@
+package com.nationsbenefits.igloo.iso8583.adapter.client;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.nationsbenefits.igloo.authengine.grpc.AuthRequest;
+import com.nationsbenefits.igloo.authengine.grpc.AuthResponse;
+import com.nationsbenefits.igloo.authengine.grpc.AuthStreamRequest;
+import com.nationsbenefits.igloo.authengine.grpc.AuthStreamResponse;
+import com.nationsbenefits.igloo.authengine.grpc.AuthorizationServiceGrpc;
+import com.nationsbenefits.igloo.authengine.grpc.ISOMessage;
+import com.nationsbenefits.igloo.common.models.grpc.Transaction;
+import com.nationsbenefits.igloo.iso8583.adapter.config.AuthEngineStreamProperties;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <h1>AuthEngineStreamMultiplexerTest</h1>
+ * This AuthEngineStreamMultiplexerTest is a junit test class for AuthEngineStreamMultiplexer
+ *
+ * @author PwC
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @since 17th October 2026
+ */
+@ExtendWith(SpringExtension.class)
+class AuthEngineStreamMultiplexerTest {
+
+    private final List<AuthStreamRequest> received = new CopyOnWriteArrayList<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private Server server;
+
+    private ManagedChannel channel;
+
+    private AuthEngineStreamMultiplexer multiplexer;
+
+    @BeforeEach
+    public void setUp() {
+        AuthEngineStreamProperties properties = new AuthEngineStreamProperties();
+        properties.setEnabled(true);
+        properties.setStreamsPerChannel(1);
+        properties.setMaxStreamAge(60000);
+        setUp(properties, new AuthorizationServiceGrpc.AuthorizationServiceImplBase() {
+            @Override
+            public StreamObserver<AuthStreamRequest> processAuthorizationStream(StreamObserver<AuthStreamResponse> responseObserver) {
+                return new StreamObserver<>() {
+                    @Override
+                    public void onNext(AuthStreamRequest request) {
+                        received.add(request);
+                        // answer both requests in reverse order once the second one arrived, a single request stays unanswered
+                        if (received.size() == 2) {
+                            for (int i = received.size() - 1; i >= 0; i--) {
+                                AuthStreamRequest answered = received.get(i);
+                                responseObserver.onNext(AuthStreamResponse.newBuilder().setRequestId(answered.getRequestId())
+                                        .setAuthResponse(AuthResponse.newBuilder().setStatusCode(answered.getTransactionId())).build());
+                            }
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        responseObserver.onCompleted();
+                    }
+                };
+            }
+        });
+    }
+
+    private void setUp(AuthEngineStreamProperties properties, AuthorizationServiceGrpc.AuthorizationServiceImplBase service) {
+        try {
+            server = NettyServerBuilder.forPort(0).addService(service).build().start();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        channel = ManagedChannelBuilder.forAddress("localhost", server.getPort()).usePlaintext().build();
+        multiplexer = new AuthEngineStreamMultiplexer(properties, channel, scheduler, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        stopServer();
+        scheduler.shutdownNow();
+    }
+
+    private void stopServer() throws InterruptedException {
+        multiplexer.close();
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testResponsesAreMatchedToTheirRequestsInAnyOrder() throws Exception {
+        ListenableFuture<AuthResponse> first = multiplexer.send(request("TXN-1"), 5000);
+        ListenableFuture<AuthResponse> second = multiplexer.send(request("TXN-2"), 5000);
+
+        assertEquals("TXN-1", first.get(5, TimeUnit.SECONDS).getStatusCode());
+        assertEquals("TXN-2", second.get(5, TimeUnit.SECONDS).getStatusCode());
+        assertEquals(List.of("TXN-1", "TXN-2"), received.stream().map(AuthStreamRequest::getTransactionId).toList());
+    }
+
+    @Test
+    void testRequestWithoutResponseFailsAfterItsTimeout() {
+        ListenableFuture<AuthResponse> response = multiplexer.send(request("TXN-silent"), 100);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> response.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(StatusRuntimeException.class, e.getCause());
+        assertEquals(Status.Code.DEADLINE_EXCEEDED, ((StatusRuntimeException) e.getCause()).getStatus().getCode());
+    }
+
+    @Test
+    void testAuthEngineWithoutStreamingFallsBackToUnaryCalls() throws Exception {
+        stopServer();
+        AuthEngineStreamProperties properties = new AuthEngineStreamProperties();
+        properties.setEnabled(true);
+        setUp(properties, new AuthorizationServiceGrpc.AuthorizationServiceImplBase() {
+            @Override
+            public void processAuthorizationRequest(AuthRequest request, StreamObserver<AuthResponse> responseObserver) {
+                responseObserver.onNext(AuthResponse.newBuilder().setStatusCode(request.getIsoMessage().getTransaction().getID()).build());
+                responseObserver.onCompleted();
+            }
+        });
+        assertTrue(multiplexer.isAvailable());
+
+        ListenableFuture<AuthResponse> response = multiplexer.send(request("TXN-1"), 5000);
+
+        assertEquals("TXN-1", response.get(5, TimeUnit.SECONDS).getStatusCode());
+        assertFalse(multiplexer.isAvailable());
+    }
+
+    private static AuthRequest request(String transactionId) {
+        return AuthRequest.newBuilder().setIsoMessage(ISOMessage.newBuilder()
+                .setTransaction(Transaction.newBuilder().setID(transactionId))).build();
+    }
+}
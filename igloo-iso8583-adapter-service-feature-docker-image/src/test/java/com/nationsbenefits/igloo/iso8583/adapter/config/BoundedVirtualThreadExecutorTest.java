@@ -0,0 +1,82 @@
+package com.nationsbenefits.igloo.iso8583.adapter.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <h1>BoundedVirtualThreadExecutorTest</h1>
+ * This BoundedVirtualThreadExecutorTest is a junit test class for BoundedVirtualThreadExecutor
+ *
+ * @author PwC
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @since 17th October 2026
+ */
+@ExtendWith(SpringExtension.class)
+class BoundedVirtualThreadExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BoundedVirtualThreadExecutor executor;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new BoundedVirtualThreadExecutor("test", 1, 1, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        release.countDown();
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testTasksBeyondInFlightAndQueueLimitsAreRejected() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitRelease();
+        });
+        executor.execute(this::awaitRelease);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        assertEquals(1, executor.getInFlight());
+        assertEquals(1.0, meterRegistry.get("iso8583.executor.rejected").tag("executor", "test").counter().count());
+        assertEquals(1.0, meterRegistry.get("iso8583.executor.inflight").tag("executor", "test").gauge().value());
+    }
+
+    @Test
+    void testShutdownCompletesStartedTasks() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
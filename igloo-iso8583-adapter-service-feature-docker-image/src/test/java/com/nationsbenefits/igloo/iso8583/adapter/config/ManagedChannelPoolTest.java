@@ -0,0 +1,69 @@
+package com.nationsbenefits.igloo.iso8583.adapter.config;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * <h1>ManagedChannelPoolTest</h1>
+ * This ManagedChannelPoolTest is a junit test class for ManagedChannelPool
+ *
+ * @author PwC
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @since 17th October 2026
+ */
+@ExtendWith(SpringExtension.class)
+class ManagedChannelPoolTest {
+
+    @Test
+    void testRoundRobinPicksEveryChannelInTurn() {
+        ManagedChannelPool pool = new ManagedChannelPool(List.of(mockChannel(), mockChannel(), mockChannel()),
+                GrpcServerProperties.ChannelPicking.ROUND_ROBIN, new SimpleMeterRegistry());
+
+        assertEquals(List.of(0, 1, 2, 0), List.of(pool.pick(), pool.pick(), pool.pick(), pool.pick()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testLeastOutstandingPicksTheIdleChannelUntilItsCallCloses() {
+        ManagedChannel busy = mockChannel();
+        ManagedChannel idle = mockChannel();
+        ClientCall<Object, Object> busyCall = mock(ClientCall.class);
+        when(busy.newCall(any(), any())).thenReturn(busyCall);
+        ManagedChannelPool pool = new ManagedChannelPool(List.of(busy, idle),
+                GrpcServerProperties.ChannelPicking.LEAST_OUTSTANDING, new SimpleMeterRegistry());
+
+        pool.newCall(mock(MethodDescriptor.class), CallOptions.DEFAULT).start(mock(ClientCall.Listener.class), new Metadata());
+
+        assertEquals(1, pool.getOutstanding(0));
+        assertEquals(List.of(1, 1), List.of(pool.pick(), pool.pick()));
+
+        ArgumentCaptor<ClientCall.Listener<Object>> listener = ArgumentCaptor.forClass(ClientCall.Listener.class);
+        verify(busyCall).start(listener.capture(), any());
+        listener.getValue().onClose(Status.OK, new Metadata());
+
+        assertEquals(0, pool.getOutstanding(0));
+    }
+
+    private static ManagedChannel mockChannel() {
+        ManagedChannel channel = mock(ManagedChannel.class);
+        when(channel.newCall(any(), any())).thenReturn(mock(ClientCall.class));
+        return channel;
+    }
+}
@@ -1,5 +1,6 @@
 package com.nationsbenefits.igloo.iso8583.adapter.controller;
 
+import com.nationsbenefits.igloo.iso8583.adapter.service.BulkISOMessageProcessorService;
 import com.nationsbenefits.igloo.iso8583.adapter.service.ISOMessageProcessorService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,13 +14,22 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
 
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -37,6 +47,8 @@ class ISO8583ApiImplTest {
     private ISO8583ApiImpl iso8583Api;
     @Mock
     private ISOMessageProcessorService isoMessageProcessorService;
+    @Mock
+    private BulkISOMessageProcessorService bulkISOMessageProcessorService;
     private MockMvc mockMvc;
 
     @BeforeEach
@@ -62,4 +74,55 @@ class ISO8583ApiImplTest {
         verify(isoMessageProcessorService, times(1)).processISOMessage(anyString());
     }
 
+    @Test
+    void testProcessISOMessageBytes() throws Exception {
+        // Given
+        byte[] request = {0x01, 0x00, (byte) 0xF2, 0x38, 0x00};
+        byte[] response = {0x01, 0x10, (byte) 0xF2, 0x38, 0x02};
+        when(isoMessageProcessorService.processISOMessage(request)).thenReturn(response);
+
+        // When
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.post("/iso8583/message")
+                .content(request)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)).andExpect(status().isOk()).andReturn();
+
+        // Then
+        assertArrayEquals(response, result.getResponse().getContentAsByteArray());
+        verify(isoMessageProcessorService, times(1)).processISOMessage(request);
+    }
+
+    @Test
+    void testProcessISOMessageAsync() throws Exception {
+        // Given
+        when(isoMessageProcessorService.processISOMessageAsync(anyString())).thenReturn(CompletableFuture.completedFuture("0110response"));
+
+        // When
+        MvcResult asyncResult = mockMvc.perform(MockMvcRequestBuilders.post("/iso8583/message/async")
+                .content("0100request")
+                .contentType(MediaType.TEXT_PLAIN)).andExpect(request().asyncStarted()).andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult)).andExpect(status().isOk()).andReturn();
+
+        // Then
+        assertEquals("0110response", result.getResponse().getContentAsString());
+        verify(isoMessageProcessorService, times(1)).processISOMessageAsync(anyString());
+    }
+
+    @Test
+    void testProcessISOMessagesBulkStreamsTheResponses() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            invocation.getArgument(0, InputStream.class).transferTo(invocation.getArgument(1));
+            return 1L;
+        }).when(bulkISOMessageProcessorService).process(any(), any(), eq(BulkISOMessageProcessorService.Framing.NEWLINE));
+
+        // When
+        MvcResult asyncResult = mockMvc.perform(MockMvcRequestBuilders.post("/iso8583/messages/bulk")
+                .content("0100request\n")
+                .contentType(MediaType.TEXT_PLAIN)).andExpect(request().asyncStarted()).andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult)).andExpect(status().isOk()).andReturn();
+
+        // Then
+        assertEquals("0100request\n", result.getResponse().getContentAsString());
+    }
+
 }
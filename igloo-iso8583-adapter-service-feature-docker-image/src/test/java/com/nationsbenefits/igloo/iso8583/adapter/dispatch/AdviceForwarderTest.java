@@ -0,0 +1,150 @@
+package com.nationsbenefits.igloo.iso8583.adapter.dispatch;
+
+import com.nationsbenefits.igloo.authengine.grpc.AdviceRequest;
+import com.nationsbenefits.igloo.authengine.grpc.AdviceResponse;
+import com.nationsbenefits.igloo.authengine.grpc.AuthRequest;
+import com.nationsbenefits.igloo.authengine.grpc.AuthorizationServiceGrpc;
+import com.nationsbenefits.igloo.authengine.grpc.ISOMessage;
+import com.nationsbenefits.igloo.common.models.grpc.Transaction;
+import com.nationsbenefits.igloo.iso8583.adapter.config.DispatchProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static com.nationsbenefits.igloo.iso8583.adapter.constant.ISOAdapterConstant.AUTH_ENGINE_CIRCUIT_BREAKER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <h1>AdviceForwarderTest</h1>
+ * This AdviceForwarderTest is a junit test class for AdviceForwarder
+ *
+ * @author PwC
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @since 17th October 2026
+ */
+@ExtendWith(SpringExtension.class)
+class AdviceForwarderTest {
+
+    @TempDir
+    Path adviceDirectory;
+
+    private final List<String> received = new CopyOnWriteArrayList<>();
+
+    private final Set<String> failing = ConcurrentHashMap.newKeySet();
+
+    private Server server;
+
+    private ManagedChannel channel;
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AdviceQueue adviceQueue;
+
+    private AdviceForwarder adviceForwarder;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = NettyServerBuilder.forPort(0).addService(new AuthorizationServiceGrpc.AuthorizationServiceImplBase() {
+            @Override
+            public void processAdvice(AdviceRequest request, StreamObserver<AdviceResponse> responseObserver) {
+                String transactionId = request.getAuthRequest().getIsoMessage().getTransaction().getID();
+                received.add(transactionId);
+                if (failing.contains(transactionId)) {
+                    responseObserver.onError(Status.UNAVAILABLE.asRuntimeException());
+                } else {
+                    responseObserver.onNext(AdviceResponse.getDefaultInstance());
+                    responseObserver.onCompleted();
+                }
+            }
+        }).build().start();
+        channel = ManagedChannelBuilder.forAddress("localhost", server.getPort()).usePlaintext().build();
+        DispatchProperties properties = new DispatchProperties();
+        properties.setAdviceDirectory(adviceDirectory.toString());
+        properties.setAdviceSyncOnWrite(false);
+        properties.setAdviceQueueCapacity(3);
+        properties.setAdviceBatchSize(2);
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        meterRegistry = new SimpleMeterRegistry();
+        adviceQueue = new AdviceQueue(properties, meterRegistry);
+        adviceQueue.open();
+        adviceForwarder = new AdviceForwarder(properties, adviceQueue, circuitBreakerRegistry, channel, meterRegistry);
+        ReflectionTestUtils.setField(adviceForwarder, "deadlineTimeout", 5000);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        adviceQueue.close();
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testQueuedAdvicesAreForwardedInBatches() {
+        for (int i = 1; i <= 3; i++) {
+            assertTrue(adviceForwarder.offer(advice("TXN-" + i)));
+        }
+        assertFalse(adviceForwarder.offer(advice("TXN-4")));
+
+        assertEquals(3, adviceForwarder.forward());
+        assertEquals(Set.of("TXN-1", "TXN-2", "TXN-3"), Set.copyOf(received));
+        assertEquals(3.0, meterRegistry.get("iso8583.advice.forwarded").counter().count());
+        assertEquals(1.0, meterRegistry.get("iso8583.advice.rejected").counter().count());
+        assertEquals(0.0, meterRegistry.get("iso8583.advice.queued").gauge().value());
+    }
+
+    @Test
+    void testFailedAdviceStaysQueuedAndEndsTheRun() {
+        failing.add("TXN-2");
+        for (int i = 1; i <= 3; i++) {
+            adviceForwarder.offer(advice("TXN-" + i));
+        }
+
+        assertEquals(1, adviceForwarder.forward());
+        assertEquals(1.0, meterRegistry.get("iso8583.advice.failed").counter().count());
+        assertEquals(2.0, meterRegistry.get("iso8583.advice.queued").gauge().value());
+
+        failing.clear();
+        received.clear();
+        assertEquals(2, adviceForwarder.forward());
+        assertEquals(Set.of("TXN-2", "TXN-3"), Set.copyOf(received));
+    }
+
+    @Test
+    void testNothingIsForwardedWhileTheCircuitBreakerIsOpen() {
+        circuitBreakerRegistry.circuitBreaker(AUTH_ENGINE_CIRCUIT_BREAKER).transitionToOpenState();
+        adviceForwarder.offer(advice("TXN-1"));
+
+        assertEquals(0, adviceForwarder.forward());
+        assertTrue(received.isEmpty());
+        assertEquals(1, adviceQueue.size());
+    }
+
+    private static AuthRequest advice(String transactionId) {
+        return AuthRequest.newBuilder().setIsoMessage(ISOMessage.newBuilder()
+                .setTransaction(Transaction.newBuilder().setID(transactionId))).build();
+    }
+}
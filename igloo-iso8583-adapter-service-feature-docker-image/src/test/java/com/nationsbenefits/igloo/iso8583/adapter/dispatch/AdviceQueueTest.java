@@ -0,0 +1,134 @@
+package com.nationsbenefits.igloo.iso8583.adapter.dispatch;
+
+import com.nationsbenefits.igloo.authengine.grpc.AdviceRequest;
+import com.nationsbenefits.igloo.authengine.grpc.AuthResponse;
+import com.nationsbenefits.igloo.iso8583.adapter.config.DispatchProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <h1>AdviceQueueTest</h1>
+ * This AdviceQueueTest is a junit test class for AdviceQueue
+ *
+ * @author PwC
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @since 17th October 2026
+ */
+@ExtendWith(SpringExtension.class)
+class AdviceQueueTest {
+
+    @TempDir
+    Path adviceDirectory;
+
+    private DispatchProperties properties;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new DispatchProperties();
+        properties.setAdviceDirectory(adviceDirectory.toString());
+    }
+
+    @Test
+    void testAdvicesAreReturnedInOrderAndSurviveARestart() {
+        AdviceQueue adviceQueue = openQueue();
+        adviceQueue.append(advice("1"));
+        adviceQueue.append(advice("2"));
+        adviceQueue.append(advice("3"));
+        assertEquals(List.of(advice("1"), advice("2")), adviceQueue.peek(2));
+        adviceQueue.acknowledge(1);
+        adviceQueue.close();
+
+        AdviceQueue reopened = openQueue();
+
+        assertEquals(2, reopened.size());
+        assertEquals(List.of(advice("2"), advice("3")), reopened.peek(5));
+        reopened.acknowledge(2);
+        assertTrue(reopened.peek(5).isEmpty());
+        assertEquals(0, reopened.size());
+        reopened.close();
+    }
+
+    @Test
+    void testPartiallyWrittenAdviceIsDiscardedOnOpen() throws IOException {
+        AdviceQueue adviceQueue = openQueue();
+        adviceQueue.append(advice("1"));
+        adviceQueue.close();
+        Files.write(adviceDirectory.resolve("advice.log"), new byte[]{0, 0, 0, 50, 1, 2}, StandardOpenOption.APPEND);
+
+        AdviceQueue reopened = openQueue();
+        reopened.append(advice("2"));
+
+        assertEquals(2, reopened.size());
+        assertEquals(List.of(advice("1"), advice("2")), reopened.peek(5));
+        reopened.close();
+    }
+
+    @Test
+    void testAdviceFailingItsChecksumIsDiscardedOnOpen() throws IOException {
+        AdviceQueue adviceQueue = openQueue();
+        adviceQueue.append(advice("1"));
+        adviceQueue.append(advice("2"));
+        adviceQueue.close();
+        Path log = adviceDirectory.resolve("advice.log");
+        byte[] bytes = Files.readAllBytes(log);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(log, bytes);
+
+        AdviceQueue reopened = openQueue();
+
+        assertEquals(1, reopened.size());
+        assertEquals(List.of(advice("1")), reopened.peek(5));
+        reopened.close();
+    }
+
+    @Test
+    void testConcurrentAppendsAreAllDurable() throws Exception {
+        AdviceQueue adviceQueue = openQueue();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> appends = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String statusCode = String.valueOf(i);
+            appends.add(executor.submit(() -> adviceQueue.append(advice(statusCode))));
+        }
+        for (Future<?> append : appends) {
+            append.get();
+        }
+        executor.shutdown();
+        adviceQueue.close();
+
+        AdviceQueue reopened = openQueue();
+        Set<AdviceRequest> advices = new HashSet<>(reopened.peek(500));
+
+        assertEquals(200, advices.size());
+        reopened.close();
+    }
+
+    private AdviceQueue openQueue() {
+        AdviceQueue adviceQueue = new AdviceQueue(properties, new SimpleMeterRegistry());
+        adviceQueue.open();
+        return adviceQueue;
+    }
+
+    private static AdviceRequest advice(String statusCode) {
+        return AdviceRequest.newBuilder().setDecision(AuthResponse.newBuilder().setStatusCode(statusCode)).build();
+    }
+}
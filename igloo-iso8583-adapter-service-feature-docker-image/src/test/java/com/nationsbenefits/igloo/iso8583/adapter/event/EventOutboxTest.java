@@ -0,0 +1,140 @@
+package com.nationsbenefits.igloo.iso8583.adapter.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nationsbenefits.igloo.domain.event.EventHeader;
+import com.nationsbenefits.igloo.domain.event.EventPayload;
+import com.nationsbenefits.igloo.event.publisher.service.EventPublisherService;
+import com.nationsbenefits.igloo.iso8583.adapter.config.OutboxProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.nationsbenefits.igloo.iso8583.adapter.util.EventPublisherUtil.buildEventHeader;
+import static com.nationsbenefits.igloo.iso8583.adapter.util.EventPublisherUtil.buildEventPayload;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * <h1>EventOutboxTest</h1>
+ * This EventOutboxTest is a junit test class for EventOutbox and EventOutboxShipper
+ *
+ * @author PwC
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @since 17th October 2026
+ */
+@ExtendWith(SpringExtension.class)
+class EventOutboxTest {
+
+    @Mock
+    private EventPublisherService eventPublisherService;
+
+    @TempDir
+    private Path directory;
+
+    private OutboxProperties properties;
+
+    private EventOutbox outbox;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new OutboxProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setCommitDelay(0);
+        outbox = open();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        outbox.close();
+    }
+
+    @Test
+    void testEventsAreShippedInOrderWithoutPublishingOnTheCallerThread() {
+        EventHeader header = buildEventHeader("txn-1");
+        List<EventPayload> first = List.of(buildEventPayload("RECEIVED", "a"));
+        List<EventPayload> second = List.of(buildEventPayload("SENT", "b"));
+
+        outbox.publish(header, first);
+        outbox.publish(header, second);
+
+        verify(eventPublisherService, never()).publishEventAsync(any(), anyList());
+        assertEquals(2, outbox.getDepth());
+        assertEquals(2, newShipper().ship());
+        verify(eventPublisherService, times(1)).publishEventAsync(header, first);
+        verify(eventPublisherService, times(1)).publishEventAsync(header, second);
+        assertEquals(0, outbox.getDepth());
+    }
+
+    @Test
+    void testShippingResumesFromPersistedOffsetAfterRestart() {
+        EventHeader header = buildEventHeader("txn-1");
+        List<EventPayload> shipped = List.of(buildEventPayload("RECEIVED", "a"));
+        List<EventPayload> pending = List.of(buildEventPayload("SENT", "b"));
+        outbox.publish(header, shipped);
+        newShipper().ship();
+        outbox.publish(header, pending);
+        outbox.close();
+
+        outbox = open();
+
+        assertEquals(1, outbox.getDepth());
+        assertEquals(1, newShipper().ship());
+        verify(eventPublisherService, times(1)).publishEventAsync(header, shipped);
+        verify(eventPublisherService, times(1)).publishEventAsync(header, pending);
+    }
+
+    @Test
+    void testFailedEventIsShippedAgainAndDeliveredSegmentsAreDeleted() throws IOException {
+        outbox.close();
+        properties.setSegmentSize(512);
+        outbox = open();
+        EventHeader header = buildEventHeader("txn-1");
+        for (int i = 0; i < 6; i++) {
+            outbox.publish(header, List.of(buildEventPayload("RECEIVED", String.valueOf(i))));
+        }
+        EventOutboxShipper shipper = newShipper();
+        doThrow(new IllegalStateException("Kafka unavailable")).when(eventPublisherService).publishEventAsync(any(), anyList());
+
+        assertEquals(0, shipper.ship());
+        assertEquals(6, outbox.getDepth());
+
+        doNothing().when(eventPublisherService).publishEventAsync(any(), anyList());
+        assertEquals(6, shipper.ship());
+        assertEquals(1, countSegments());
+    }
+
+    private long countSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".segment")).count();
+        }
+    }
+
+    private EventOutbox open() {
+        EventOutbox eventOutbox = new EventOutbox(properties, eventPublisherService, new ObjectMapper().findAndRegisterModules(),
+                new SimpleMeterRegistry());
+        eventOutbox.open();
+        return eventOutbox;
+    }
+
+    private EventOutboxShipper newShipper() {
+        return new EventOutboxShipper(properties, outbox, eventPublisherService, new SimpleMeterRegistry());
+    }
+}
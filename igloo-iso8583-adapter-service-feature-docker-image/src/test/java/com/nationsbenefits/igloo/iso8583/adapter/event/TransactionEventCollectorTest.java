@@ -0,0 +1,154 @@
+package com.nationsbenefits.igloo.iso8583.adapter.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nationsbenefits.igloo.domain.event.EventHeader;
+import com.nationsbenefits.igloo.domain.event.EventPayload;
+import com.nationsbenefits.igloo.event.publisher.service.EventPublisherService;
+import com.nationsbenefits.igloo.iso8583.adapter.config.EventCollectorProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.config.OutboxProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.constant.EventConstant;
+import com.nationsbenefits.igloo.iso8583.adapter.metrics.AuthorizationMetrics;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.nationsbenefits.igloo.iso8583.adapter.util.EventPublisherUtil.buildEventHeader;
+import static com.nationsbenefits.igloo.iso8583.adapter.util.EventPublisherUtil.buildEventPayload;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * <h1>TransactionEventCollectorTest</h1>
+ * This TransactionEventCollectorTest is a junit test class for TransactionEventCollector
+ *
+ * @author PwC
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @since 17th October 2026
+ */
+@ExtendWith(SpringExtension.class)
+class TransactionEventCollectorTest {
+
+    @Mock
+    private EventPublisherService eventPublisherService;
+
+    private EventCollectorProperties properties;
+
+    private TransactionEventCollector collector;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new EventCollectorProperties();
+        AuthorizationMetrics authorizationMetrics = new AuthorizationMetrics(new SimpleMeterRegistry(), CircuitBreakerRegistry.ofDefaults(), Retry.ofDefaults("test"));
+        collector = new TransactionEventCollector(new EventOutbox(new OutboxProperties(), eventPublisherService, new ObjectMapper(), new SimpleMeterRegistry()), properties, authorizationMetrics);
+    }
+
+    @Test
+    void testEventsArePublishedInOrderWithTheRichestHeader() {
+        EventHeader minimalHeader = buildEventHeader("txn-1");
+        EventHeader fullHeader = buildEventHeader("txn-1");
+        fullHeader.setSourceApplicationName("iso8583-adapter");
+        EventPayload received = buildEventPayload("RECEIVED", "a");
+        EventPayload triggered = buildEventPayload("TRIGGERED", "b");
+        EventPayload sent = buildEventPayload("SENT", "c");
+
+        collector.record("txn-1", minimalHeader, List.of(received));
+        collector.record("txn-1", fullHeader, List.of(triggered));
+        collector.record("txn-1", minimalHeader, List.of(sent));
+        verify(eventPublisherService, never()).publishEventAsync(any(), anyList());
+
+        collector.complete("txn-1");
+        verify(eventPublisherService, times(1)).publishEventAsync(fullHeader, List.of(received, triggered, sent));
+        assertEquals(0, collector.getOpenTransactions());
+    }
+
+    @Test
+    void testTimedOutTransactionIsPublished() {
+        properties.setTimeout(0);
+        EventHeader header = buildEventHeader("txn-2");
+        EventPayload received = buildEventPayload("RECEIVED", "a");
+        collector.record("txn-2", header, List.of(received));
+
+        collector.publishTimedOut();
+
+        verify(eventPublisherService, times(1)).publishEventAsync(header, List.of(received));
+        assertEquals(0, collector.getOpenTransactions());
+    }
+
+    @Test
+    void testEventsArePublishedImmediatelyWhenCoalescingIsDisabled() {
+        properties.setCoalesce(false);
+        EventHeader header = buildEventHeader("txn-3");
+        List<EventPayload> payloads = List.of(buildEventPayload("RECEIVED", "a"));
+
+        collector.record("txn-3", header, payloads);
+
+        verify(eventPublisherService, times(1)).publishEventAsync(header, payloads);
+        assertEquals(0, collector.getOpenTransactions());
+    }
+
+    @Test
+    void testPlainApprovalIsPublishedAsSummaryEvent() {
+        properties.setApprovalDetailSampleRate(0);
+        EventHeader header = buildEventHeader("txn-4");
+        collector.record("txn-4", header, List.of(buildEventPayload(EventConstant.ISO8583_MESSAGE_RECEIVED, "a"),
+                buildEventPayload(EventConstant.AUTHORIZATION_SUCCESS, "b")));
+
+        collector.complete("txn-4", new TransactionOutcome("0100", "00", false, 1000));
+
+        ArgumentCaptor<List<EventPayload>> payloads = ArgumentCaptor.forClass(List.class);
+        verify(eventPublisherService, times(1)).publishEventAsync(eq(header), payloads.capture());
+        assertEquals(1, payloads.getValue().size());
+        assertEquals(EventConstant.ISO8583_TRANSACTION_COMPLETED, payloads.getValue().get(0).getEventName());
+        assertEquals("mti=0100,responseCode=00,elapsedMicros=1,events=2", payloads.getValue().get(0).getExtendedDataPayload());
+    }
+
+    @Test
+    void testUnsampledApprovalPayloadsAreNeverEncoded() {
+        properties.setApprovalDetailSampleRate(0);
+        AtomicInteger encodings = new AtomicInteger();
+        EventHeader header = buildEventHeader("txn-9");
+        collector.record("txn-9", header, List.of(buildEventPayload(EventConstant.ISO8583_MESSAGE_RECEIVED, () -> "a" + encodings.incrementAndGet()),
+                buildEventPayload(EventConstant.AUTHORIZATION_SUCCESS, () -> "b" + encodings.incrementAndGet())));
+
+        collector.complete("txn-9", new TransactionOutcome("0100", "00", false, 1000));
+
+        verify(eventPublisherService, times(1)).publishEventAsync(eq(header), anyList());
+        assertEquals(0, encodings.get());
+    }
+
+    @Test
+    void testDeclinesFallbacksFailuresAndSlowTransactionsKeepTheirLifecycle() {
+        properties.setApprovalDetailSampleRate(0);
+        properties.setSlowThreshold(100);
+        EventHeader header = buildEventHeader("txn-5");
+        List<EventPayload> approved = List.of(buildEventPayload(EventConstant.AUTHORIZATION_SUCCESS, "a"));
+        List<EventPayload> failed = List.of(buildEventPayload(EventConstant.AUTHORIZATION_FAILED, "b"));
+
+        collector.record("txn-5", header, approved);
+        collector.complete("txn-5", new TransactionOutcome("0100", "05", false, 1000));
+        collector.record("txn-6", header, approved);
+        collector.complete("txn-6", new TransactionOutcome("0100", "00", true, 1000));
+        collector.record("txn-7", header, failed);
+        collector.complete("txn-7", new TransactionOutcome("0100", "00", false, 1000));
+        collector.record("txn-8", header, approved);
+        collector.complete("txn-8", new TransactionOutcome("0100", "00", false, TimeUnit.MILLISECONDS.toNanos(100)));
+
+        verify(eventPublisherService, times(3)).publishEventAsync(header, approved);
+        verify(eventPublisherService, times(1)).publishEventAsync(header, failed);
+    }
+}
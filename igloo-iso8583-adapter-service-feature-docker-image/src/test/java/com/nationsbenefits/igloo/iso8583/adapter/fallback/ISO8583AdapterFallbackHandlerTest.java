@@ -1,8 +1,15 @@
 package com.nationsbenefits.igloo.iso8583.adapter.fallback;
 import com.nationsbenefits.igloo.authengine.grpc.*;
+import com.nationsbenefits.igloo.iso8583.adapter.exception.AuthEngineConcurrencyLimitException;
+import com.nationsbenefits.igloo.iso8583.adapter.exception.ISOAdapterCircuitBreakerFallbackException;
+import com.nationsbenefits.igloo.iso8583.adapter.stip.StandInAuthorizer;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.grpc.Status;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -19,11 +26,14 @@ import static org.mockito.Mockito.*;
 class ISO8583AdapterFallbackHandlerTest {
 
 
+    @Mock
+    private StandInAuthorizer standInAuthorizer;
+
     private ISO8583AdapterFallbackHandler fallbackHandler;
 
     @BeforeEach
     public void setUp() {
-        fallbackHandler = new ISO8583AdapterFallbackHandler();
+        fallbackHandler = new ISO8583AdapterFallbackHandler(standInAuthorizer);
     }
 
     @Test
@@ -34,7 +44,7 @@ class ISO8583AdapterFallbackHandlerTest {
         when(authRequestMock.getIsoMessage()).thenReturn(ISOMessage.newBuilder().build());
 
         // Act
-        AuthResponse response = fallbackHandler.fallbackProcessAuthEngineResponse(authRequestMock);
+        AuthResponse response = fallbackHandler.fallbackProcessAuthEngineResponse(authRequestMock, Status.UNAVAILABLE.asRuntimeException());
 
         // Assert
         assertNotNull(response);
@@ -43,4 +53,31 @@ class ISO8583AdapterFallbackHandlerTest {
         assertEquals(AuthResponseCode.AUTH_ERROR, response.getResponseCode().getAuthResponseCode());
         assertEquals(AuthResponseCode.AUTH_ERROR.toString(), response.getResponseCode().getResponseDescription());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFallbackAuthorizesInStandInWhenEnabled() {
+        AuthRequest authRequest = AuthRequest.newBuilder().setIsoMessage(ISOMessage.newBuilder().build()).build();
+        AuthResponse standInResponse = AuthResponse.newBuilder().setStatusCode(AuthResponseCode.AUTH_ALLOW.toString()).build();
+        when(standInAuthorizer.isEnabled()).thenReturn(true);
+        when(standInAuthorizer.authorize(authRequest)).thenReturn(standInResponse);
+
+        AuthResponse response = fallbackHandler.fallbackProcessAuthEngineResponse(authRequest,
+                CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("test")));
+
+        assertSame(standInResponse, response);
+        assertSame(standInResponse, fallbackHandler.fallbackProcessAuthEngineResponse(authRequest,
+                new ISOAdapterCircuitBreakerFallbackException("Exception processing Authorization Engine Response", Status.DEADLINE_EXCEEDED.asRuntimeException())));
+    }
+
+    @Test
+    void testFallbackAnswersErrorWhenAuthEngineWasReached() {
+        AuthRequest authRequest = AuthRequest.newBuilder().setIsoMessage(ISOMessage.newBuilder().build()).build();
+        when(standInAuthorizer.isEnabled()).thenReturn(true);
+
+        assertEquals(AuthResponseCode.AUTH_ERROR.toString(), fallbackHandler.fallbackProcessAuthEngineResponse(authRequest,
+                new ISOAdapterCircuitBreakerFallbackException("Exception processing Authorization Engine Response", Status.INTERNAL.asRuntimeException())).getStatusCode());
+        assertEquals(AuthResponseCode.AUTH_ERROR.toString(), fallbackHandler.fallbackProcessAuthEngineResponse(authRequest,
+                new AuthEngineConcurrencyLimitException(10)).getStatusCode());
+        verify(standInAuthorizer, never()).authorize(any());
+    }
+}
@@ -0,0 +1,58 @@
+package com.nationsbenefits.igloo.iso8583.adapter.hash;
+
+import com.nationsbenefits.igloo.iso8583.adapter.config.HashingProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * <h1>CardDataHasherTest</h1>
+ * This CardDataHasherTest is a junit test class for CardDataHasher
+ *
+ * @author PwC
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @since 17th October 2026
+ */
+@ExtendWith(SpringExtension.class)
+class CardDataHasherTest {
+
+    @Test
+    void testMd5Hash() {
+        CardDataHasher hasher = new CardDataHasher(new HashingProperties());
+
+        assertEquals("900150983cd24fb0d6963f7d28e17f72", hasher.hash("abc"));
+        assertEquals("900150983cd24fb0d6963f7d28e17f72", hasher.hash("abc".getBytes(StandardCharsets.ISO_8859_1)));
+        assertNull(hasher.hash(""));
+        assertNull(hasher.hash((String) null));
+    }
+
+    @Test
+    void testHmacSha256Hash() {
+        HashingProperties properties = new HashingProperties();
+        properties.setAlgorithm(HashingProperties.HashAlgorithm.HMAC_SHA256);
+        properties.setHmacKey("Jefe");
+        CardDataHasher hasher = new CardDataHasher(properties);
+
+        assertEquals("5bdcc146bf60754e6a042426089575c75a003f089d2739839dec58b964ec3843",
+                hasher.hash("what do ya want for nothing?"));
+    }
+
+    @Test
+    void testHmacSha256RequiresKey() {
+        HashingProperties properties = new HashingProperties();
+        properties.setAlgorithm(HashingProperties.HashAlgorithm.HMAC_SHA256);
+
+        assertThrows(IllegalStateException.class, () -> new CardDataHasher(properties));
+    }
+
+    @Test
+    void testToHex() {
+        assertEquals("00ff7f80", CardDataHasher.toHex(new byte[]{0x00, (byte) 0xff, 0x7f, (byte) 0x80}));
+    }
+}
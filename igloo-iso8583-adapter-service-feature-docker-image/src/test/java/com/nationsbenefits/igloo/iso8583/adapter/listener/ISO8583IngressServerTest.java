@@ -0,0 +1,139 @@
+package com.nationsbenefits.igloo.iso8583.adapter.listener;
+
+import com.google.protobuf.ByteString;
+import com.nationsbenefits.igloo.iso8583.adapter.config.ExecutionProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.config.GrpcIngressProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.grpc.ISO8583IngressServiceGrpc;
+import com.nationsbenefits.igloo.iso8583.adapter.grpc.ISO8583Request;
+import com.nationsbenefits.igloo.iso8583.adapter.grpc.ISO8583Response;
+import com.nationsbenefits.igloo.iso8583.adapter.service.ISOMessageProcessorService;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * <h1>ISO8583IngressServerTest</h1>
+ * This ISO8583IngressServerTest is a junit test class for ISO8583IngressServer
+ *
+ * @author PwC
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @since 17th October 2026
+ */
+@ExtendWith(SpringExtension.class)
+class ISO8583IngressServerTest {
+
+    @Mock
+    private ISOMessageProcessorService isoMessageProcessorService;
+
+    private ISO8583IngressServer server;
+
+    private ManagedChannel channel;
+
+    private final Map<String, CompletableFuture<byte[]>> responses = new ConcurrentHashMap<>();
+
+    private final List<ISO8583Response> received = new CopyOnWriteArrayList<>();
+
+    private final CountDownLatch completed = new CountDownLatch(1);
+
+    @BeforeEach
+    public void setUp() {
+        GrpcIngressProperties properties = new GrpcIngressProperties();
+        properties.setPort(0);
+        properties.setMaxInFlightPerStream(2);
+        when(isoMessageProcessorService.processISOMessageAsync(any(byte[].class))).thenAnswer(invocation ->
+                responses.computeIfAbsent(new String(invocation.getArgument(0, byte[].class), StandardCharsets.ISO_8859_1),
+                        message -> new CompletableFuture<>()));
+        server = new ISO8583IngressServer(isoMessageProcessorService, properties, new ExecutionProperties(), new SimpleMeterRegistry());
+        server.start();
+        channel = ManagedChannelBuilder.forAddress("localhost", server.getLocalPort()).usePlaintext().build();
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        server.stop();
+    }
+
+    @Test
+    void testResponsesAreCorrelatedAndSentAsSoonAsReady() throws InterruptedException {
+        StreamObserver<ISO8583Request> requests = openStream();
+        requests.onNext(request(1, "0100STAN000001"));
+        requests.onNext(request(2, "0100STAN000002"));
+        verify(isoMessageProcessorService, timeout(5000).times(2)).processISOMessageAsync(any(byte[].class));
+
+        answer("0100STAN000002");
+        answer("0100STAN000001");
+        requests.onCompleted();
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(2L, 1L), received.stream().map(ISO8583Response::getCorrelationId).toList());
+        assertEquals("0110STAN000001", received.get(1).getMessage().toString(StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    void testMessagesBeyondTheInFlightLimitWaitInTheStream() {
+        StreamObserver<ISO8583Request> requests = openStream();
+        for (int i = 1; i <= 4; i++) {
+            requests.onNext(request(i, "0100STAN00000" + i));
+        }
+        verify(isoMessageProcessorService, timeout(5000).times(2)).processISOMessageAsync(any(byte[].class));
+        verify(isoMessageProcessorService, after(200).times(2)).processISOMessageAsync(any(byte[].class));
+
+        answer("0100STAN000001");
+
+        verify(isoMessageProcessorService, timeout(5000).times(3)).processISOMessageAsync(any(byte[].class));
+        requests.onCompleted();
+    }
+
+    private StreamObserver<ISO8583Request> openStream() {
+        return ISO8583IngressServiceGrpc.newStub(channel).exchange(new StreamObserver<>() {
+            @Override
+            public void onNext(ISO8583Response response) {
+                received.add(response);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                completed.countDown();
+            }
+
+            @Override
+            public void onCompleted() {
+                completed.countDown();
+            }
+        });
+    }
+
+    private void answer(String message) {
+        responses.get(message).complete(message.replaceFirst("0100", "0110").getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static ISO8583Request request(long correlationId, String message) {
+        return ISO8583Request.newBuilder().setCorrelationId(correlationId)
+                .setMessage(ByteString.copyFrom(message, StandardCharsets.ISO_8859_1)).build();
+    }
+}
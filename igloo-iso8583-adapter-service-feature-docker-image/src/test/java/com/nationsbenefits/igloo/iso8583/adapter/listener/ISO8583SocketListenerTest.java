@@ -0,0 +1,189 @@
+package com.nationsbenefits.igloo.iso8583.adapter.listener;
+
+import com.nationsbenefits.igloo.iso8583.adapter.config.ExecutionProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.config.SocketListenerProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.service.ISOMessageProcessorService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * <h1>ISO8583SocketListenerTest</h1>
+ * This ISO8583SocketListenerTest is a junit test class for ISO8583SocketListener
+ *
+ * @author PwC
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @since 17th October 2026
+ */
+@ExtendWith(SpringExtension.class)
+class ISO8583SocketListenerTest {
+
+    @Mock
+    private ISOMessageProcessorService isoMessageProcessorService;
+
+    private ISO8583SocketListener listener;
+
+    @BeforeEach
+    public void setUp() {
+        SocketListenerProperties properties = new SocketListenerProperties();
+        properties.setPort(0);
+        properties.setMaxFrameLength(64);
+        properties.setWorkerThreads(2);
+        when(isoMessageProcessorService.processISOMessage(any(byte[].class)))
+                .thenAnswer(invocation -> new String(invocation.getArgument(0, byte[].class), StandardCharsets.ISO_8859_1)
+                        .replaceFirst("0100", "0110").getBytes(StandardCharsets.ISO_8859_1));
+        listener = new ISO8583SocketListener(isoMessageProcessorService, properties, new ExecutionProperties(), new SimpleMeterRegistry());
+        listener.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        listener.stop();
+    }
+
+    @Test
+    void testPipelinedMessagesAreAnsweredOnTheSameConnection() throws IOException {
+        try (Socket socket = new Socket("localhost", listener.getLocalPort())) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+
+            writeFrame(out, "0100STAN000001");
+            writeFrame(out, "0100STAN000002");
+
+            Set<String> responses = new HashSet<>();
+            responses.add(readFrame(in));
+            responses.add(readFrame(in));
+
+            assertEquals(Set.of("0110STAN000001", "0110STAN000002"), responses);
+        }
+    }
+
+    @Test
+    void testOversizedFrameClosesConnection() throws IOException {
+        try (Socket socket = new Socket("localhost", listener.getLocalPort())) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeShort(65);
+            out.flush();
+
+            assertTrue(socket.getInputStream().read() < 0);
+        }
+    }
+
+    @Test
+    void testFramesBeyondTheInFlightLimitWaitForAFreeSlot() throws IOException {
+        SocketListenerProperties properties = new SocketListenerProperties();
+        properties.setPort(0);
+        properties.setMaxInFlightPerConnection(1);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(isoMessageProcessorService.processISOMessage(any(byte[].class))).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return invocation.getArgument(0, byte[].class);
+        });
+        ISO8583SocketListener limitedListener = new ISO8583SocketListener(isoMessageProcessorService, properties, new ExecutionProperties(), new SimpleMeterRegistry());
+        limitedListener.start();
+        try (Socket socket = new Socket("localhost", limitedListener.getLocalPort())) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            for (int i = 1; i <= 3; i++) {
+                writeFrame(out, "0100STAN00000" + i);
+            }
+
+            Set<String> responses = new HashSet<>();
+            for (int i = 1; i <= 3; i++) {
+                responses.add(readFrame(in));
+            }
+
+            assertEquals(Set.of("0100STAN000001", "0100STAN000002", "0100STAN000003"), responses);
+            assertEquals(1, maxInFlight.get());
+        } finally {
+            limitedListener.stop();
+        }
+    }
+
+    @Test
+    void testMessagesBeyondTheWorkerQueueAreDroppedInPlatformMode() throws Exception {
+        SocketListenerProperties properties = new SocketListenerProperties();
+        properties.setPort(0);
+        properties.setWorkerThreads(1);
+        properties.setWorkerQueueCapacity(1);
+        ExecutionProperties executionProperties = new ExecutionProperties();
+        executionProperties.setMode(ExecutionProperties.ExecutionMode.PLATFORM);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(isoMessageProcessorService.processISOMessage(any(byte[].class))).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(0, byte[].class);
+        });
+        ISO8583SocketListener platformListener = new ISO8583SocketListener(isoMessageProcessorService, properties, executionProperties, new SimpleMeterRegistry());
+        platformListener.start();
+        try (Socket socket = new Socket("localhost", platformListener.getLocalPort())) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            writeFrame(out, "0100STAN000001");
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            writeFrame(out, "0100STAN000002");
+            writeFrame(out, "0100STAN000003");
+            Thread.sleep(200);
+            release.countDown();
+
+            Set<String> responses = new HashSet<>();
+            responses.add(readFrame(in));
+            responses.add(readFrame(in));
+
+            assertEquals(Set.of("0100STAN000001", "0100STAN000002"), responses);
+            verify(isoMessageProcessorService, times(2)).processISOMessage(any(byte[].class));
+        } finally {
+            platformListener.stop();
+        }
+    }
+
+    @Test
+    void testListenerOnlyStartsWithTheContextWhenEnabled() {
+        SocketListenerProperties properties = new SocketListenerProperties();
+        ISO8583SocketListener contextListener = new ISO8583SocketListener(isoMessageProcessorService, properties, new ExecutionProperties(), new SimpleMeterRegistry());
+        assertFalse(contextListener.isAutoStartup());
+
+        properties.setEnabled(true);
+        assertTrue(contextListener.isAutoStartup());
+    }
+
+    private static void writeFrame(DataOutputStream out, String message) throws IOException {
+        byte[] bytes = message.getBytes(StandardCharsets.ISO_8859_1);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+        out.flush();
+    }
+
+    private static String readFrame(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readUnsignedShort()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+}
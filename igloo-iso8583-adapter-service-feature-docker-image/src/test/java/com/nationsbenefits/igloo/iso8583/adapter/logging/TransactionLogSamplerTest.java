@@ -0,0 +1,45 @@
+package com.nationsbenefits.igloo.iso8583.adapter.logging;
+
+import com.nationsbenefits.igloo.iso8583.adapter.config.LoggingProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <h1>TransactionLogSamplerTest</h1>
+ * This TransactionLogSamplerTest is a junit test class for TransactionLogSampler
+ *
+ * @author PwC
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @since 17th October 2026
+ */
+@ExtendWith(SpringExtension.class)
+class TransactionLogSamplerTest {
+
+    @Test
+    void testRatesOfZeroAndOneNeverAndAlwaysSample() {
+        LoggingProperties properties = new LoggingProperties();
+        TransactionLogSampler sampler = new TransactionLogSampler(properties);
+
+        properties.setSuccessSampleRate(0);
+        assertEquals(0, IntStream.range(0, 1000).filter(i -> sampler.sample()).count());
+        properties.setSuccessSampleRate(1);
+        assertEquals(1000, IntStream.range(0, 1000).filter(i -> sampler.sample()).count());
+    }
+
+    @Test
+    void testTransactionsAreSampledAtTheConfiguredRate() {
+        LoggingProperties properties = new LoggingProperties();
+        properties.setSuccessSampleRate(0.1);
+        TransactionLogSampler sampler = new TransactionLogSampler(properties);
+
+        long sampled = IntStream.range(0, 100000).filter(i -> sampler.sample()).count();
+
+        assertTrue(sampled > 9000 && sampled < 11000, "sampled " + sampled);
+    }
+}
@@ -0,0 +1,75 @@
+package com.nationsbenefits.igloo.iso8583.adapter.metrics;
+
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.nationsbenefits.igloo.iso8583.adapter.constant.ISOAdapterConstant.AUTH_ENGINE_CIRCUIT_BREAKER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <h1>AuthorizationMetricsTest</h1>
+ * This AuthorizationMetricsTest is a junit test class for AuthorizationMetrics
+ *
+ * @author PwC
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @since 17th October 2026
+ */
+@ExtendWith(SpringExtension.class)
+class AuthorizationMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    private AuthorizationMetrics authorizationMetrics;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        authorizationMetrics = new AuthorizationMetrics(meterRegistry, circuitBreakerRegistry, Retry.ofDefaults("test"));
+    }
+
+    @Test
+    void testMalformedMtiIsCountedAsInvalid() {
+        authorizationMetrics.countMessage("0100");
+        authorizationMetrics.countMessage("01X0");
+        authorizationMetrics.countMessage(null);
+
+        assertEquals(1.0, meterRegistry.get("iso8583.messages").tag("mti", "0100").counter().count());
+        assertEquals(2.0, meterRegistry.get("iso8583.messages").tag("mti", "invalid").counter().count());
+    }
+
+    @Test
+    void testFallbackIsCountedByCause() {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(AUTH_ENGINE_CIRCUIT_BREAKER);
+        authorizationMetrics.countFallback(CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+
+        assertEquals(1.0, meterRegistry.get("iso8583.auth.fallback").tag("cause", "CallNotPermittedException").counter().count());
+    }
+
+    @Test
+    void testCircuitBreakerStateGauge() {
+        circuitBreakerRegistry.circuitBreaker(AUTH_ENGINE_CIRCUIT_BREAKER).transitionToOpenState();
+
+        assertEquals(1.0, meterRegistry.get("iso8583.circuitbreaker.state").gauge().value());
+    }
+
+    @Test
+    void testStageTimerRecordsDuration() {
+        authorizationMetrics.recordStage(AuthorizationMetrics.Stage.UNPACK, System.nanoTime() - 1_000_000);
+
+        assertEquals(1, meterRegistry.get("iso8583.stage.duration").tag("stage", "unpack").timer().count());
+        assertTrue(meterRegistry.get("iso8583.stage.duration").tag("stage", "unpack").timer().totalTime(TimeUnit.MILLISECONDS) >= 1);
+    }
+}
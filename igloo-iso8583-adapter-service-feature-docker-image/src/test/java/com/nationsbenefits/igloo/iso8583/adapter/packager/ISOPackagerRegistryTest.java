@@ -0,0 +1,116 @@
+package com.nationsbenefits.igloo.iso8583.adapter.packager;
+
+import com.nationsbenefits.igloo.iso8583.adapter.config.PackagerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jpos.iso.ISOPackager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <h1>ISOPackagerRegistryTest</h1>
+ * This ISOPackagerRegistryTest is a junit test class for ISOPackagerRegistry
+ *
+ * @author PwC
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @since 17th October 2026
+ */
+@ExtendWith(SpringExtension.class)
+class ISOPackagerRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private PackagerProperties packagerProperties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        packagerProperties = new PackagerProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testDefaultDefinitionIsLoadedOnceAndShared() {
+        ISOPackagerRegistry registry = newRegistry();
+
+        ISOPackager first = registry.getPackager();
+        ISOPackager second = registry.getPackager("default");
+
+        assertNotNull(first);
+        assertSame(first, second);
+        assertEquals(1, meterRegistry.get("iso8583.packager.load").tag("definition", "default").timer().count());
+    }
+
+    @Test
+    void testUnknownDefinitionIsRejected() {
+        ISOPackagerRegistry registry = newRegistry();
+
+        assertThrows(IllegalArgumentException.class, () -> registry.getPackager("visa"));
+    }
+
+    @Test
+    void testNamedDefinitionsAreRegistered() throws IOException {
+        Path mastercard = copyFieldsXml("mastercard.xml");
+        packagerProperties.setDefinitions(Map.of("default", "classpath:fields.xml", "mastercard", mastercard.toUri().toString()));
+
+        ISOPackagerRegistry registry = newRegistry();
+
+        assertEquals(2, registry.getDefinitionNames().size());
+        assertNotSame(registry.getPackager(), registry.getPackager("mastercard"));
+    }
+
+    @Test
+    void testChangedDefinitionIsSwappedAtomically() throws IOException {
+        Path definition = copyFieldsXml("fields.xml");
+        packagerProperties.setDefinitions(Map.of("default", definition.toUri().toString()));
+        ISOPackagerRegistry registry = newRegistry();
+        ISOPackager before = registry.getPackager();
+
+        Files.setLastModifiedTime(definition, FileTime.fromMillis(System.currentTimeMillis() + 60000));
+        registry.reloadChangedDefinitions();
+
+        assertNotSame(before, registry.getPackager());
+    }
+
+    @Test
+    void testInvalidDefinitionKeepsPreviousPackager() throws IOException {
+        Path definition = copyFieldsXml("fields.xml");
+        packagerProperties.setDefinitions(Map.of("default", definition.toUri().toString()));
+        ISOPackagerRegistry registry = newRegistry();
+        ISOPackager before = registry.getPackager();
+
+        Files.writeString(definition, "<isopackager>");
+
+        assertFalse(registry.reload("default"));
+        assertSame(before, registry.getPackager());
+        assertEquals(1.0, meterRegistry.get("iso8583.packager.reload.failures").counter().count());
+    }
+
+    private ISOPackagerRegistry newRegistry() {
+        ISOPackagerRegistry registry = new ISOPackagerRegistry(packagerProperties, new DefaultResourceLoader(), meterRegistry);
+        registry.init();
+        return registry;
+    }
+
+    private Path copyFieldsXml(String fileName) throws IOException {
+        Path target = tempDir.resolve(fileName);
+        try (InputStream inputStream = getClass().getResourceAsStream("/fields.xml")) {
+            Files.copy(inputStream, target);
+        }
+        return target;
+    }
+}
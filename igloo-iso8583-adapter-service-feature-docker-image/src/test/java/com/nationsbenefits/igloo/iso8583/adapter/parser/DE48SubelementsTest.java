@@ -0,0 +1,68 @@
+package com.nationsbenefits.igloo.iso8583.adapter.parser;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * <h1>DE48SubelementsTest</h1>
+ * This DE48SubelementsTest is a junit test class for DE48Subelements
+ *
+ * @author PwC
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @since 17th October 2026
+ */
+@ExtendWith(SpringExtension.class)
+class DE48SubelementsTest {
+
+    @Test
+    void testDelimitedLookup() {
+        DE48Subelements subelements = DE48Subelements.parse("24=836|25=12345|3=x", DE48Format.DELIMITED, 0);
+
+        assertEquals(3, subelements.size());
+        assertEquals("836", subelements.get("24"));
+        assertEquals("12345", subelements.get("25"));
+        assertEquals("x", subelements.get("3"));
+        assertNull(subelements.get("2"));
+        assertFalse(subelements.contains("26"));
+    }
+
+    @Test
+    void testDelimitedSkipsEntriesWithoutValue() {
+        DE48Subelements subelements = DE48Subelements.parse("junk||24=|26=7", DE48Format.DELIMITED, 0);
+
+        assertEquals("", subelements.get("24"));
+        assertEquals("7", subelements.get("26"));
+        assertEquals(2, subelements.size());
+    }
+
+    @Test
+    void testTlvLookupWithPrefix() {
+        DE48Subelements subelements = DE48Subelements.parse("R2003abc2403123330512345", DE48Format.TLV, 1);
+
+        assertEquals(3, subelements.size());
+        assertEquals("abc", subelements.get("20"));
+        assertEquals("123", subelements.get("24"));
+        assertEquals("12345", subelements.get("33"));
+    }
+
+    @Test
+    void testTlvStopsAtMalformedSubelement() {
+        DE48Subelements subelements = DE48Subelements.parse("2403123249912", DE48Format.TLV, 0);
+
+        assertEquals(1, subelements.size());
+        assertEquals("123", subelements.get("24"));
+    }
+
+    @Test
+    void testEmptyField() {
+        assertEquals(0, DE48Subelements.parse(null, DE48Format.TLV, 0).size());
+        assertEquals(0, DE48Subelements.parse("R", DE48Format.TLV, 1).size());
+        assertTrue(DE48Subelements.parse("24=1", DE48Format.DELIMITED, 0).contains("24"));
+    }
+}
@@ -0,0 +1,118 @@
+package com.nationsbenefits.igloo.iso8583.adapter.service;
+
+import com.nationsbenefits.igloo.iso8583.adapter.config.BulkProcessingProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.service.impl.BulkISOMessageProcessorServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * <h1>BulkISOMessageProcessorServiceTest</h1>
+ * This BulkISOMessageProcessorServiceTest is a junit test class for BulkISOMessageProcessorServiceImpl
+ *
+ * @author PwC
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @since 17th October 2026
+ */
+@ExtendWith(SpringExtension.class)
+class BulkISOMessageProcessorServiceTest {
+
+    @Mock
+    private ISOMessageProcessorService isoMessageProcessorService;
+
+    private BulkProcessingProperties properties;
+
+    private BulkISOMessageProcessorService bulkISOMessageProcessorService;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        properties = new BulkProcessingProperties();
+        properties.setParallelism(2);
+        properties.setMaxMessageLength(32);
+        bulkISOMessageProcessorService = new BulkISOMessageProcessorServiceImpl(isoMessageProcessorService, properties);
+    }
+
+    @Test
+    void testResponsesAreWrittenInRequestOrderWhenCompletedOutOfOrder() throws IOException {
+        // odd messages complete later than the even message submitted after them
+        when(isoMessageProcessorService.processISOMessageAsync(any(byte[].class))).thenAnswer(invocation -> {
+            String message = new String(invocation.getArgument(0, byte[].class), StandardCharsets.ISO_8859_1);
+            byte[] answer = message.replaceFirst("0100", "0110").getBytes(StandardCharsets.ISO_8859_1);
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Executor executor = message.endsWith("1") || message.endsWith("3")
+                    ? CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS) : Runnable::run;
+            return CompletableFuture.supplyAsync(() -> {
+                inFlight.decrementAndGet();
+                return answer;
+            }, executor);
+        });
+        ByteArrayOutputStream request = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(request);
+        for (int i = 1; i <= 4; i++) {
+            byte[] message = ("0100STAN00000" + i).getBytes(StandardCharsets.ISO_8859_1);
+            out.writeShort(message.length);
+            out.write(message);
+        }
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+
+        long processed = bulkISOMessageProcessorService.process(new ByteArrayInputStream(request.toByteArray()), response,
+                BulkISOMessageProcessorService.Framing.LENGTH_PREFIXED);
+
+        assertEquals(4, processed);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        DataOutputStream expectedOut = new DataOutputStream(expected);
+        for (int i = 1; i <= 4; i++) {
+            byte[] message = ("0110STAN00000" + i).getBytes(StandardCharsets.ISO_8859_1);
+            expectedOut.writeShort(message.length);
+            expectedOut.write(message);
+        }
+        assertEquals(new String(expected.toByteArray(), StandardCharsets.ISO_8859_1), new String(response.toByteArray(), StandardCharsets.ISO_8859_1));
+        assertTrue(maxInFlight.get() <= properties.getParallelism());
+    }
+
+    @Test
+    void testNewlineDelimitedMessagesKeepOneResponseLinePerMessage() throws IOException {
+        when(isoMessageProcessorService.processISOMessageAsync(any(byte[].class))).thenAnswer(invocation -> {
+            String message = new String(invocation.getArgument(0, byte[].class), StandardCharsets.ISO_8859_1);
+            return message.equals("0100FAIL") ? CompletableFuture.failedFuture(new IllegalStateException("failed"))
+                    : CompletableFuture.completedFuture(message.replaceFirst("0100", "0110").getBytes(StandardCharsets.ISO_8859_1));
+        });
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+
+        long processed = bulkISOMessageProcessorService.process(new ByteArrayInputStream("0100A\r\n\n0100FAIL\n0100B".getBytes(StandardCharsets.ISO_8859_1)),
+                response, BulkISOMessageProcessorService.Framing.NEWLINE);
+
+        assertEquals(3, processed);
+        assertEquals("0110A\n\n0110B\n", response.toString(StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    void testOversizedMessageFailsTheRequest() {
+        byte[] request = ("0100" + "X".repeat(40) + "\n").getBytes(StandardCharsets.ISO_8859_1);
+
+        assertThrows(IOException.class, () -> bulkISOMessageProcessorService.process(new ByteArrayInputStream(request),
+                new ByteArrayOutputStream(), BulkISOMessageProcessorService.Framing.NEWLINE));
+    }
+}
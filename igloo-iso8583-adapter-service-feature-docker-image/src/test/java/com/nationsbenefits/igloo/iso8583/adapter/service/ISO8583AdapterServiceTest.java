@@ -13,6 +13,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.concurrent.CompletableFuture;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
@@ -55,6 +57,14 @@ class ISO8583AdapterServiceTest {
         assertEquals("ALLOW", actualResponse.getStatusCode());
     }
 
+    @Test
+    void testPerformAuthorizationAsync() {
+        when(ISO8583AdapterClientDelegate.processAuthTransactionAsync(any())).thenReturn(CompletableFuture.completedFuture(authResponse));
+        AuthResponse actualResponse = transactionService.performAuthorizationAsync(authRequest).join();
+        verify(ISO8583AdapterClientDelegate, times(1)).processAuthTransactionAsync(authRequest);
+        assertEquals("ALLOW", actualResponse.getStatusCode());
+    }
+
 
 
 
@@ -1,27 +1,62 @@
 package com.nationsbenefits.igloo.iso8583.adapter.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nationsbenefits.igloo.authengine.grpc.AuthRequest;
 import com.nationsbenefits.igloo.authengine.grpc.AuthResponse;
 
+import com.nationsbenefits.igloo.domain.event.EventHeader;
+import com.nationsbenefits.igloo.domain.event.EventPayload;
 import com.nationsbenefits.igloo.event.publisher.service.EventPublisherService;
+import com.nationsbenefits.igloo.iso8583.adapter.config.DE48Properties;
+import com.nationsbenefits.igloo.iso8583.adapter.config.DuplicateCacheProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.config.EventCollectorProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.config.HashingProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.config.LoggingProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.config.OutboxProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.config.PackagerProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.constant.EventConstant;
+import com.nationsbenefits.igloo.iso8583.adapter.dispatch.AdviceForwarder;
+import com.nationsbenefits.igloo.iso8583.adapter.dispatch.AdviceHandler;
+import com.nationsbenefits.igloo.iso8583.adapter.dispatch.ISOMessageDispatcher;
+import com.nationsbenefits.igloo.iso8583.adapter.dispatch.NetworkManagementHandler;
+import com.nationsbenefits.igloo.iso8583.adapter.event.EventOutbox;
+import com.nationsbenefits.igloo.iso8583.adapter.event.TransactionEventCollector;
+import com.nationsbenefits.igloo.iso8583.adapter.cache.DuplicateTransmissionCache;
+import com.nationsbenefits.igloo.iso8583.adapter.hash.CardDataHasher;
+import com.nationsbenefits.igloo.iso8583.adapter.logging.TransactionLogSampler;
+import com.nationsbenefits.igloo.iso8583.adapter.metrics.AuthorizationMetrics;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import com.nationsbenefits.igloo.iso8583.adapter.packager.ISOPackagerRegistry;
+import com.nationsbenefits.igloo.iso8583.adapter.parser.DE48Parser;
 import com.nationsbenefits.igloo.iso8583.adapter.service.impl.ISOMessageProcessorServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.jpos.iso.ISOException;
+import org.jpos.iso.ISOMsg;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -44,6 +79,13 @@ class ISOMessageProcessorServiceTest {
     @Mock
     private EventPublisherService eventPublisherService;
 
+    @Mock
+    private AdviceForwarder adviceForwarder;
+
+    private ISOPackagerRegistry isoPackagerRegistry;
+
+    private SimpleMeterRegistry meterRegistry;
+
     private String authRequest = "01007238400108C1800116531445985901234400000000000000010001107221801234561234560007225912153003452177470003576d1a7a8f1ae806c79455a4ca9a322ba4bce9cb3b4e69f35f59649c3e8bcf41234567812345678901234500624=123USD";
 
     @BeforeEach
@@ -51,6 +93,21 @@ class ISOMessageProcessorServiceTest {
         Map<String, Integer> currencyCodeMap = new HashMap<>();
         currencyCodeMap.put("USD", 840);
         ReflectionTestUtils.setField(isoMessageProcessorService, "currencyCodeMap", currencyCodeMap);
+        isoPackagerRegistry = new ISOPackagerRegistry(new PackagerProperties(), new DefaultResourceLoader(), new SimpleMeterRegistry());
+        isoPackagerRegistry.init();
+        ReflectionTestUtils.setField(isoMessageProcessorService, "isoPackagerRegistry", isoPackagerRegistry);
+        ReflectionTestUtils.setField(isoMessageProcessorService, "cardDataHasher", new CardDataHasher(new HashingProperties()));
+        ReflectionTestUtils.setField(isoMessageProcessorService, "de48Parser", new DE48Parser(new DE48Properties()));
+        meterRegistry = new SimpleMeterRegistry();
+        AuthorizationMetrics authorizationMetrics = new AuthorizationMetrics(meterRegistry, CircuitBreakerRegistry.ofDefaults(), Retry.ofDefaults("test"));
+        ReflectionTestUtils.setField(isoMessageProcessorService, "authorizationMetrics", authorizationMetrics);
+        ReflectionTestUtils.setField(isoMessageProcessorService, "transactionEventCollector",
+                new TransactionEventCollector(new EventOutbox(new OutboxProperties(), eventPublisherService, new ObjectMapper(), new SimpleMeterRegistry()), new EventCollectorProperties(), authorizationMetrics));
+        ReflectionTestUtils.setField(isoMessageProcessorService, "duplicateTransmissionCache",
+                new DuplicateTransmissionCache(new DuplicateCacheProperties(), meterRegistry));
+        ReflectionTestUtils.setField(isoMessageProcessorService, "transactionLogSampler", new TransactionLogSampler(new LoggingProperties()));
+        ReflectionTestUtils.setField(isoMessageProcessorService, "isoMessageDispatcher",
+                new ISOMessageDispatcher(List.of(new NetworkManagementHandler(), new AdviceHandler(adviceForwarder))));
     }
 
     /**
@@ -257,4 +314,205 @@ class ISOMessageProcessorServiceTest {
         assertEquals("", actualResponse);
     }
 
+    /**
+     * Tests processing the raw bytes of an ISO message with a successful authorization response.
+     */
+    @Test
+    void testProcessISOMessageBytes_success(){
+        AuthResponse authResponse = AuthResponse.newBuilder().setStatusCode("AUTH_ALLOW").build();
+        when(ISO8583AdapterService.performAuthorization(any(AuthRequest.class))).thenReturn(authResponse);
+        byte[] actualResponse = isoMessageProcessorService.processISOMessage(authRequest.getBytes(StandardCharsets.ISO_8859_1));
+        assertEquals("0110723840010AC1800016531445985901234400000000000000010001107221801234561234560007225912153003452177470003576d1a7a8f1ae806c79455a4ca9a322ba4bce9cb3b4e69f35f59649c3e8bcf4001234567812345678901234500624=123USD",
+                new String(actualResponse, StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * Tests processing an ISO message asynchronously with a successful authorization response.
+     */
+    @Test
+    void testProcessISOMessageAsync_success(){
+        AuthResponse authResponse = AuthResponse.newBuilder().setStatusCode("AUTH_ALLOW").build();
+        when(ISO8583AdapterService.performAuthorizationAsync(any(AuthRequest.class))).thenReturn(CompletableFuture.completedFuture(authResponse));
+        String actualResponse = isoMessageProcessorService.processISOMessageAsync(authRequest).join();
+        assertEquals("0110723840010AC1800016531445985901234400000000000000010001107221801234561234560007225912153003452177470003576d1a7a8f1ae806c79455a4ca9a322ba4bce9cb3b4e69f35f59649c3e8bcf4001234567812345678901234500624=123USD", actualResponse);
+        verify(ISO8583AdapterService,times(1)).performAuthorizationAsync(any());
+    }
+
+    /**
+     * Tests processing an ISO message asynchronously when the authorization completes exceptionally.
+     */
+    @Test
+    void testProcessISOMessageAsync_authorization_failure(){
+        when(ISO8583AdapterService.performAuthorizationAsync(any(AuthRequest.class))).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("auth engine down")));
+        String actualResponse = isoMessageProcessorService.processISOMessageAsync(authRequest).join();
+        assertEquals("", actualResponse);
+    }
+
+    /**
+     * Tests that a financial request takes the authorization path and is answered with 0210.
+     */
+    @Test
+    void testProcessISOMessage_financial_request_answered_with_0210(){
+        AuthResponse authResponse = AuthResponse.newBuilder().setStatusCode("AUTH_ALLOW").build();
+        when(ISO8583AdapterService.performAuthorization(any(AuthRequest.class))).thenReturn(authResponse);
+        String actualResponse = isoMessageProcessorService.processISOMessage(authRequest.replaceFirst("0100", "0200"));
+        assertTrue(actualResponse.startsWith("0210"));
+        verify(ISO8583AdapterService,times(1)).performAuthorization(any());
+    }
+
+    /**
+     * Tests that a network management request is answered in process without calling the auth engine.
+     */
+    @Test
+    void testProcessISOMessage_network_management_answered_in_process() throws ISOException {
+        ISOMsg echo = new ISOMsg("0800");
+        echo.setPackager(isoPackagerRegistry.getPackager());
+        echo.set(7, "1107221800");
+        echo.set(11, "123456");
+
+        ISOMsg response = unpack(isoMessageProcessorService.processISOMessage(echo.pack()));
+
+        assertEquals("0810", response.getMTI());
+        assertEquals("00", response.getString(39));
+        assertEquals("123456", response.getString(11));
+        verifyNoInteractions(ISO8583AdapterService);
+    }
+
+    /**
+     * Tests that an advice is acknowledged once queued for forwarding, without waiting for the auth engine.
+     */
+    @Test
+    void testProcessISOMessageAsync_advice_acknowledged_and_queued() throws ISOException {
+        when(adviceForwarder.offer(any(AuthRequest.class))).thenReturn(true);
+
+        ISOMsg response = unpack(isoMessageProcessorService.processISOMessageAsync(authRequest.replaceFirst("0100", "0420")
+                .getBytes(StandardCharsets.ISO_8859_1)).join());
+
+        assertEquals("0430", response.getMTI());
+        assertEquals("00", response.getString(39));
+        ArgumentCaptor<AuthRequest> advice = ArgumentCaptor.forClass(AuthRequest.class);
+        verify(adviceForwarder).offer(advice.capture());
+        assertEquals("REVERSAL_ADVICE", advice.getValue().getIsoMessage().getMessageType().getMessageType());
+        verifyNoInteractions(ISO8583AdapterService);
+    }
+
+    /**
+     * Tests that an advice which cannot be queued is not acknowledged.
+     */
+    @Test
+    void testProcessISOMessage_advice_not_acknowledged_when_queue_full(){
+        when(adviceForwarder.offer(any(AuthRequest.class))).thenReturn(false);
+        String actualResponse = isoMessageProcessorService.processISOMessage(authRequest.replaceFirst("0100", "0120"));
+        assertEquals("", actualResponse);
+        verify(ISO8583AdapterService, never()).performAuthorization(any());
+    }
+
+    /**
+     * Tests that a message with an unsupported MTI is not sent to the auth engine.
+     */
+    @Test
+    void testProcessISOMessage_unsupported_mti(){
+        String actualResponse = isoMessageProcessorService.processISOMessage(authRequest.replaceFirst("0100", "0600"));
+        assertEquals("", actualResponse);
+        verifyNoInteractions(ISO8583AdapterService);
+    }
+
+    /**
+     * Tests that all lifecycle events of a transaction are published in order as one record.
+     */
+    @Test
+    void testProcessISOMessage_events_published_once(){
+        AuthResponse authResponse = AuthResponse.newBuilder().setStatusCode("AUTH_ALLOW").build();
+        when(ISO8583AdapterService.performAuthorization(any(AuthRequest.class))).thenReturn(authResponse);
+        isoMessageProcessorService.processISOMessage(authRequest);
+
+        ArgumentCaptor<List<EventPayload>> payloads = ArgumentCaptor.forClass(List.class);
+        verify(eventPublisherService, times(1)).publishEventAsync(any(EventHeader.class), payloads.capture());
+        assertEquals(List.of(EventConstant.ISO8583_MESSAGE_RECEIVED, EventConstant.CANONICAL_MODEL_CREATED,
+                        EventConstant.AUTHORIZATION_PROCESS_TRIGGERED, EventConstant.AUTHORIZATION_SUCCESS,
+                        EventConstant.ISO8583_AUTH_SUCCESS_RESPONSE_CREATED, EventConstant.ISO8583_AUTH_RESPONSE_SEND),
+                payloads.getValue().stream().map(EventPayload::getEventName).toList());
+        assertEquals(1.0, meterRegistry.get("iso8583.messages").tag("mti", "0100").counter().count());
+        assertEquals(1.0, meterRegistry.get("iso8583.auth.status").tag("status", "AUTH_ALLOW").counter().count());
+        assertEquals(1.0, meterRegistry.get("iso8583.responses").tag("de39", "00").counter().count());
+        assertEquals(1, meterRegistry.get("iso8583.stage.duration").tag("stage", "pack").timer().count());
+        assertEquals(1, meterRegistry.get("iso8583.stage.duration").tag("stage", "event_publish").timer().count());
+    }
+
+    /**
+     * Tests that a retransmission is answered from the duplicate transmission cache without calling the auth engine again.
+     */
+    @Test
+    void testProcessISOMessage_retransmission_answered_from_cache(){
+        AuthResponse authResponse = AuthResponse.newBuilder().setStatusCode("AUTH_ALLOW").build();
+        when(ISO8583AdapterService.performAuthorization(any(AuthRequest.class))).thenReturn(authResponse);
+
+        String response = isoMessageProcessorService.processISOMessage(authRequest);
+        String retransmissionResponse = isoMessageProcessorService.processISOMessage(authRequest);
+
+        assertEquals(response, retransmissionResponse);
+        verify(ISO8583AdapterService, times(1)).performAuthorization(any(AuthRequest.class));
+        assertEquals(1.0, meterRegistry.get("iso8583.duplicates").tag("result", "miss").counter().count());
+        assertEquals(1.0, meterRegistry.get("iso8583.duplicates").tag("result", "hit").counter().count());
+    }
+
+    /**
+     * Tests that a retransmission answered from the cache reports the response code of the cached response.
+     */
+    @Test
+    void testProcessISOMessage_retransmission_reports_cached_response_code(){
+        EventCollectorProperties eventCollectorProperties = new EventCollectorProperties();
+        eventCollectorProperties.setApprovalDetailSampleRate(0.0);
+        ReflectionTestUtils.setField(isoMessageProcessorService, "transactionEventCollector",
+                new TransactionEventCollector(new EventOutbox(new OutboxProperties(), eventPublisherService, new ObjectMapper(), new SimpleMeterRegistry()), eventCollectorProperties,
+                        new AuthorizationMetrics(meterRegistry, CircuitBreakerRegistry.ofDefaults(), Retry.ofDefaults("test"))));
+        AuthResponse authResponse = AuthResponse.newBuilder().setStatusCode("AUTH_ALLOW").build();
+        when(ISO8583AdapterService.performAuthorization(any(AuthRequest.class))).thenReturn(authResponse);
+
+        isoMessageProcessorService.processISOMessage(authRequest);
+        isoMessageProcessorService.processISOMessage(authRequest);
+
+        ArgumentCaptor<List<EventPayload>> payloads = ArgumentCaptor.forClass(List.class);
+        verify(eventPublisherService, times(2)).publishEventAsync(any(EventHeader.class), payloads.capture());
+        for (List<EventPayload> published : payloads.getAllValues()) {
+            assertEquals(List.of(EventConstant.ISO8583_TRANSACTION_COMPLETED), published.stream().map(EventPayload::getEventName).toList());
+            assertTrue(published.get(0).getExtendedDataPayload().contains("responseCode=00"));
+        }
+    }
+
+    /**
+     * Tests that a retransmission arriving while the original is in flight waits for the original response.
+     */
+    @Test
+    void testProcessISOMessageAsync_inflight_retransmission_waits_for_original(){
+        CompletableFuture<AuthResponse> authResponse = new CompletableFuture<>();
+        when(ISO8583AdapterService.performAuthorizationAsync(any(AuthRequest.class))).thenReturn(authResponse);
+
+        CompletableFuture<String> response = isoMessageProcessorService.processISOMessageAsync(authRequest);
+        CompletableFuture<String> retransmissionResponse = isoMessageProcessorService.processISOMessageAsync(authRequest);
+        authResponse.complete(AuthResponse.newBuilder().setStatusCode("AUTH_ALLOW").build());
+
+        assertEquals(response.join(), retransmissionResponse.join());
+        verify(ISO8583AdapterService, times(1)).performAuthorizationAsync(any(AuthRequest.class));
+        assertEquals(1.0, meterRegistry.get("iso8583.duplicates").tag("result", "coalesced").counter().count());
+    }
+
+    /**
+     * Tests that a warm-up message is packed without calling the auth engine, publishing events or counting metrics.
+     */
+    @Test
+    void testWarmUp_packs_approval_without_side_effects(){
+        byte[] response = isoMessageProcessorService.warmUp(authRequest.getBytes(StandardCharsets.ISO_8859_1));
+
+        assertTrue(new String(response, StandardCharsets.ISO_8859_1).startsWith("0110"));
+        verifyNoInteractions(ISO8583AdapterService, eventPublisherService);
+        assertTrue(meterRegistry.find("iso8583.messages").counters().isEmpty());
+    }
+
+    private ISOMsg unpack(byte[] packed) throws ISOException {
+        ISOMsg isoMsg = new ISOMsg();
+        isoMsg.setPackager(isoPackagerRegistry.getPackager());
+        isoMsg.unpack(packed);
+        return isoMsg;
+    }
 }
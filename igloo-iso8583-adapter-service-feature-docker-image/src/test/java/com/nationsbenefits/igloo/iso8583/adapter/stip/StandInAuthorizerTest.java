@@ -0,0 +1,131 @@
+package com.nationsbenefits.igloo.iso8583.adapter.stip;
+
+import com.nationsbenefits.igloo.authengine.grpc.AdviceRequest;
+import com.nationsbenefits.igloo.authengine.grpc.AuthRequest;
+import com.nationsbenefits.igloo.authengine.grpc.AuthResponse;
+import com.nationsbenefits.igloo.authengine.grpc.AuthResponseCode;
+import com.nationsbenefits.igloo.authengine.grpc.ISOMessage;
+import com.nationsbenefits.igloo.common.models.grpc.Amount;
+import com.nationsbenefits.igloo.common.models.grpc.Card;
+import com.nationsbenefits.igloo.common.models.grpc.Merchant;
+import com.nationsbenefits.igloo.common.models.grpc.Transaction;
+import com.nationsbenefits.igloo.iso8583.adapter.config.DispatchProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.config.StandInProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.dispatch.AdviceQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Set;
+
+import static com.nationsbenefits.igloo.iso8583.adapter.constant.ISOAdapterConstant.MESSAGE_TYPE_STAND_IN_ADVICE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * <h1>StandInAuthorizerTest</h1>
+ * This StandInAuthorizerTest is a junit test class for StandInAuthorizer
+ *
+ * @author PwC
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @since 17th October 2026
+ */
+@ExtendWith(SpringExtension.class)
+class StandInAuthorizerTest {
+
+    @TempDir
+    Path adviceDirectory;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AdviceQueue adviceQueue;
+
+    private StandInAuthorizer standInAuthorizer;
+
+    @BeforeEach
+    public void setUp() {
+        StandInProperties properties = new StandInProperties();
+        properties.setEnabled(true);
+        properties.setDefaultFloorLimit(5000);
+        properties.setMccFloorLimits(Map.of("5411", 15000L));
+        properties.setDailyAmountLimit(20000);
+        properties.setDailyCountLimit(3);
+        properties.setDeclinedPanHashes(Set.of("stolen"));
+        properties.setDeclinedCategoryCodes(Set.of("7995"));
+        DispatchProperties dispatchProperties = new DispatchProperties();
+        dispatchProperties.setAdviceDirectory(adviceDirectory.toString());
+        dispatchProperties.setAdviceSyncOnWrite(false);
+        meterRegistry = new SimpleMeterRegistry();
+        adviceQueue = new AdviceQueue(dispatchProperties, meterRegistry);
+        adviceQueue.open();
+        standInAuthorizer = new StandInAuthorizer(properties, adviceQueue, meterRegistry,
+                Clock.fixed(Instant.parse("2026-10-17T10:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        adviceQueue.close();
+    }
+
+    @Test
+    void testAmountWithinFloorLimitIsApprovedAndRecordedAsAdvice() {
+        AuthResponse response = standInAuthorizer.authorize(authRequest("pan", "5411", 12000));
+
+        assertEquals(AuthResponseCode.AUTH_ALLOW.toString(), response.getStatusCode());
+        assertEquals(StandInAuthorizer.STAND_IN_DESCRIPTION + AuthResponseCode.AUTH_ALLOW, response.getResponseCode().getResponseDescription());
+        assertEquals(1, adviceQueue.size());
+        AdviceRequest advice = adviceQueue.peek(1).get(0);
+        assertEquals(response, advice.getDecision());
+        assertEquals(MESSAGE_TYPE_STAND_IN_ADVICE, advice.getAuthRequest().getIsoMessage().getMessageType().getMessageType());
+        assertEquals(1.0, meterRegistry.get("iso8583.stip.decisions").tag("decision", "AUTH_ALLOW").counter().count());
+    }
+
+    @Test
+    void testAmountAboveFloorLimitIsDeclined() {
+        AuthResponse response = standInAuthorizer.authorize(authRequest("pan", "5999", 6000));
+
+        assertEquals(AuthResponseCode.AUTH_EXCEEDED_TRANSACTION_LIMIT.toString(), response.getStatusCode());
+        assertEquals(1, adviceQueue.size());
+    }
+
+    @Test
+    void testDeclineListsAreApplied() {
+        assertEquals(AuthResponseCode.AUTH_DENY.toString(), standInAuthorizer.authorize(authRequest("stolen", "5411", 100)).getStatusCode());
+        assertEquals(AuthResponseCode.AUTH_INVALID_MERCHANT.toString(), standInAuthorizer.authorize(authRequest("pan", "7995", 100)).getStatusCode());
+    }
+
+    @Test
+    void testDailyVelocityLimitsAreEnforcedPerCard() {
+        assertEquals(AuthResponseCode.AUTH_ALLOW.toString(), standInAuthorizer.authorize(authRequest("pan", "5411", 10000)).getStatusCode());
+        assertEquals(AuthResponseCode.AUTH_ALLOW.toString(), standInAuthorizer.authorize(authRequest("pan", "5411", 10000)).getStatusCode());
+        assertEquals(AuthResponseCode.AUTH_EXCEEDED_TRANSACTION_LIMIT.toString(), standInAuthorizer.authorize(authRequest("pan", "5411", 1)).getStatusCode());
+        assertEquals(AuthResponseCode.AUTH_ALLOW.toString(), standInAuthorizer.authorize(authRequest("other", "5411", 1)).getStatusCode());
+        assertEquals(AuthResponseCode.AUTH_ALLOW.toString(), standInAuthorizer.authorize(authRequest("other", "5411", 1)).getStatusCode());
+        assertEquals(AuthResponseCode.AUTH_ALLOW.toString(), standInAuthorizer.authorize(authRequest("other", "5411", 1)).getStatusCode());
+        assertEquals(AuthResponseCode.AUTH_EXCEEDED_TRANSACTION_LIMIT.toString(), standInAuthorizer.authorize(authRequest("other", "5411", 1)).getStatusCode());
+    }
+
+    @Test
+    void testNothingIsApprovedWhenTheAdviceCannotBeRecorded() {
+        adviceQueue.close();
+
+        AuthResponse response = standInAuthorizer.authorize(authRequest("pan", "5411", 100));
+
+        assertEquals(AuthResponseCode.AUTH_ERROR.toString(), response.getStatusCode());
+    }
+
+    private static AuthRequest authRequest(String panHash, String categoryCode, long amount) {
+        return AuthRequest.newBuilder().setIsoMessage(ISOMessage.newBuilder()
+                .setCard(Card.newBuilder().setPanHash(panHash))
+                .setMerchant(Merchant.newBuilder().setCategoryCode(categoryCode).setID("merchant"))
+                .setTransaction(Transaction.newBuilder().setID("txn").setAmount(Amount.newBuilder().setAmount(amount)))).build();
+    }
+}
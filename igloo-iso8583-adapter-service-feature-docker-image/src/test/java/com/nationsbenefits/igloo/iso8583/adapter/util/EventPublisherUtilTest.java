@@ -8,6 +8,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 /**
  * <h1>EventPublisherUtilTest</h1>
@@ -66,6 +69,44 @@ class EventPublisherUtilTest {
         assertNotNull(eventPayload.getEventDateTime());
     }
 
+    @Test
+    void testBuildEventPayloadResolvesSupplierOnFirstRead() {
+        AtomicInteger encodings = new AtomicInteger();
+
+        EventPayload eventPayload = EventPublisherUtil.buildEventPayload("eventName", () -> "payload" + encodings.incrementAndGet());
+
+        assertEquals(0, encodings.get());
+        assertEquals("eventName", eventPayload.getEventName());
+        assertEquals("payload1", eventPayload.getExtendedDataPayload());
+        assertEquals("payload1", eventPayload.getExtendedDataPayload());
+        assertEquals(1, encodings.get());
+    }
+
+    @Test
+    void testEncodePayloadAsBase64Protobuf() throws Exception {
+        com.nationsbenefits.igloo.authengine.grpc.AuthRequest authRequest = createTestAuthRequest();
+
+        String payload = EventPublisherUtil.encodePayload(authRequest, PayloadEncoding.BASE64_PROTOBUF);
+
+        assertEquals(authRequest, com.nationsbenefits.igloo.authengine.grpc.AuthRequest.parseFrom(Base64.getDecoder().decode(payload)));
+    }
+
+    @Test
+    void testEncodePayloadAsJson() {
+        String payload = EventPublisherUtil.encodePayload(createTestAuthRequest(), PayloadEncoding.JSON);
+
+        assertTrue(payload.startsWith("{\"isoMessage\":"));
+        assertTrue(payload.contains("\"panHash\":\"panHash\""));
+    }
+
+    @Test
+    void testEncodePayloadAsText() {
+        com.nationsbenefits.igloo.authengine.grpc.AuthRequest authRequest = createTestAuthRequest();
+
+        assertEquals(authRequest.toString(), EventPublisherUtil.encodePayload(authRequest, PayloadEncoding.TEXT));
+        assertNull(EventPublisherUtil.encodePayload(null, PayloadEncoding.TEXT));
+    }
+
 
     private com.nationsbenefits.igloo.authengine.grpc.AuthRequest createTestAuthRequest() {
         Transaction transaction = Transaction.newBuilder()
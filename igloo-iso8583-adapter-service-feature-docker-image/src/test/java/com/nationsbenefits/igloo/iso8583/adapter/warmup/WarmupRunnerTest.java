@@ -0,0 +1,104 @@
+package com.nationsbenefits.igloo.iso8583.adapter.warmup;
+
+import com.nationsbenefits.igloo.iso8583.adapter.config.WarmupProperties;
+import com.nationsbenefits.igloo.iso8583.adapter.service.ISOMessageProcessorService;
+import io.grpc.ConnectivityState;
+import io.grpc.ManagedChannel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * <h1>WarmupRunnerTest</h1>
+ * This WarmupRunnerTest is a junit test class for WarmupRunner
+ *
+ * @author PwC
+ * Copyright Â© 2024, NationsBenefits. All Rights reserved
+ * @since 17th October 2026
+ */
+@ExtendWith(SpringExtension.class)
+class WarmupRunnerTest {
+
+    @Mock
+    private ISOMessageProcessorService isoMessageProcessorService;
+
+    @Mock
+    private ManagedChannel managedChannel;
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    private WarmupProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private WarmupRunner warmupRunner;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new WarmupProperties();
+        properties.setMessages(List.of("0100A", "0100B"));
+        properties.setBatchSize(10);
+        properties.setMinIterations(50);
+        properties.setMaxIterations(200);
+        properties.setStabilityThreshold(Double.MAX_VALUE);
+        properties.setChannelTimeout(100);
+        properties.setHealthCheck(false);
+        meterRegistry = new SimpleMeterRegistry();
+        warmupRunner = new WarmupRunner(properties, isoMessageProcessorService, managedChannel, meterRegistry, applicationContext);
+    }
+
+    @Test
+    void testMessagesAreReplayedUntilStableAndDurationIsRecorded() {
+        when(managedChannel.getState(true)).thenReturn(ConnectivityState.READY);
+
+        warmupRunner.run(new DefaultApplicationArguments());
+
+        verify(isoMessageProcessorService, atLeast(25)).warmUp(any(byte[].class));
+        assertEquals(1, meterRegistry.get("iso8583.warmup.duration").tag("phase", "channel").timer().count());
+        assertEquals(1, meterRegistry.get("iso8583.warmup.duration").tag("phase", "messages").timer().count());
+    }
+
+    @Test
+    void testReplayStopsAtTheMinimumOnceStable() {
+        assertEquals(50, warmupRunner.warmUpMessages());
+
+        properties.setStabilityThreshold(0.0);
+        assertEquals(200, warmupRunner.warmUpMessages());
+    }
+
+    @Test
+    void testChannelIsWaitedForUntilConnected() {
+        when(managedChannel.getState(true)).thenReturn(ConnectivityState.CONNECTING, ConnectivityState.READY);
+        doAnswer(invocation -> {
+            invocation.getArgument(1, Runnable.class).run();
+            return null;
+        }).when(managedChannel).notifyWhenStateChanged(eq(ConnectivityState.CONNECTING), any());
+
+        assertTrue(warmupRunner.warmUpChannel());
+    }
+
+    @Test
+    void testChannelTimeoutDoesNotFailTheWarmUp() {
+        when(managedChannel.getState(true)).thenReturn(ConnectivityState.TRANSIENT_FAILURE);
+
+        assertFalse(warmupRunner.warmUpChannel());
+    }
+}